@@ -4,6 +4,8 @@ export interface Grade {
   id: number;
   studentId: number;
   subjectId: number;
+  subjectCode?: string;
+  subjectName?: string;
   teacherId: number;
   examType: ExamType;
   score: number;
@@ -0,0 +1,32 @@
+import { HttpParams } from '@angular/common/http';
+
+export interface KeysetPage<T> {
+  content: T[];
+  size: number;
+  sort: 'id' | 'name';
+  hasNext: boolean;
+  nextCursor: string | null;
+}
+
+export interface KeysetPageQuery {
+  cursor?: string | null;
+  size?: number;
+  sort?: 'id' | 'name';
+}
+
+// Largest page the backend serves (app.pagination.max-size)
+export const MAX_PAGE_SIZE = 500;
+
+export function toPageParams(query: KeysetPageQuery = {}): HttpParams {
+  let params = new HttpParams();
+  if (query.cursor) {
+    params = params.set('cursor', query.cursor);
+  }
+  if (query.size) {
+    params = params.set('size', query.size);
+  }
+  if (query.sort) {
+    params = params.set('sort', query.sort);
+  }
+  return params;
+}
@@ -1,7 +1,9 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
+import { map } from 'rxjs/operators';
 import { environment } from '../../../environments/environment';
+import { KeysetPage, KeysetPageQuery, MAX_PAGE_SIZE, toPageParams } from '../models/page.model';
 
 export interface Subject {
   id?: number;
@@ -28,8 +30,13 @@ export class AdminService {
 
   // ========== SUBJECTS ==========
   
+  getSubjectsPage(query: KeysetPageQuery = {}): Observable<KeysetPage<Subject>> {
+    return this.http.get<KeysetPage<Subject>>(`${this.API_URL}/admin/subjects`, { params: toPageParams(query) });
+  }
+
+  // First page only; use getSubjectsPage to walk the whole list
   getAllSubjects(): Observable<Subject[]> {
-    return this.http.get<Subject[]>(`${this.API_URL}/admin/subjects`);
+    return this.getSubjectsPage({ size: MAX_PAGE_SIZE }).pipe(map(page => page.content));
   }
 
   createSubject(subject: Subject): Observable<Subject> {
@@ -46,8 +53,13 @@ export class AdminService {
 
   // ========== STUDENTS ==========
   
+  getStudentsPage(query: KeysetPageQuery = {}): Observable<KeysetPage<any>> {
+    return this.http.get<KeysetPage<any>>(`${this.API_URL}/admin/students`, { params: toPageParams(query) });
+  }
+
+  // First page only; use getStudentsPage to walk the whole list
   getAllStudents(): Observable<any[]> {
-    return this.http.get<any[]>(`${this.API_URL}/admin/students`);
+    return this.getStudentsPage({ size: MAX_PAGE_SIZE }).pipe(map(page => page.content));
   }
 
   getStudentById(id: number): Observable<any> {
@@ -64,8 +76,13 @@ export class AdminService {
 
   // ========== TEACHERS ==========
   
+  getTeachersPage(query: KeysetPageQuery = {}): Observable<KeysetPage<any>> {
+    return this.http.get<KeysetPage<any>>(`${this.API_URL}/admin/teachers`, { params: toPageParams(query) });
+  }
+
+  // First page only; use getTeachersPage to walk the whole list
   getAllTeachers(): Observable<any[]> {
-    return this.http.get<any[]>(`${this.API_URL}/admin/teachers`);
+    return this.getTeachersPage({ size: MAX_PAGE_SIZE }).pipe(map(page => page.content));
   }
 
   getTeacherById(id: number): Observable<any> {
@@ -82,8 +99,13 @@ export class AdminService {
 
   // ========== USERS ==========
   
+  getUsersPage(query: KeysetPageQuery = {}): Observable<KeysetPage<any>> {
+    return this.http.get<KeysetPage<any>>(`${this.API_URL}/admin/users`, { params: toPageParams(query) });
+  }
+
+  // First page only; use getUsersPage to walk the whole list
   getAllUsers(): Observable<any[]> {
-    return this.http.get<any[]>(`${this.API_URL}/admin/users`);
+    return this.getUsersPage({ size: MAX_PAGE_SIZE }).pipe(map(page => page.content));
   }
 
   deleteUser(id: number): Observable<any> {
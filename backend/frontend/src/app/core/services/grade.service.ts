@@ -1,8 +1,10 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
+import { map } from 'rxjs/operators';
 import { Grade, GradeCreateRequest, GradeUpdateRequest, Subject } from '../models/grade.model';
 import { environment } from '../../../environments/environment';
+import { KeysetPage, MAX_PAGE_SIZE, toPageParams } from '../models/page.model';
 
 @Injectable({
   providedIn: 'root'
@@ -59,7 +61,8 @@ export class GradeService {
 
   // Admin: Get all subjects
   getAllSubjects(): Observable<Subject[]> {
-    return this.http.get<Subject[]>(`${this.API_URL}/admin/subjects`);
+    return this.http.get<KeysetPage<Subject>>(`${this.API_URL}/admin/subjects`, { params: toPageParams({ size: MAX_PAGE_SIZE }) })
+      .pipe(map(page => page.content));
   }
 
   // Admin: Create a subject
@@ -1,8 +1,10 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
+import { map } from 'rxjs/operators';
 import { Student, StudentCreateRequest, StudentUpdateRequest } from '../models/student.model';
 import { environment } from '../../../environments/environment';
+import { KeysetPage, KeysetPageQuery, MAX_PAGE_SIZE, toPageParams } from '../models/page.model';
 
 @Injectable({
   providedIn: 'root'
@@ -13,8 +15,13 @@ export class StudentService {
   constructor(private http: HttpClient) {}
 
   // Get all students (for teachers and admins)
+  getStudentsPage(query: KeysetPageQuery = {}): Observable<KeysetPage<Student>> {
+    return this.http.get<KeysetPage<Student>>(`${this.API_URL}/student/all`, { params: toPageParams(query) });
+  }
+
+  // First page only; use getStudentsPage to walk the whole list
   getAllStudents(): Observable<Student[]> {
-    return this.http.get<Student[]>(`${this.API_URL}/student/all`);
+    return this.getStudentsPage({ size: MAX_PAGE_SIZE }).pipe(map(page => page.content));
   }
 
   // Search students (for teachers and admins)
@@ -0,0 +1,181 @@
+package com.projetfulstack.studentgrademanagement.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded Region Factory
+ * In-memory Hibernate second-level cache: one size-bounded LRU map per region, with hit, miss and
+ * eviction counters. Enabled through hibernate.cache.region.factory_class; the bound of each region
+ * is read from app.entity-cache.max-entries (passed as spring.jpa.properties.app.entity-cache.max-entries).
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class BoundedRegionFactory extends RegionFactoryTemplate {
+
+    public static final String MAX_ENTRIES = "app.entity-cache.max-entries";
+
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    private final Map<String, RegionStorage> regions = new ConcurrentHashMap<>();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        Object value = configValues.get(MAX_ENTRIES);
+        if (value != null) {
+            maxEntries = Integer.parseInt(value.toString().trim());
+        }
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(RegionStorage::release);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                   DomainDataRegionBuildingContext buildingContext) {
+        return register(regionConfig.getRegionName(), maxEntries);
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return register(regionName, maxEntries);
+    }
+
+    /**
+     * Holds one timestamp per table and is never trimmed: a dropped timestamp would let the query cache
+     * serve results older than the last update of their tables
+     */
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return register(regionName, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Size, hit, miss and eviction counters of every region, by region name
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> byRegion = new TreeMap<>();
+        regions.forEach((name, storage) -> byRegion.put(name, storage.getStatistics()));
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("maxEntriesPerRegion", maxEntries);
+        statistics.put("regions", byRegion);
+        return statistics;
+    }
+
+    private RegionStorage register(String regionName, int regionMaxEntries) {
+        return regions.computeIfAbsent(regionName, name -> new RegionStorage(regionMaxEntries));
+    }
+
+    /**
+     * LRU map of one region. Counts lookups at the storage level: an entry soft-locked by a concurrent
+     * update is still counted as a hit here although Hibernate then reads the database.
+     */
+    private static final class RegionStorage implements DomainDataStorageAccess {
+
+        private final int maxEntries;
+
+        /**
+         * Cached values by key, least recently used first
+         */
+        private final LinkedHashMap<Object, Object> entries;
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder puts = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        private RegionStorage(int maxEntries) {
+            this.maxEntries = maxEntries;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                    if (size() > RegionStorage.this.maxEntries) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            Object value;
+            synchronized (this) {
+                value = entries.get(key);
+            }
+            if (value != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+            return value;
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            if (maxEntries <= 0) {
+                return;
+            }
+            synchronized (this) {
+                entries.put(key, value);
+            }
+            puts.increment();
+        }
+
+        @Override
+        public synchronized boolean contains(Object key) {
+            return entries.containsKey(key);
+        }
+
+        @Override
+        public synchronized void evictData() {
+            entries.clear();
+        }
+
+        @Override
+        public synchronized void evictData(Object key) {
+            entries.remove(key);
+        }
+
+        @Override
+        public synchronized void release() {
+            entries.clear();
+        }
+
+        private Map<String, Object> getStatistics() {
+            long hitCount = hits.sum();
+            long missCount = misses.sum();
+            Map<String, Object> statistics = new LinkedHashMap<>();
+            synchronized (this) {
+                statistics.put("size", entries.size());
+            }
+            statistics.put("maxEntries", maxEntries == Integer.MAX_VALUE ? null : maxEntries);
+            statistics.put("hits", hitCount);
+            statistics.put("misses", missCount);
+            statistics.put("puts", puts.sum());
+            statistics.put("evictions", evictions.sum());
+            statistics.put("hitRate", hitCount + missCount > 0 ? (double) hitCount / (hitCount + missCount) : 0.0);
+            return statistics;
+        }
+    }
+}
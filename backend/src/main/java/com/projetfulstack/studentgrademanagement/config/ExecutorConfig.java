@@ -0,0 +1,97 @@
+package com.projetfulstack.studentgrademanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor Configuration
+ * Bounded worker pools for long-running background jobs
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${app.grades.import.workers:2}")
+    private int importWorkers;
+
+    @Value("${app.grades.import.queue-capacity:10}")
+    private int importQueueCapacity;
+
+    @Value("${app.registration.import.workers:1}")
+    private int cohortImportWorkers;
+
+    @Value("${app.registration.import.queue-capacity:2}")
+    private int cohortImportQueueCapacity;
+
+    @Value("${app.report-cards.workers:0}")
+    private int reportCardWorkers;
+
+    @Value("${app.security.password-hash.workers:0}")
+    private int passwordHashWorkers;
+
+    @Value("${app.security.password-hash.queue-capacity:50}")
+    private int passwordHashQueueCapacity;
+
+    /**
+     * Grade import executor; a full queue rejects new imports instead of piling them up
+     */
+    @Bean(name = "gradeImportExecutor")
+    public ThreadPoolTaskExecutor gradeImportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(importWorkers);
+        executor.setMaxPoolSize(importWorkers);
+        executor.setQueueCapacity(importQueueCapacity);
+        executor.setThreadNamePrefix("grade-import-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Cohort import executor; imports are rare and each one already hashes on the password executor
+     */
+    @Bean(name = "cohortImportExecutor")
+    public ThreadPoolTaskExecutor cohortImportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(cohortImportWorkers);
+        executor.setMaxPoolSize(cohortImportWorkers);
+        executor.setQueueCapacity(cohortImportQueueCapacity);
+        executor.setThreadNamePrefix("cohort-import-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Report card rendering executor; defaults to one worker per CPU since rendering is CPU bound
+     */
+    @Bean(name = "reportCardExecutor")
+    public ThreadPoolTaskExecutor reportCardExecutor() {
+        int workers = reportCardWorkers > 0 ? reportCardWorkers : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("report-card-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Password hashing executor; BCrypt is CPU bound, so at most one worker per CPU by default, and
+     * a full queue rejects the attempt at once
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor() {
+        int workers = passwordHashWorkers > 0 ? passwordHashWorkers : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(passwordHashQueueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,52 @@
+package com.projetfulstack.studentgrademanagement.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Grade Sequence Migration
+ * Grade ids moved from an IDENTITY column to the pooled grades_seq sequence. Schema update creates the
+ * sequence starting at 1, below the ids already in the grades table, so on PostgreSQL the sequence is
+ * moved past the highest grade id before any grade is inserted. Runs once the EntityManagerFactory (and
+ * so the schema update) is ready, and again harmlessly on every startup.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Component
+public class GradeSequenceMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeSequenceMigration.class);
+
+    /**
+     * Must match the allocationSize of Grade ids
+     */
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Injected so that this runs after Hibernate has updated the schema
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void migrate() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS grades_seq START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+        // A whole allocation above max(id), whichever end of its block Hibernate takes the sequence value for
+        Long next = jdbcTemplate.queryForObject(
+                "SELECT setval('grades_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM grades) + " + ALLOCATION_SIZE
+                        + ", (SELECT last_value FROM grades_seq)))", Long.class);
+        logger.info("Grade id sequence at {}", next);
+    }
+}
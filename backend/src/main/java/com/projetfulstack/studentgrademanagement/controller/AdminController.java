@@ -1,5 +1,6 @@
 package com.projetfulstack.studentgrademanagement.controller;
 
+import com.projetfulstack.studentgrademanagement.config.BoundedRegionFactory;
 import com.projetfulstack.studentgrademanagement.entity.Subject;
 import com.projetfulstack.studentgrademanagement.entity.Student;
 import com.projetfulstack.studentgrademanagement.entity.Teacher;
@@ -8,17 +9,56 @@ import com.projetfulstack.studentgrademanagement.repository.SubjectRepository;
 import com.projetfulstack.studentgrademanagement.repository.StudentRepository;
 import com.projetfulstack.studentgrademanagement.repository.TeacherRepository;
 import com.projetfulstack.studentgrademanagement.repository.UserRepository;
+import com.projetfulstack.studentgrademanagement.dto.BatchResponse;
+import com.projetfulstack.studentgrademanagement.dto.ImportJob;
+import com.projetfulstack.studentgrademanagement.dto.KeysetPage;
+import com.projetfulstack.studentgrademanagement.dto.KeysetRequest;
+import com.projetfulstack.studentgrademanagement.dto.ReportCardRun;
+import com.projetfulstack.studentgrademanagement.dto.StudentRegisterRequest;
+import com.projetfulstack.studentgrademanagement.dto.StudentSummary;
+import com.projetfulstack.studentgrademanagement.dto.SubjectSummary;
+import com.projetfulstack.studentgrademanagement.dto.TeacherSummary;
+import com.projetfulstack.studentgrademanagement.dto.UserSummary;
+import com.projetfulstack.studentgrademanagement.security.AuthRateLimiter;
+import com.projetfulstack.studentgrademanagement.security.BoundedPasswordEncoder;
+import com.projetfulstack.studentgrademanagement.security.PrincipalCache;
+import com.projetfulstack.studentgrademanagement.security.TokenVersionService;
+import com.projetfulstack.studentgrademanagement.service.AutocompleteIndex;
+import com.projetfulstack.studentgrademanagement.service.AutocompleteService;
+import com.projetfulstack.studentgrademanagement.service.CohortImportService;
+import com.projetfulstack.studentgrademanagement.service.DashboardCounterService;
+import com.projetfulstack.studentgrademanagement.service.EnrollmentService;
+import com.projetfulstack.studentgrademanagement.service.GradeAggregateService;
+import com.projetfulstack.studentgrademanagement.service.GradeExportService;
+import com.projetfulstack.studentgrademanagement.service.RankingService;
+import com.projetfulstack.studentgrademanagement.service.ReportCardService;
+import com.projetfulstack.studentgrademanagement.service.RegistrationService;
+import com.projetfulstack.studentgrademanagement.service.SearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Admin Controller
@@ -45,15 +85,74 @@ public class AdminController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private GradeAggregateService gradeAggregateService;
+
+    @Autowired
+    private GradeExportService gradeExportService;
+
+    @Autowired
+    private ReportCardService reportCardService;
+
+    @Autowired
+    private RankingService rankingService;
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private CohortImportService cohortImportService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Value("${app.pagination.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${app.registration.bulk.max-size:5000}")
+    private int maxRegistrationBatchSize;
+
     /**
      * Get all subjects
      */
     @GetMapping("/subjects")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all subjects", description = "Get all subjects in the system")
-    public ResponseEntity<List<Subject>> getAllSubjects() {
-        List<Subject> subjects = subjectRepository.findAll();
-        return ResponseEntity.ok(subjects);
+    @Operation(summary = "Get all subjects", description = "Get subjects one keyset page at a time, sorted by id or name; pass nextCursor to get the following page")
+    public ResponseEntity<?> getAllSubjects(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "${app.pagination.default-size:50}") int size,
+                                            @RequestParam(defaultValue = "id") String sort) {
+        KeysetRequest request;
+        try {
+            request = KeysetRequest.of(cursor, size, sort, maxPageSize, "name");
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage() + "!");
+        }
+        Slice<SubjectSummary> subjects = subjectRepository.findKeysetPage(request);
+        return ResponseEntity.ok(KeysetPage.of(subjects, request, SubjectSummary::getId, SubjectSummary::getName));
     }
 
     /**
@@ -64,6 +163,7 @@ public class AdminController {
     @Operation(summary = "Create subject", description = "Create a new subject")
     public ResponseEntity<Subject> createSubject(@RequestBody Subject subject) {
         Subject savedSubject = subjectRepository.save(subject);
+        dashboardCounterService.recordSubjectCreated();
         return ResponseEntity.ok(savedSubject);
     }
 
@@ -93,19 +193,161 @@ public class AdminController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete subject", description = "Delete a subject by ID")
     public ResponseEntity<?> deleteSubject(@PathVariable Long id) {
-        subjectRepository.deleteById(id);
+        gradeAggregateService.deleteSubject(id);
+        dashboardCounterService.markStale();
+        rankingService.clear();
+        enrollmentService.evictSubject(id);
         return ResponseEntity.ok().body("Subject deleted successfully");
     }
 
+    /**
+     * Search users
+     */
+    @GetMapping("/search/users")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Search users", description = "Find users by name or email, best match first")
+    public ResponseEntity<?> searchUsers(@RequestParam String q,
+                                         @RequestParam(defaultValue = "${app.search.default-limit:20}") int limit) {
+        try {
+            return ResponseEntity.ok(searchService.searchUsers(q, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage() + "!");
+        }
+    }
+
+    /**
+     * Search students
+     */
+    @GetMapping("/search/students")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Search students", description = "Find students by name, email or student ID, best match first")
+    public ResponseEntity<?> searchStudents(@RequestParam String q,
+                                            @RequestParam(defaultValue = "${app.search.default-limit:20}") int limit) {
+        try {
+            return ResponseEntity.ok(searchService.searchStudents(q, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage() + "!");
+        }
+    }
+
+    /**
+     * Search teachers
+     */
+    @GetMapping("/search/teachers")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Search teachers", description = "Find teachers by name, email or employee ID, best match first")
+    public ResponseEntity<?> searchTeachers(@RequestParam String q,
+                                            @RequestParam(defaultValue = "${app.search.default-limit:20}") int limit) {
+        try {
+            return ResponseEntity.ok(searchService.searchTeachers(q, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage() + "!");
+        }
+    }
+
+    /**
+     * Search subjects
+     */
+    @GetMapping("/search/subjects")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Search subjects", description = "Find subjects by name or code, best match first")
+    public ResponseEntity<?> searchSubjects(@RequestParam String q,
+                                            @RequestParam(defaultValue = "${app.search.default-limit:20}") int limit) {
+        try {
+            return ResponseEntity.ok(searchService.searchSubjects(q, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage() + "!");
+        }
+    }
+
+    /**
+     * Autocomplete students, teachers and subjects
+     */
+    @GetMapping("/autocomplete")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Autocomplete", description = "Suggest students, teachers and subjects whose name or code starts with the typed words, from memory")
+    public ResponseEntity<?> autocomplete(@RequestParam String q,
+                                          @RequestParam(required = false) Set<AutocompleteIndex.Kind> types,
+                                          @RequestParam(defaultValue = "${app.autocomplete.default-limit:10}") int limit) {
+        try {
+            Set<AutocompleteIndex.Kind> kinds = types == null || types.isEmpty() ? EnumSet.allOf(AutocompleteIndex.Kind.class) : types;
+            return ResponseEntity.ok(autocompleteService.suggest(q, limit, kinds));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage() + "!");
+        }
+    }
+
     /**
      * Get all students
      */
     @GetMapping("/students")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all students", description = "Get all students in the system")
-    public ResponseEntity<List<Student>> getAllStudents() {
-        List<Student> students = studentRepository.findAll();
-        return ResponseEntity.ok(students);
+    @Operation(summary = "Get all students", description = "Get students one keyset page at a time, sorted by id or last name; pass nextCursor to get the following page")
+    public ResponseEntity<?> getAllStudents(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "${app.pagination.default-size:50}") int size,
+                                            @RequestParam(defaultValue = "id") String sort) {
+        KeysetRequest request;
+        try {
+            request = KeysetRequest.of(cursor, size, sort, maxPageSize, "lastName");
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage() + "!");
+        }
+        Slice<StudentSummary> students = studentRepository.findKeysetPage(request);
+        return ResponseEntity.ok(KeysetPage.of(students, request, StudentSummary::getId, StudentSummary::getLastName));
+    }
+
+    /**
+     * Register many students in one request
+     */
+    @PostMapping("/students/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Register students in bulk", description = "Register a list of students; each row is validated and reported individually")
+    public ResponseEntity<?> registerStudents(@RequestBody List<StudentRegisterRequest> registerRequests) {
+
+        if (registerRequests == null || registerRequests.isEmpty()) {
+            return ResponseEntity.badRequest().body("Error: Student list is empty!");
+        }
+        if (registerRequests.size() > maxRegistrationBatchSize) {
+            return ResponseEntity.badRequest().body("Error: A batch may contain at most " + maxRegistrationBatchSize + " students!");
+        }
+
+        BatchResponse response = new BatchResponse(registrationService.registerStudents(registerRequests));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Import students and teachers from a CSV file
+     */
+    @PostMapping(value = "/cohorts/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import cohort", description = "Start a background registration of the students and teachers of a .csv file and return its job")
+    public ResponseEntity<?> importCohort(@RequestParam("file") MultipartFile file) throws IOException {
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("Error: File is empty!");
+        }
+
+        try {
+            ImportJob job = cohortImportService.submit(file);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage());
+        } catch (TaskRejectedException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Error: Too many imports in progress, retry later!");
+        }
+    }
+
+    /**
+     * Get cohort import progress
+     */
+    @GetMapping("/cohorts/import/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get cohort import status", description = "Get progress and per-row errors of a cohort import job")
+    public ResponseEntity<ImportJob> getCohortImportStatus(@PathVariable String jobId) {
+        ImportJob job = cohortImportService.getJob(jobId)
+                .orElseThrow(() -> new RuntimeException("Import job not found"));
+
+        return ResponseEntity.ok(job);
     }
 
     /**
@@ -113,10 +355,18 @@ public class AdminController {
      */
     @GetMapping("/teachers")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all teachers", description = "Get all teachers in the system")
-    public ResponseEntity<List<Teacher>> getAllTeachers() {
-        List<Teacher> teachers = teacherRepository.findAll();
-        return ResponseEntity.ok(teachers);
+    @Operation(summary = "Get all teachers", description = "Get teachers one keyset page at a time, sorted by id or last name; pass nextCursor to get the following page")
+    public ResponseEntity<?> getAllTeachers(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "${app.pagination.default-size:50}") int size,
+                                            @RequestParam(defaultValue = "id") String sort) {
+        KeysetRequest request;
+        try {
+            request = KeysetRequest.of(cursor, size, sort, maxPageSize, "lastName");
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage() + "!");
+        }
+        Slice<TeacherSummary> teachers = teacherRepository.findKeysetPage(request);
+        return ResponseEntity.ok(KeysetPage.of(teachers, request, TeacherSummary::getId, TeacherSummary::getLastName));
     }
 
     /**
@@ -124,10 +374,18 @@ public class AdminController {
      */
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all users", description = "Get all users in the system")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return ResponseEntity.ok(users);
+    @Operation(summary = "Get all users", description = "Get users one keyset page at a time, sorted by id or last name; pass nextCursor to get the following page")
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "${app.pagination.default-size:50}") int size,
+                                            @RequestParam(defaultValue = "id") String sort) {
+        KeysetRequest request;
+        try {
+            request = KeysetRequest.of(cursor, size, sort, maxPageSize, "lastName");
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage() + "!");
+        }
+        Slice<UserSummary> users = userRepository.findKeysetPage(request);
+        return ResponseEntity.ok(KeysetPage.of(users, request, UserSummary::getId, UserSummary::getLastName));
     }
 
     /**
@@ -135,16 +393,115 @@ public class AdminController {
      */
     @GetMapping("/statistics")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get statistics", description = "Get system statistics")
+    @Operation(summary = "Get statistics", description = "Get user, subject and grade counts, served from in-memory counters reconciled periodically against the database")
     public ResponseEntity<Map<String, Object>> getStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        stats.put("totalStudents", studentRepository.count());
-        stats.put("totalTeachers", teacherRepository.count());
-        stats.put("totalSubjects", subjectRepository.count());
-        stats.put("totalUsers", userRepository.count());
-        
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(dashboardCounterService.getStatistics());
+    }
+
+    /**
+     * Rebuild grade aggregates
+     */
+    @PostMapping("/statistics/aggregates/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild grade aggregates", description = "Recompute grade aggregates from the grades table and report inconsistencies; with dryRun only the check is performed")
+    public ResponseEntity<Map<String, Object>> rebuildGradeAggregates(@RequestParam(defaultValue = "false") boolean dryRun) {
+        return ResponseEntity.ok(gradeAggregateService.rebuild(dryRun));
+    }
+
+    /**
+     * Get principal cache statistics
+     */
+    @GetMapping("/statistics/principal-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get principal cache statistics", description = "Get size, hits, misses, evictions and hit rate of the user principal cache")
+    public ResponseEntity<Map<String, Object>> getPrincipalCacheStatistics() {
+        return ResponseEntity.ok(principalCache.getStatistics());
+    }
+
+    /**
+     * Get second-level cache statistics
+     */
+    @GetMapping("/statistics/entity-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get entity cache statistics", description = "Get size, hits, misses, evictions and hit rate of each Hibernate second-level cache region")
+    public ResponseEntity<Map<String, Object>> getEntityCacheStatistics() {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+        if (!(regionFactory instanceof BoundedRegionFactory boundedRegionFactory)) {
+            return ResponseEntity.ok(Map.of("enabled", false));
+        }
+        return ResponseEntity.ok(boundedRegionFactory.getStatistics());
+    }
+
+    /**
+     * Get autocomplete index statistics
+     */
+    @GetMapping("/statistics/autocomplete")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get autocomplete statistics", description = "Get the number of indexed entries and of changes waiting for the next compaction")
+    public ResponseEntity<Map<String, Object>> getAutocompleteStatistics() {
+        return ResponseEntity.ok(autocompleteService.getStatistics());
+    }
+
+    /**
+     * Get password hashing statistics
+     */
+    @GetMapping("/statistics/password-hashing")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get password hashing statistics", description = "Get hash latency, queue wait, queue depth and rejections of the password hashing executor")
+    public ResponseEntity<Map<String, Object>> getPasswordHashingStatistics() {
+        return ResponseEntity.ok(passwordEncoder.getStatistics());
+    }
+
+    /**
+     * Get authentication rate limit statistics
+     */
+    @GetMapping("/statistics/rate-limits")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get rate limit statistics", description = "Get allowed and rejected login/registration attempts by IP and by email")
+    public ResponseEntity<Map<String, Object>> getRateLimitStatistics() {
+        return ResponseEntity.ok(authRateLimiter.getStatistics());
+    }
+
+    /**
+     * Export grades to Excel
+     */
+    @GetMapping("/grades/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export grades", description = "Stream all grades, optionally for one academic year, as an XLSX file")
+    public void exportGrades(@RequestParam(required = false) String academicYear,
+                             HttpServletResponse response) throws IOException {
+        String fileName = academicYear != null ? "grades-" + academicYear.replaceAll("[^A-Za-z0-9-]", "_") + ".xlsx" : "grades.xlsx";
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+        gradeExportService.exportGrades(academicYear, response.getOutputStream());
+        response.flushBuffer();
+    }
+
+    /**
+     * Generate report cards for a class
+     */
+    @GetMapping("/classes/{classId}/report-cards")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Generate report cards", description = "Stream a ZIP with one PDF report card per student of the class")
+    public void generateReportCards(@PathVariable Long classId, HttpServletResponse response) throws IOException {
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"report-cards-" + classId + ".zip\"");
+
+        reportCardService.writeClassReportCards(classId, response.getOutputStream());
+        response.flushBuffer();
+    }
+
+    /**
+     * Get last report card run throughput
+     */
+    @GetMapping("/report-cards/last-run")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Last report card run", description = "Get document count, page count and pages/sec of the last report card run")
+    public ResponseEntity<ReportCardRun> getLastReportCardRun() {
+        return reportCardService.getLastRun()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.noContent().build());
     }
 
     /**
@@ -154,7 +511,18 @@ public class AdminController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete user", description = "Delete a user by ID (admin only)")
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
-        userRepository.deleteById(id);
+        boolean teacher = teacherRepository.existsById(id);
+        gradeAggregateService.deleteUser(id);
+        dashboardCounterService.markStale();
+        tokenVersionService.evict(id);
+        principalCache.invalidate(id);
+        rankingService.clear();
+        if (teacher) {
+            // The teacher's subjects were deleted with it
+            enrollmentService.clear();
+        } else {
+            enrollmentService.removeStudent(id);
+        }
         return ResponseEntity.ok().body("User deleted successfully");
     }
 
@@ -164,8 +532,8 @@ public class AdminController {
     @GetMapping("/students/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get student by ID", description = "Get a specific student by ID")
-    public ResponseEntity<Student> getStudentById(@PathVariable Long id) {
-        Student student = studentRepository.findById(id)
+    public ResponseEntity<StudentSummary> getStudentById(@PathVariable Long id) {
+        StudentSummary student = studentRepository.findSummaryById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
         return ResponseEntity.ok(student);
     }
@@ -176,8 +544,8 @@ public class AdminController {
     @GetMapping("/teachers/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get teacher by ID", description = "Get a specific teacher by ID")
-    public ResponseEntity<Teacher> getTeacherById(@PathVariable Long id) {
-        Teacher teacher = teacherRepository.findById(id)
+    public ResponseEntity<TeacherSummary> getTeacherById(@PathVariable Long id) {
+        TeacherSummary teacher = teacherRepository.findSummaryById(id)
                 .orElseThrow(() -> new RuntimeException("Teacher not found"));
         return ResponseEntity.ok(teacher);
     }
@@ -188,10 +556,11 @@ public class AdminController {
     @PutMapping("/teachers/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update teacher", description = "Update teacher information")
-    public ResponseEntity<Teacher> updateTeacher(@PathVariable Long id, @RequestBody Teacher teacherData) {
+    public ResponseEntity<TeacherSummary> updateTeacher(@PathVariable Long id, @RequestBody Teacher teacherData) {
         Teacher teacher = teacherRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Teacher not found"));
         
+        boolean emailChanged = !Objects.equals(teacher.getEmail(), teacherData.getEmail());
         teacher.setFirstName(teacherData.getFirstName());
         teacher.setLastName(teacherData.getLastName());
         teacher.setEmail(teacherData.getEmail());
@@ -200,8 +569,13 @@ public class AdminController {
         teacher.setDepartment(teacherData.getDepartment());
         teacher.setSpecialization(teacherData.getSpecialization());
         
-        Teacher updatedTeacher = teacherRepository.save(teacher);
-        return ResponseEntity.ok(updatedTeacher);
+        teacherRepository.save(teacher);
+        principalCache.invalidate(id);
+        if (emailChanged) {
+            // Tokens carry the email as subject
+            tokenVersionService.revoke(id);
+        }
+        return ResponseEntity.ok(teacherRepository.findSummaryById(id).orElseThrow());
     }
 
     /**
@@ -211,7 +585,13 @@ public class AdminController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete teacher", description = "Delete a teacher by ID")
     public ResponseEntity<?> deleteTeacher(@PathVariable Long id) {
-        teacherRepository.deleteById(id);
+        gradeAggregateService.deleteTeacher(id);
+        dashboardCounterService.markStale();
+        tokenVersionService.evict(id);
+        principalCache.invalidate(id);
+        rankingService.clear();
+        // The teacher's subjects were deleted with it
+        enrollmentService.clear();
         return ResponseEntity.ok().body("Teacher deleted successfully");
     }
 
@@ -221,10 +601,11 @@ public class AdminController {
     @PutMapping("/students/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update student", description = "Update student information")
-    public ResponseEntity<Student> updateStudent(@PathVariable Long id, @RequestBody Student studentData) {
+    public ResponseEntity<StudentSummary> updateStudent(@PathVariable Long id, @RequestBody Student studentData) {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
         
+        boolean emailChanged = !Objects.equals(student.getEmail(), studentData.getEmail());
         student.setFirstName(studentData.getFirstName());
         student.setLastName(studentData.getLastName());
         student.setEmail(studentData.getEmail());
@@ -232,8 +613,25 @@ public class AdminController {
         student.setPhoneNumber(studentData.getPhoneNumber());
         student.setStudentId(studentData.getStudentId());
         
-        Student updatedStudent = studentRepository.save(student);
-        return ResponseEntity.ok(updatedStudent);
+        studentRepository.save(student);
+        principalCache.invalidate(id);
+        if (emailChanged) {
+            // Tokens carry the email as subject
+            tokenVersionService.revoke(id);
+        }
+        return ResponseEntity.ok(studentRepository.findSummaryById(id).orElseThrow());
+    }
+
+    /**
+     * Move a student to a class
+     */
+    @PutMapping("/students/{id}/class")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Assign student class", description = "Move a student to a class, or out of any class when classId is omitted; the student is enrolled in the subjects of that class")
+    public ResponseEntity<StudentSummary> assignStudentClass(@PathVariable Long id, @RequestParam(required = false) Long classId) {
+        enrollmentService.assignClass(id, classId);
+        rankingService.clear();
+        return ResponseEntity.ok(studentRepository.findSummaryById(id).orElseThrow());
     }
 
     /**
@@ -243,7 +641,12 @@ public class AdminController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete student", description = "Delete a student by ID")
     public ResponseEntity<?> deleteStudent(@PathVariable Long id) {
-        studentRepository.deleteById(id);
+        gradeAggregateService.deleteStudent(id);
+        dashboardCounterService.markStale();
+        tokenVersionService.evict(id);
+        principalCache.invalidate(id);
+        rankingService.clear();
+        enrollmentService.removeStudent(id);
         return ResponseEntity.ok().body("Student deleted successfully");
     }
 
@@ -257,10 +660,14 @@ public class AdminController {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
+        boolean wasActive = !Boolean.FALSE.equals(user.getIsActive());
         user.setIsActive(active);
         userRepository.save(user);
+        dashboardCounterService.recordUserStatusChanged(user.getRole(), wasActive, active);
+        // Tokens issued before a deactivation must not come back to life on reactivation;
+        // this also drops the cached principal
+        tokenVersionService.revoke(id);
         
         return ResponseEntity.ok().body("User status updated successfully");
     }
 }
-
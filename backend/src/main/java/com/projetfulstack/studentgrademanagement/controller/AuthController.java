@@ -2,6 +2,7 @@ package com.projetfulstack.studentgrademanagement.controller;
 
 import com.projetfulstack.studentgrademanagement.dto.JwtAuthenticationResponse;
 import com.projetfulstack.studentgrademanagement.dto.LoginRequest;
+import com.projetfulstack.studentgrademanagement.dto.RegistrationConflicts;
 import com.projetfulstack.studentgrademanagement.dto.RegisterRequest;
 import com.projetfulstack.studentgrademanagement.dto.StudentRegisterRequest;
 import com.projetfulstack.studentgrademanagement.dto.TeacherRegisterRequest;
@@ -14,10 +15,15 @@ import com.projetfulstack.studentgrademanagement.repository.StudentRepository;
 import com.projetfulstack.studentgrademanagement.repository.TeacherRepository;
 import com.projetfulstack.studentgrademanagement.repository.UserRepository;
 import com.projetfulstack.studentgrademanagement.security.JwtTokenProvider;
+import com.projetfulstack.studentgrademanagement.service.DashboardCounterService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -56,6 +62,19 @@ public class AuthController {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    /**
+     * The password hashing queue is full: tell the client to back off instead of queueing more CPU work
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<?> handlePasswordHashingRejected(TaskRejectedException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Error: Too many authentication requests in progress, retry later!");
+    }
+
     /**
      * Student registration endpoint
      */
@@ -63,14 +82,10 @@ public class AuthController {
     @Operation(summary = "Student registration", description = "Register a new student")
     public ResponseEntity<?> registerStudent(@Valid @RequestBody StudentRegisterRequest registerRequest) {
         
-        // Check if email already exists
-        if (userRepository.findByEmail(registerRequest.getEmail()).isPresent()) {
-            return ResponseEntity.badRequest().body("Error: Email is already in use!");
-        }
-
-        // Check if studentId already exists
-        if (studentRepository.existsByStudentId(registerRequest.getStudentId())) {
-            return ResponseEntity.badRequest().body("Error: Student ID is already in use!");
+        // Check email and studentId in one probe; the unique constraints catch concurrent registrations
+        String conflict = conflictError(registerRequest.getEmail(), registerRequest.getStudentId(), null);
+        if (conflict != null) {
+            return ResponseEntity.badRequest().body(conflict);
         }
         
         Student student = new Student();
@@ -84,7 +99,12 @@ public class AuthController {
         student.setPhoneNumber(registerRequest.getPhoneNumber());
         student.setDateOfBirth(registerRequest.getDateOfBirth());
         
-        studentRepository.save(student);
+        try {
+            studentRepository.save(student);
+            dashboardCounterService.recordUserCreated(student);
+        } catch (DataIntegrityViolationException ex) {
+            return ResponseEntity.badRequest().body(violationError(registerRequest.getEmail(), registerRequest.getStudentId(), null));
+        }
         return ResponseEntity.ok().body("Student registered successfully!");
     }
 
@@ -95,14 +115,10 @@ public class AuthController {
     @Operation(summary = "Teacher registration", description = "Register a new teacher")
     public ResponseEntity<?> registerTeacher(@Valid @RequestBody TeacherRegisterRequest registerRequest) {
         
-        // Check if email already exists
-        if (userRepository.findByEmail(registerRequest.getEmail()).isPresent()) {
-            return ResponseEntity.badRequest().body("Error: Email is already in use!");
-        }
-
-        // Check if employeeId already exists
-        if (teacherRepository.existsByEmployeeId(registerRequest.getEmployeeId())) {
-            return ResponseEntity.badRequest().body("Error: Employee ID is already in use!");
+        // Check email and employeeId in one probe; the unique constraints catch concurrent registrations
+        String conflict = conflictError(registerRequest.getEmail(), null, registerRequest.getEmployeeId());
+        if (conflict != null) {
+            return ResponseEntity.badRequest().body(conflict);
         }
         
         Teacher teacher = new Teacher();
@@ -118,7 +134,12 @@ public class AuthController {
         teacher.setDepartment(registerRequest.getDepartment());
         teacher.setSpecialization(registerRequest.getSpecialization());
         
-        teacherRepository.save(teacher);
+        try {
+            teacherRepository.save(teacher);
+            dashboardCounterService.recordUserCreated(teacher);
+        } catch (DataIntegrityViolationException ex) {
+            return ResponseEntity.badRequest().body(violationError(registerRequest.getEmail(), null, registerRequest.getEmployeeId()));
+        }
         return ResponseEntity.ok().body("Teacher registered successfully!");
     }
 
@@ -132,8 +153,9 @@ public class AuthController {
     public ResponseEntity<?> registerAdmin(@Valid @RequestBody AdminRegisterRequest adminRequest) {
         
         // Check if email already exists
-        if (userRepository.findByEmail(adminRequest.getEmail()).isPresent()) {
-            return ResponseEntity.badRequest().body("Error: Email is already in use!");
+        String conflict = conflictError(adminRequest.getEmail(), null, null);
+        if (conflict != null) {
+            return ResponseEntity.badRequest().body(conflict);
         }
 
         // Create admin user
@@ -147,7 +169,12 @@ public class AuthController {
         // Note: Admin users don't have address, phoneNumber, dateOfBirth in the User entity
         // These fields are only available in Student and Teacher entities
         
-        userRepository.save(admin);
+        try {
+            userRepository.save(admin);
+            dashboardCounterService.recordUserCreated(admin);
+        } catch (DataIntegrityViolationException ex) {
+            return ResponseEntity.badRequest().body(violationError(adminRequest.getEmail(), null, null));
+        }
         
         return ResponseEntity.ok().body("Admin registered successfully!");
     }
@@ -213,4 +240,29 @@ public class AuthController {
         SecurityContextHolder.clearContext();
         return ResponseEntity.ok().body("User logged out successfully");
     }
+
+    /**
+     * Error message for the first registration key already taken, or null
+     */
+    private String conflictError(String email, String studentId, String employeeId) {
+        RegistrationConflicts conflicts = userRepository.findRegistrationConflicts(email, studentId, employeeId);
+        if (Boolean.TRUE.equals(conflicts.getEmailTaken())) {
+            return "Error: Email is already in use!";
+        }
+        if (Boolean.TRUE.equals(conflicts.getStudentIdTaken())) {
+            return "Error: Student ID is already in use!";
+        }
+        if (Boolean.TRUE.equals(conflicts.getEmployeeIdTaken())) {
+            return "Error: Employee ID is already in use!";
+        }
+        return null;
+    }
+
+    /**
+     * Translate a unique constraint violation lost to a concurrent registration into its error message
+     */
+    private String violationError(String email, String studentId, String employeeId) {
+        String conflict = conflictError(email, studentId, employeeId);
+        return conflict != null ? conflict : "Error: Registration conflicts with an existing account!";
+    }
 }
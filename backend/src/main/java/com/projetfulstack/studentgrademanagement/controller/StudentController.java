@@ -1,20 +1,38 @@
 package com.projetfulstack.studentgrademanagement.controller;
 
-import com.projetfulstack.studentgrademanagement.entity.Grade;
-import com.projetfulstack.studentgrademanagement.entity.Student;
+import com.projetfulstack.studentgrademanagement.dto.GradeSummary;
+import com.projetfulstack.studentgrademanagement.dto.KeysetPage;
+import com.projetfulstack.studentgrademanagement.dto.KeysetRequest;
+import com.projetfulstack.studentgrademanagement.dto.RankingEntry;
+import com.projetfulstack.studentgrademanagement.dto.StudentAverage;
+import com.projetfulstack.studentgrademanagement.dto.StudentSummary;
+import com.projetfulstack.studentgrademanagement.dto.SubjectGradeStatistics;
+import com.projetfulstack.studentgrademanagement.entity.GradeAggregate;
+import com.projetfulstack.studentgrademanagement.entity.GradeAggregateScope;
+import com.projetfulstack.studentgrademanagement.repository.GradeAggregateRepository;
 import com.projetfulstack.studentgrademanagement.repository.GradeRepository;
 import com.projetfulstack.studentgrademanagement.repository.StudentRepository;
 import com.projetfulstack.studentgrademanagement.security.UserPrincipal;
+import com.projetfulstack.studentgrademanagement.service.AutocompleteIndex;
+import com.projetfulstack.studentgrademanagement.service.AutocompleteService;
+import com.projetfulstack.studentgrademanagement.service.GradeAverageService;
+import com.projetfulstack.studentgrademanagement.service.RankingService;
+import com.projetfulstack.studentgrademanagement.service.SearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -37,15 +55,32 @@ public class StudentController {
     @Autowired
     private GradeRepository gradeRepository;
 
+    @Autowired
+    private GradeAverageService gradeAverageService;
+
+    @Autowired
+    private GradeAggregateRepository gradeAggregateRepository;
+
+    @Autowired
+    private RankingService rankingService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Value("${app.pagination.max-size:500}")
+    private int maxPageSize;
+
     /**
      * Get current student's profile
      */
     @GetMapping("/profile")
     @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
     @Operation(summary = "Get student profile", description = "Get current student's profile information")
-    public ResponseEntity<Student> getStudentProfile(@AuthenticationPrincipal UserPrincipal currentUser) {
-        Student student = studentRepository.findById(currentUser.getId())
-                .map(Student.class::cast)
+    public ResponseEntity<StudentSummary> getStudentProfile(@AuthenticationPrincipal UserPrincipal currentUser) {
+        StudentSummary student = studentRepository.findSummaryById(currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("Student not found"));
         
         return ResponseEntity.ok(student);
@@ -57,8 +92,8 @@ public class StudentController {
     @GetMapping("/grades")
     @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
     @Operation(summary = "Get student grades", description = "Get all grades for current student")
-    public ResponseEntity<List<Grade>> getStudentGrades(@AuthenticationPrincipal UserPrincipal currentUser) {
-        List<Grade> grades = gradeRepository.findByStudentId(currentUser.getId());
+    public ResponseEntity<List<GradeSummary>> getStudentGrades(@AuthenticationPrincipal UserPrincipal currentUser) {
+        List<GradeSummary> grades = gradeRepository.findSummariesByStudentId(currentUser.getId());
         return ResponseEntity.ok(grades);
     }
 
@@ -68,31 +103,71 @@ public class StudentController {
     @GetMapping("/grades/subject/{subjectId}")
     @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
     @Operation(summary = "Get grades by subject", description = "Get student grades for a specific subject")
-    public ResponseEntity<List<Grade>> getGradesBySubject(@PathVariable Long subjectId,
-                                                          @AuthenticationPrincipal UserPrincipal currentUser) {
-        List<Grade> grades = gradeRepository.findByStudentIdAndSubjectId(currentUser.getId(), subjectId);
+    public ResponseEntity<List<GradeSummary>> getGradesBySubject(@PathVariable Long subjectId,
+                                                                 @AuthenticationPrincipal UserPrincipal currentUser) {
+        List<GradeSummary> grades = gradeRepository.findSummariesByStudentIdAndSubjectId(currentUser.getId(), subjectId);
         return ResponseEntity.ok(grades);
     }
 
+    /**
+     * Get current student's weighted averages
+     */
+    @GetMapping("/averages")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
+    @Operation(summary = "Get weighted averages", description = "Get per-subject averages, coefficient-weighted overall average, GPA and credits for current student")
+    public ResponseEntity<StudentAverage> getStudentAverages(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return ResponseEntity.ok(gradeAverageService.computeStudent(currentUser.getId()));
+    }
+
+    /**
+     * Get current student's ranks
+     */
+    @GetMapping("/ranking")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
+    @Operation(summary = "Get ranking", description = "Get rank and percentile of current student in their class and in each graded subject")
+    public ResponseEntity<Map<String, Object>> getStudentRanking(@AuthenticationPrincipal UserPrincipal currentUser) {
+        Map<String, Object> ranking = new LinkedHashMap<>();
+
+        Long classId = studentRepository.findClassIdById(currentUser.getId()).orElse(null);
+        ranking.put("classId", classId);
+        ranking.put("classRank", classId != null ? rankingService.getClassRank(classId, currentUser.getId()) : null);
+
+        Map<Long, RankingEntry> subjectRanks = new LinkedHashMap<>();
+        for (GradeAggregate aggregate : gradeAggregateRepository.findByScopeAndStudentId(GradeAggregateScope.STUDENT_SUBJECT, currentUser.getId())) {
+            subjectRanks.put(aggregate.getSubjectId(), rankingService.getSubjectRank(aggregate.getSubjectId(), currentUser.getId()));
+        }
+        ranking.put("subjectRanks", subjectRanks);
+
+        return ResponseEntity.ok(ranking);
+    }
+
     /**
      * Get student grade statistics
      */
     @GetMapping("/grades/statistics")
     @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
-    @Operation(summary = "Get grade statistics", description = "Get grade statistics for current student")
-    public ResponseEntity<Map<String, Object>> getGradeStatistics(@AuthenticationPrincipal UserPrincipal currentUser) {
-        Map<String, Object> statistics = new HashMap<>();
-        
-        // Overall average
-        Double overallAverage = gradeRepository.findAverageGradeByStudent(currentUser.getId()).orElse(0.0);
-        statistics.put("overallAverage", overallAverage);
+    @Operation(summary = "Get grade statistics", description = "Get grade count, average, per-subject breakdown and latest grades for current student")
+    public ResponseEntity<Map<String, Object>> getGradeStatistics(@RequestParam(defaultValue = "5") int latest,
+                                                                  @AuthenticationPrincipal UserPrincipal currentUser) {
+        Map<String, Object> statistics = new LinkedHashMap<>();
         
-        // Grade count
-        Long totalGrades = gradeRepository.count();
-        statistics.put("totalGrades", totalGrades);
+        // Overall and per-subject figures from the maintained aggregates, in one query
+        SubjectGradeStatistics overall = null;
+        List<SubjectGradeStatistics> subjects = new ArrayList<>();
+        for (SubjectGradeStatistics row : gradeAggregateRepository.findStudentStatistics(currentUser.getId())) {
+            if (GradeAggregate.NONE.equals(row.getSubjectId())) {
+                overall = row;
+            } else if (row.getGradeCount() > 0) {
+                subjects.add(row);
+            }
+        }
+        statistics.put("overallAverage", overall != null && overall.getAverage() != null ? overall.getAverage() : 0.0);
+        statistics.put("totalGrades", overall != null ? overall.getGradeCount() : 0L);
+        statistics.put("subjects", subjects);
         
         // Latest grades
-        List<Grade> latestGrades = gradeRepository.findByStudentId(currentUser.getId());
+        int limit = Math.max(1, Math.min(latest, maxPageSize));
+        List<GradeSummary> latestGrades = gradeRepository.findLatestSummariesByStudentId(currentUser.getId(), PageRequest.ofSize(limit));
         statistics.put("latestGrades", latestGrades);
         
         return ResponseEntity.ok(statistics);
@@ -103,11 +178,12 @@ public class StudentController {
      */
     @GetMapping("/grades/semester/{semester}")
     @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
-    @Operation(summary = "Get grades by semester", description = "Get student grades for a specific semester")
-    public ResponseEntity<List<Grade>> getGradesBySemester(@PathVariable Integer semester,
-                                                           @AuthenticationPrincipal UserPrincipal currentUser) {
-        // This would need additional filtering based on semester
-        List<Grade> grades = gradeRepository.findByStudentId(currentUser.getId());
+    @Operation(summary = "Get grades by semester", description = "Get student grades given in a class of the given semester (and academic year, when given)")
+    public ResponseEntity<List<GradeSummary>> getGradesBySemester(@PathVariable Integer semester,
+                                                                  @RequestParam(required = false) String academicYear,
+                                                                  @AuthenticationPrincipal UserPrincipal currentUser) {
+        // The semester of a grade is the one of the class it was given in; the (student_id, exam_date) index serves the order
+        List<GradeSummary> grades = gradeRepository.findSummariesByStudentIdAndSemester(currentUser.getId(), semester, academicYear);
         return ResponseEntity.ok(grades);
     }
 
@@ -116,10 +192,18 @@ public class StudentController {
      */
     @GetMapping("/all")
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
-    @Operation(summary = "Get all students", description = "Get all students (teachers and admins only)")
-    public ResponseEntity<List<Student>> getAllStudents() {
-        List<Student> students = studentRepository.findAll();
-        return ResponseEntity.ok(students);
+    @Operation(summary = "Get all students", description = "Get students one keyset page at a time, sorted by id or last name (teachers and admins only)")
+    public ResponseEntity<?> getAllStudents(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "${app.pagination.default-size:50}") int size,
+                                            @RequestParam(defaultValue = "id") String sort) {
+        KeysetRequest request;
+        try {
+            request = KeysetRequest.of(cursor, size, sort, maxPageSize, "lastName");
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage() + "!");
+        }
+        Slice<StudentSummary> students = studentRepository.findKeysetPage(request);
+        return ResponseEntity.ok(KeysetPage.of(students, request, StudentSummary::getId, StudentSummary::getLastName));
     }
 
     /**
@@ -128,9 +212,8 @@ public class StudentController {
     @GetMapping("/{studentId}")
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     @Operation(summary = "Get student by ID", description = "Get student by ID (teachers and admins only)")
-    public ResponseEntity<Student> getStudentById(@PathVariable Long studentId) {
-        Student student = studentRepository.findById(studentId)
-                .map(Student.class::cast)
+    public ResponseEntity<StudentSummary> getStudentById(@PathVariable Long studentId) {
+        StudentSummary student = studentRepository.findSummaryById(studentId)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
         
         return ResponseEntity.ok(student);
@@ -141,9 +224,28 @@ public class StudentController {
      */
     @GetMapping("/search")
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
-    @Operation(summary = "Search students", description = "Search students by name or student ID")
-    public ResponseEntity<List<Student>> searchStudents(@RequestParam String query) {
-        List<Student> students = studentRepository.findByNameContaining(query);
-        return ResponseEntity.ok(students);
+    @Operation(summary = "Search students", description = "Search students by name, email or student ID, best match first")
+    public ResponseEntity<?> searchStudents(@RequestParam String query,
+                                            @RequestParam(defaultValue = "${app.search.default-limit:20}") int limit) {
+        try {
+            return ResponseEntity.ok(searchService.searchStudents(query, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage() + "!");
+        }
+    }
+
+    /**
+     * Autocomplete students
+     */
+    @GetMapping("/autocomplete")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    @Operation(summary = "Autocomplete students", description = "Suggest students whose name or student ID starts with the typed words, from memory")
+    public ResponseEntity<?> autocompleteStudents(@RequestParam String query,
+                                                  @RequestParam(defaultValue = "${app.autocomplete.default-limit:10}") int limit) {
+        try {
+            return ResponseEntity.ok(autocompleteService.suggest(query, limit, EnumSet.of(AutocompleteIndex.Kind.STUDENT)));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage() + "!");
+        }
     }
 }
@@ -1,27 +1,51 @@
 package com.projetfulstack.studentgrademanagement.controller;
 
+import com.projetfulstack.studentgrademanagement.dto.BatchResponse;
+import com.projetfulstack.studentgrademanagement.dto.ClassSummary;
 import com.projetfulstack.studentgrademanagement.dto.GradeRequest;
+import com.projetfulstack.studentgrademanagement.dto.GradeStatistics;
+import com.projetfulstack.studentgrademanagement.dto.GradeSummary;
+import com.projetfulstack.studentgrademanagement.dto.ImportJob;
+import com.projetfulstack.studentgrademanagement.dto.StudentAverage;
+import com.projetfulstack.studentgrademanagement.dto.StudentSummary;
+import com.projetfulstack.studentgrademanagement.dto.SubjectSummary;
+import com.projetfulstack.studentgrademanagement.dto.TeacherSummary;
+import com.projetfulstack.studentgrademanagement.entity.ExamType;
 import com.projetfulstack.studentgrademanagement.entity.Grade;
-import com.projetfulstack.studentgrademanagement.entity.Student;
-import com.projetfulstack.studentgrademanagement.entity.Subject;
-import com.projetfulstack.studentgrademanagement.entity.Teacher;
+import com.projetfulstack.studentgrademanagement.entity.GradeAggregateScope;
+import com.projetfulstack.studentgrademanagement.repository.ClassRepository;
 import com.projetfulstack.studentgrademanagement.repository.GradeRepository;
 import com.projetfulstack.studentgrademanagement.repository.StudentRepository;
 import com.projetfulstack.studentgrademanagement.repository.SubjectRepository;
 import com.projetfulstack.studentgrademanagement.repository.TeacherRepository;
 import com.projetfulstack.studentgrademanagement.security.UserPrincipal;
+import com.projetfulstack.studentgrademanagement.service.EnrollmentService;
+import com.projetfulstack.studentgrademanagement.service.GradeAggregateService;
+import com.projetfulstack.studentgrademanagement.service.GradeAverageService;
+import com.projetfulstack.studentgrademanagement.service.GradeImportService;
+import com.projetfulstack.studentgrademanagement.service.GradeService;
+import com.projetfulstack.studentgrademanagement.service.RankingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -50,15 +74,41 @@ public class TeacherController {
     @Autowired
     private GradeRepository gradeRepository;
 
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private GradeAggregateService gradeAggregateService;
+
+    @Autowired
+    private GradeAverageService gradeAverageService;
+
+    @Autowired
+    private GradeImportService gradeImportService;
+
+    @Autowired
+    private RankingService rankingService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Value("${app.grades.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${app.rankings.max-top:100}")
+    private int maxRankingSize;
+
     /**
      * Get current teacher's profile
      */
     @GetMapping("/profile")
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     @Operation(summary = "Get teacher profile", description = "Get current teacher's profile information")
-    public ResponseEntity<Teacher> getTeacherProfile(@AuthenticationPrincipal UserPrincipal currentUser) {
-        Teacher teacher = teacherRepository.findById(currentUser.getId())
-                .map(Teacher.class::cast)
+    public ResponseEntity<TeacherSummary> getTeacherProfile(@AuthenticationPrincipal UserPrincipal currentUser) {
+        TeacherSummary teacher = teacherRepository.findSummaryById(currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("Teacher not found"));
         
         return ResponseEntity.ok(teacher);
@@ -70,12 +120,8 @@ public class TeacherController {
     @GetMapping("/subjects")
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     @Operation(summary = "Get teacher subjects", description = "Get all subjects taught by current teacher")
-    public ResponseEntity<List<Subject>> getTeacherSubjects(@AuthenticationPrincipal UserPrincipal currentUser) {
-        Teacher teacher = teacherRepository.findById(currentUser.getId())
-                .map(Teacher.class::cast)
-                .orElseThrow(() -> new RuntimeException("Teacher not found"));
-        
-        return ResponseEntity.ok(teacher.getSubjects());
+    public ResponseEntity<List<SubjectSummary>> getTeacherSubjects(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return ResponseEntity.ok(subjectRepository.findSummariesByTeacherId(currentUser.getId()));
     }
 
     /**
@@ -84,12 +130,54 @@ public class TeacherController {
     @GetMapping("/classes")
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     @Operation(summary = "Get teacher classes", description = "Get all classes taught by current teacher")
-    public ResponseEntity<List<com.projetfulstack.studentgrademanagement.entity.Class>> getTeacherClasses(@AuthenticationPrincipal UserPrincipal currentUser) {
-        Teacher teacher = teacherRepository.findById(currentUser.getId())
-                .map(Teacher.class::cast)
-                .orElseThrow(() -> new RuntimeException("Teacher not found"));
-        
-        return ResponseEntity.ok(teacher.getClasses());
+    public ResponseEntity<List<ClassSummary>> getTeacherClasses(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return ResponseEntity.ok(classRepository.findSummariesByClassTeacherId(currentUser.getId()));
+    }
+
+    /**
+     * Get weighted averages of a class
+     */
+    @GetMapping("/classes/{classId}/averages")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    @Operation(summary = "Get class averages", description = "Get per-subject averages, coefficient-weighted overall average, GPA and credits of every student of a class")
+    public ResponseEntity<List<StudentAverage>> getClassAverages(@PathVariable Long classId) {
+        return ResponseEntity.ok(gradeAverageService.computeClass(classId));
+    }
+
+    /**
+     * Get ranking of a class
+     */
+    @GetMapping("/classes/{classId}/ranking")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    @Operation(summary = "Get class ranking", description = "Get the best students of a class by weighted overall average, and optionally the rank and percentile of one student")
+    public ResponseEntity<Map<String, Object>> getClassRanking(@PathVariable Long classId,
+                                                               @RequestParam(defaultValue = "10") int top,
+                                                               @RequestParam(required = false) Long studentId) {
+        Map<String, Object> ranking = new LinkedHashMap<>();
+        ranking.put("classId", classId);
+        ranking.put("top", rankingService.getClassTop(classId, Math.min(top, maxRankingSize)));
+        if (studentId != null) {
+            ranking.put("student", rankingService.getClassRank(classId, studentId));
+        }
+        return ResponseEntity.ok(ranking);
+    }
+
+    /**
+     * Get ranking of a subject
+     */
+    @GetMapping("/subjects/{subjectId}/ranking")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    @Operation(summary = "Get subject ranking", description = "Get the best students of a subject by subject average, and optionally the rank and percentile of one student")
+    public ResponseEntity<Map<String, Object>> getSubjectRanking(@PathVariable Long subjectId,
+                                                                 @RequestParam(defaultValue = "10") int top,
+                                                                 @RequestParam(required = false) Long studentId) {
+        Map<String, Object> ranking = new LinkedHashMap<>();
+        ranking.put("subjectId", subjectId);
+        ranking.put("top", rankingService.getSubjectTop(subjectId, Math.min(top, maxRankingSize)));
+        if (studentId != null) {
+            ranking.put("student", rankingService.getSubjectRank(subjectId, studentId));
+        }
+        return ResponseEntity.ok(ranking);
     }
 
     /**
@@ -98,80 +186,129 @@ public class TeacherController {
     @PostMapping("/grades")
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     @Operation(summary = "Add grade", description = "Add a new grade for a student")
-    public ResponseEntity<Grade> addGrade(@Valid @RequestBody GradeRequest gradeRequest,
-                                         @AuthenticationPrincipal UserPrincipal currentUser) {
-        
-        Teacher teacher = teacherRepository.findById(currentUser.getId())
-                .map(Teacher.class::cast)
-                .orElseThrow(() -> new RuntimeException("Teacher not found"));
-        
-        Student student = studentRepository.findById(gradeRequest.getStudentId())
-                .map(Student.class::cast)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
-        
-        Subject subject = subjectRepository.findById(gradeRequest.getSubjectId())
-                .orElseThrow(() -> new RuntimeException("Subject not found"));
+    public ResponseEntity<GradeSummary> addGrade(@Valid @RequestBody GradeRequest gradeRequest,
+                                                @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        Grade savedGrade = gradeService.createGrade(gradeRequest, currentUser.getId());
+        return gradeWithETag(savedGrade.getId(), HttpStatus.OK);
+    }
+
+    /**
+     * Add many grades in one request
+     */
+    @PostMapping("/grades/batch")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    @Operation(summary = "Add grades in bulk", description = "Add a list of grades; each row is validated and reported individually")
+    public ResponseEntity<?> addGrades(@RequestBody List<GradeRequest> gradeRequests,
+                                       @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        if (gradeRequests == null || gradeRequests.isEmpty()) {
+            return ResponseEntity.badRequest().body("Error: Grade list is empty!");
+        }
+        if (gradeRequests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body("Error: A batch may contain at most " + maxBatchSize + " grades!");
+        }
+
+        BatchResponse response = new BatchResponse(gradeService.createGrades(gradeRequests, currentUser.getId()));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Import grades from an XLSX or CSV sheet
+     */
+    @PostMapping(value = "/grades/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    @Operation(summary = "Import grades", description = "Start a background import of a grade sheet (.xlsx or .csv) and return its job")
+    public ResponseEntity<?> importGrades(@RequestParam("file") MultipartFile file,
+                                          @AuthenticationPrincipal UserPrincipal currentUser) throws IOException {
 
-        Grade grade = new Grade();
-        grade.setGradeValue(gradeRequest.getGradeValue());
-        grade.setMaxGrade(gradeRequest.getMaxGrade());
-        grade.setExamType(gradeRequest.getExamType());
-        grade.setExamDate(gradeRequest.getExamDate() != null ? gradeRequest.getExamDate() : LocalDateTime.now());
-        grade.setComment(gradeRequest.getComment());
-        grade.setStudent(student);
-        grade.setSubject(subject);
-        grade.setTeacher(teacher);
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("Error: File is empty!");
+        }
 
-        Grade savedGrade = gradeRepository.save(grade);
-        return ResponseEntity.ok(savedGrade);
+        try {
+            ImportJob job = gradeImportService.submit(file, currentUser.getId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Error: " + ex.getMessage());
+        } catch (TaskRejectedException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Error: Too many imports in progress, retry later!");
+        }
     }
 
     /**
-     * Update grade
+     * Get grade import progress
      */
-    @PutMapping("/grades/{gradeId}")
+    @GetMapping("/grades/import/{jobId}")
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
-    @Operation(summary = "Update grade", description = "Update an existing grade")
-    public ResponseEntity<Grade> updateGrade(@PathVariable Long gradeId,
-                                           @Valid @RequestBody GradeRequest gradeRequest,
-                                           @AuthenticationPrincipal UserPrincipal currentUser) {
-        
-        Grade grade = gradeRepository.findById(gradeId)
+    @Operation(summary = "Get import status", description = "Get progress and per-row errors of a grade import job")
+    public ResponseEntity<ImportJob> getImportStatus(@PathVariable String jobId,
+                                                          @AuthenticationPrincipal UserPrincipal currentUser) {
+        ImportJob job = gradeImportService.getJob(jobId)
+                .orElseThrow(() -> new RuntimeException("Import job not found"));
+
+        if (!job.getOwnerId().equals(currentUser.getId()) && !currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+            throw new RuntimeException("Unauthorized to view this import");
+        }
+
+        return ResponseEntity.ok(job);
+    }
+
+    /**
+     * Get grade
+     */
+    @GetMapping("/grades/{gradeId}")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    @Operation(summary = "Get grade", description = "Get a grade with its version as ETag, to send back in If-Match when updating or deleting it")
+    public ResponseEntity<GradeSummary> getGrade(@PathVariable Long gradeId,
+                                                 @AuthenticationPrincipal UserPrincipal currentUser) {
+        GradeSummary grade = gradeRepository.findSummaryById(gradeId)
                 .orElseThrow(() -> new RuntimeException("Grade not found"));
 
-        // Check if teacher owns this grade or is admin
-        if (!grade.getTeacher().getId().equals(currentUser.getId()) && !currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-            throw new RuntimeException("Unauthorized to update this grade");
+        boolean admin = currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        if (!grade.getTeacherId().equals(currentUser.getId()) && !admin) {
+            throw new RuntimeException("Unauthorized to view this grade");
         }
 
-        grade.setGradeValue(gradeRequest.getGradeValue());
-        grade.setMaxGrade(gradeRequest.getMaxGrade());
-        grade.setExamType(gradeRequest.getExamType());
-        grade.setExamDate(gradeRequest.getExamDate());
-        grade.setComment(gradeRequest.getComment());
+        return ResponseEntity.ok().eTag(eTag(grade.getVersion())).body(grade);
+    }
+
+    /**
+     * Update grade; with If-Match, only if the grade is still at that version
+     */
+    @PutMapping("/grades/{gradeId}")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    @Operation(summary = "Update grade", description = "Update an existing grade; answers 412 with the current grade when it changed since the If-Match ETag was read")
+    public ResponseEntity<GradeSummary> updateGrade(@PathVariable Long gradeId,
+                                                   @Valid @RequestBody GradeRequest gradeRequest,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @AuthenticationPrincipal UserPrincipal currentUser) {
 
-        Grade updatedGrade = gradeRepository.save(grade);
-        return ResponseEntity.ok(updatedGrade);
+        boolean admin = currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        try {
+            gradeService.updateGrade(gradeId, gradeRequest, currentUser.getId(), admin, expectedVersion(ifMatch));
+        } catch (OptimisticLockingFailureException ex) {
+            return gradeWithETag(gradeId, HttpStatus.PRECONDITION_FAILED);
+        }
+        return gradeWithETag(gradeId, HttpStatus.OK);
     }
 
     /**
-     * Delete grade
+     * Delete grade; with If-Match, only if the grade is still at that version
      */
     @DeleteMapping("/grades/{gradeId}")
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
-    @Operation(summary = "Delete grade", description = "Delete a grade")
+    @Operation(summary = "Delete grade", description = "Delete a grade; answers 412 with the current grade when it changed since the If-Match ETag was read")
     public ResponseEntity<?> deleteGrade(@PathVariable Long gradeId,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                         @AuthenticationPrincipal UserPrincipal currentUser) {
-        
-        Grade grade = gradeRepository.findById(gradeId)
-                .orElseThrow(() -> new RuntimeException("Grade not found"));
 
-        // Check if teacher owns this grade or is admin
-        if (!grade.getTeacher().getId().equals(currentUser.getId()) && !currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-            throw new RuntimeException("Unauthorized to delete this grade");
+        boolean admin = currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        try {
+            gradeService.deleteGrade(gradeId, currentUser.getId(), admin, expectedVersion(ifMatch));
+        } catch (OptimisticLockingFailureException ex) {
+            return gradeWithETag(gradeId, HttpStatus.PRECONDITION_FAILED);
         }
-
-        gradeRepository.delete(grade);
         return ResponseEntity.ok().body("Grade deleted successfully");
     }
 
@@ -180,14 +317,14 @@ public class TeacherController {
      */
     @GetMapping("/subjects/{subjectId}/students")
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
-    @Operation(summary = "Get students in subject", description = "Get all students enrolled in a specific subject")
-    public ResponseEntity<List<Student>> getStudentsInSubject(@PathVariable Long subjectId) {
-        Subject subject = subjectRepository.findById(subjectId)
-                .orElseThrow(() -> new RuntimeException("Subject not found"));
-        
-        // This would need additional logic to get students enrolled in the subject
-        List<Student> students = studentRepository.findAll();
-        return ResponseEntity.ok(students);
+    @Operation(summary = "Get students in subject", description = "Get the students enrolled in a specific subject through the subjects of their class")
+    public ResponseEntity<List<StudentSummary>> getStudentsInSubject(@PathVariable Long subjectId) {
+        // Students of the classes that have the subject, from the enrollment index
+        List<Long> studentIds = enrollmentService.getStudentIds(subjectId);
+        if (studentIds.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        return ResponseEntity.ok(studentRepository.findSummariesByIdIn(studentIds));
     }
 
     /**
@@ -195,23 +332,48 @@ public class TeacherController {
      */
     @GetMapping("/subjects/{subjectId}/statistics")
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
-    @Operation(summary = "Get subject statistics", description = "Get grade statistics for a specific subject")
-    public ResponseEntity<Map<String, Object>> getSubjectStatistics(@PathVariable Long subjectId) {
-        Map<String, Object> statistics = new HashMap<>();
-        
-        List<Grade> grades = gradeRepository.findBySubjectId(subjectId);
-        
-        if (!grades.isEmpty()) {
-            Double average = grades.stream().mapToDouble(Grade::getGradeValue).average().orElse(0.0);
-            Double min = grades.stream().mapToDouble(Grade::getGradeValue).min().orElse(0.0);
-            Double max = grades.stream().mapToDouble(Grade::getGradeValue).max().orElse(0.0);
-            
-            statistics.put("average", average);
-            statistics.put("min", min);
-            statistics.put("max", max);
-            statistics.put("totalGrades", grades.size());
+    @Operation(summary = "Get subject statistics", description = "Get grade statistics for a specific subject, optionally filtered by exam type and exam date range; the histogram is included when filtering or when requested")
+    public ResponseEntity<Map<String, Object>> getSubjectStatistics(@PathVariable Long subjectId,
+                                                                    @RequestParam(required = false) ExamType examType,
+                                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                    @RequestParam(defaultValue = "false") boolean histogram) {
+        // Unfiltered statistics come from the maintained aggregate; filters and the histogram need the grades
+        GradeStatistics statistics = examType == null && from == null && to == null && !histogram
+                ? gradeAggregateService.getStatistics(GradeAggregateScope.SUBJECT, null, subjectId)
+                : gradeRepository.findSubjectStatistics(subjectId, examType, from, to);
+        return ResponseEntity.ok(statistics.toMap());
+    }
+
+    /**
+     * Current state of a grade with its ETag
+     */
+    private ResponseEntity<GradeSummary> gradeWithETag(Long gradeId, HttpStatus status) {
+        GradeSummary grade = gradeRepository.findSummaryById(gradeId)
+                .orElseThrow(() -> new RuntimeException("Grade not found"));
+        return ResponseEntity.status(status).eTag(eTag(grade.getVersion())).body(grade);
+    }
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Version required by an If-Match header: null when there is none or it is "*"; -1, which no grade
+     * has, when it is not a grade ETag (e.g. a weak ETag, which If-Match never matches)
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            return -1L;
         }
-        
-        return ResponseEntity.ok(statistics);
     }
 }
@@ -0,0 +1,17 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+/**
+ * Autocomplete Source Projection
+ * Name and code (student ID, employee ID or subject code) of one autocomplete entry
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public interface AutocompleteSource {
+
+    Long getId();
+
+    String getName();
+
+    String getCode();
+}
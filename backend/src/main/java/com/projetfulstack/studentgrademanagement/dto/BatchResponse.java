@@ -0,0 +1,62 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import java.util.List;
+
+/**
+ * Batch Response DTO
+ * Summary and per-row results of a bulk request (grades, registrations)
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class BatchResponse {
+
+    private int total;
+    private int created;
+    private int rejected;
+    private List<BatchResult> results;
+
+    // Constructors
+    public BatchResponse() {
+    }
+
+    public BatchResponse(List<BatchResult> results) {
+        this.results = results;
+        this.total = results.size();
+        this.created = (int) results.stream().filter(r -> BatchResult.CREATED.equals(r.getStatus())).count();
+        this.rejected = this.total - this.created;
+    }
+
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<BatchResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchResult> results) {
+        this.results = results;
+    }
+}
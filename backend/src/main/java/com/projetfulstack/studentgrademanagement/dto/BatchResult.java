@@ -0,0 +1,71 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+/**
+ * Batch Result DTO
+ * Outcome of a single row of a bulk request (grades, registrations); id is the one of the created entity
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class BatchResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+    private String status;
+    private Long id;
+    private String error;
+
+    // Constructors
+    public BatchResult() {
+    }
+
+    public BatchResult(int index, String status, Long id, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BatchResult created(int index, Long id) {
+        return new BatchResult(index, CREATED, id, null);
+    }
+
+    public static BatchResult rejected(int index, String error) {
+        return new BatchResult(index, REJECTED, null, error);
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
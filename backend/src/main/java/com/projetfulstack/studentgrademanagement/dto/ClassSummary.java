@@ -0,0 +1,29 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Class Summary Projection
+ * Columns of a class, read without loading its students or subjects
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public interface ClassSummary {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getAcademicYear();
+
+    Integer getSemester();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    Boolean getIsActive();
+}
@@ -0,0 +1,17 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import com.projetfulstack.studentgrademanagement.entity.ExamType;
+
+/**
+ * Exam Type Count Projection
+ * Number of grades of one exam type (null for grades without one)
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public interface ExamTypeCount {
+
+    ExamType getExamType();
+
+    Long getTotal();
+}
@@ -0,0 +1,94 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import com.projetfulstack.studentgrademanagement.entity.ExamType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Grade Export Row DTO
+ * Flat, unmanaged view of a grade used by streaming exports
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class GradeExportRow {
+
+    private final Long gradeId;
+    private final String studentNumber;
+    private final String studentLastName;
+    private final String studentFirstName;
+    private final String subjectCode;
+    private final String subjectName;
+    private final ExamType examType;
+    private final LocalDateTime examDate;
+    private final Double gradeValue;
+    private final Double maxGrade;
+    private final String teacherEmployeeId;
+    private final String comment;
+
+    public GradeExportRow(Long gradeId, String studentNumber, String studentLastName, String studentFirstName,
+                          String subjectCode, String subjectName, ExamType examType, LocalDateTime examDate,
+                          Double gradeValue, Double maxGrade, String teacherEmployeeId, String comment) {
+        this.gradeId = gradeId;
+        this.studentNumber = studentNumber;
+        this.studentLastName = studentLastName;
+        this.studentFirstName = studentFirstName;
+        this.subjectCode = subjectCode;
+        this.subjectName = subjectName;
+        this.examType = examType;
+        this.examDate = examDate;
+        this.gradeValue = gradeValue;
+        this.maxGrade = maxGrade;
+        this.teacherEmployeeId = teacherEmployeeId;
+        this.comment = comment;
+    }
+
+    // Getters
+    public Long getGradeId() {
+        return gradeId;
+    }
+
+    public String getStudentNumber() {
+        return studentNumber;
+    }
+
+    public String getStudentLastName() {
+        return studentLastName;
+    }
+
+    public String getStudentFirstName() {
+        return studentFirstName;
+    }
+
+    public String getSubjectCode() {
+        return subjectCode;
+    }
+
+    public String getSubjectName() {
+        return subjectName;
+    }
+
+    public ExamType getExamType() {
+        return examType;
+    }
+
+    public LocalDateTime getExamDate() {
+        return examDate;
+    }
+
+    public Double getGradeValue() {
+        return gradeValue;
+    }
+
+    public Double getMaxGrade() {
+        return maxGrade;
+    }
+
+    public String getTeacherEmployeeId() {
+        return teacherEmployeeId;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+}
@@ -0,0 +1,23 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+/**
+ * Grade Minute Count Projection
+ * Number of grades created within one calendar minute
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public interface GradeMinuteCount {
+
+    Integer getYear();
+
+    Integer getMonth();
+
+    Integer getDay();
+
+    Integer getHour();
+
+    Integer getMinute();
+
+    Long getTotal();
+}
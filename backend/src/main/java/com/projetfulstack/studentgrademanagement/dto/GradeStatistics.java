@@ -0,0 +1,135 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Grade Statistics DTO
+ * Count, average, min, max, standard deviation and histogram of a set of grades,
+ * built from running sums so it can be filled by a single aggregate query
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class GradeStatistics {
+
+    /**
+     * Histogram buckets are 2 points wide on the 0-20 scale; the last bucket includes 20
+     */
+    public static final int BUCKET_WIDTH = 2;
+    public static final int BUCKET_COUNT = 10;
+
+    private final long count;
+    private final double sum;
+    private final double sumOfSquares;
+    private final Double min;
+    private final Double max;
+    private final long[] buckets;
+
+    public GradeStatistics(long count, double sum, double sumOfSquares, Double min, Double max, long[] buckets) {
+        this.count = count;
+        this.sum = sum;
+        this.sumOfSquares = sumOfSquares;
+        this.min = min;
+        this.max = max;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Constructor used by JPQL constructor expressions without histogram
+     */
+    public GradeStatistics(Long count, Double sum, Double sumOfSquares, Double min, Double max) {
+        this(count != null ? count : 0L,
+             sum != null ? sum : 0.0,
+             sumOfSquares != null ? sumOfSquares : 0.0,
+             min, max, null);
+    }
+
+    /**
+     * Constructor used by JPQL constructor expressions (one argument per histogram bucket)
+     */
+    public GradeStatistics(Long count, Double sum, Double sumOfSquares, Double min, Double max,
+                           Long b0, Long b1, Long b2, Long b3, Long b4, Long b5, Long b6, Long b7, Long b8, Long b9) {
+        this(count != null ? count : 0L,
+             sum != null ? sum : 0.0,
+             sumOfSquares != null ? sumOfSquares : 0.0,
+             min, max,
+             new long[] {value(b0), value(b1), value(b2), value(b3), value(b4),
+                         value(b5), value(b6), value(b7), value(b8), value(b9)});
+    }
+
+    private static long value(Long bucket) {
+        return bucket != null ? bucket : 0L;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public double getSumOfSquares() {
+        return sumOfSquares;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public Double getAverage() {
+        return count > 0 ? sum / count : null;
+    }
+
+    /**
+     * Population standard deviation
+     */
+    public Double getStandardDeviation() {
+        if (count == 0) {
+            return null;
+        }
+        double mean = sum / count;
+        return Math.sqrt(Math.max(0.0, sumOfSquares / count - mean * mean));
+    }
+
+    public long[] getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * Histogram keyed by range label ("0-2", "2-4", ..., "18-20"); null when not computed
+     */
+    public Map<String, Long> getHistogram() {
+        if (buckets == null) {
+            return null;
+        }
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            histogram.put((i * BUCKET_WIDTH) + "-" + ((i + 1) * BUCKET_WIDTH), buckets[i]);
+        }
+        return histogram;
+    }
+
+    /**
+     * Response map used by the statistics endpoints; empty when there are no grades
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        if (count > 0) {
+            statistics.put("average", getAverage());
+            statistics.put("min", min);
+            statistics.put("max", max);
+            statistics.put("standardDeviation", getStandardDeviation());
+            statistics.put("totalGrades", count);
+            if (buckets != null) {
+                statistics.put("histogram", getHistogram());
+            }
+        }
+        return statistics;
+    }
+}
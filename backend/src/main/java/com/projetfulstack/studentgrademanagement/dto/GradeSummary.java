@@ -0,0 +1,41 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import com.projetfulstack.studentgrademanagement.entity.ExamType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Grade Summary Projection
+ * Columns of a grade with the ids of its student and teacher, the code and name of its subject and its version
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public interface GradeSummary {
+
+    Long getId();
+
+    Double getGradeValue();
+
+    Double getMaxGrade();
+
+    ExamType getExamType();
+
+    LocalDateTime getExamDate();
+
+    String getComment();
+
+    LocalDateTime getCreatedAt();
+
+    Long getStudentId();
+
+    Long getSubjectId();
+
+    String getSubjectCode();
+
+    String getSubjectName();
+
+    Long getTeacherId();
+
+    Long getVersion();
+}
@@ -0,0 +1,168 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Import Job DTO
+ * Progress and error report of a background file import (grade sheets, cohorts)
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class ImportJob {
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    /**
+     * A rejected sheet row (1-based, as displayed by spreadsheet tools)
+     */
+    public static class RowError {
+        private final long row;
+        private final String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private final String jobId;
+    private final Long ownerId;
+    private final String fileName;
+    private final int maxReportedErrors;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final AtomicLong processedRows = new AtomicLong();
+    private final AtomicLong importedRows = new AtomicLong();
+    private final Map<String, AtomicLong> importedByKind = new ConcurrentHashMap<>();
+    private final AtomicLong rejectedRows = new AtomicLong();
+    private final List<RowError> errors = new ArrayList<>();
+    private volatile Status status = Status.PENDING;
+    private volatile String message;
+    private volatile LocalDateTime finishedAt;
+
+    /**
+     * @param ownerId user who started the import, or null when the job is not tied to one
+     */
+    public ImportJob(String jobId, Long ownerId, String fileName, int maxReportedErrors) {
+        this.jobId = jobId;
+        this.ownerId = ownerId;
+        this.fileName = fileName;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    // Progress updates
+    public void rowImported() {
+        processedRows.incrementAndGet();
+        importedRows.incrementAndGet();
+    }
+
+    /**
+     * Record an imported row that is also counted under its kind (e.g. students and teachers of a cohort)
+     */
+    public void rowImported(String kind) {
+        rowImported();
+        importedByKind.computeIfAbsent(kind, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Record a rejected row; only the first maxReportedErrors messages are kept
+     */
+    public void rowRejected(long row, String error) {
+        processedRows.incrementAndGet();
+        rejectedRows.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(row, error));
+            }
+        }
+    }
+
+    public void finish(Status status, String message) {
+        this.status = status;
+        this.message = message;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public String getJobId() {
+        return jobId;
+    }
+
+    @JsonIgnore
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public long getProcessedRows() {
+        return processedRows.get();
+    }
+
+    public long getImportedRows() {
+        return importedRows.get();
+    }
+
+    public Map<String, Long> getImportedByKind() {
+        Map<String, Long> counts = new TreeMap<>();
+        importedByKind.forEach((kind, count) -> counts.put(kind, count.get()));
+        return counts;
+    }
+
+    public long getRejectedRows() {
+        return rejectedRows.get();
+    }
+
+    public boolean isErrorReportTruncated() {
+        return rejectedRows.get() > maxReportedErrors;
+    }
+
+    public List<RowError> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,64 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset Page DTO
+ * One page of a keyset-paginated list; nextCursor is null on the last page
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class KeysetPage<T> {
+
+    private final List<T> content;
+    private final int size;
+    private final String sort;
+    private final boolean hasNext;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> content, int size, String sort, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.sort = sort;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Build a page from a slice, taking the cursor from its last row
+     */
+    public static <T> KeysetPage<T> of(Slice<T> slice, KeysetRequest request, Function<T, Long> idOf, Function<T, String> keyOf) {
+        List<T> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            T last = content.get(content.size() - 1);
+            nextCursor = request.cursorAfter(idOf.apply(last), keyOf.apply(last));
+        }
+        return new KeysetPage<>(content, request.getSize(), request.getSort(), slice.hasNext(), nextCursor);
+    }
+
+    // Getters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,117 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset Request DTO
+ * Parsed cursor, page size and sort of a keyset-paginated list request.
+ * Pages are ordered by id, or by a sort key then id; the cursor holds the last row's key and id.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class KeysetRequest {
+
+    public static final String SORT_ID = "id";
+    public static final String SORT_NAME = "name";
+
+    private final boolean sortedByKey;
+    private final String keyProperty;
+    private final int size;
+    private final Long afterId;
+    private final String afterKey;
+
+    private KeysetRequest(boolean sortedByKey, String keyProperty, int size, Long afterId, String afterKey) {
+        this.sortedByKey = sortedByKey;
+        this.keyProperty = keyProperty;
+        this.size = size;
+        this.afterId = afterId;
+        this.afterKey = afterKey;
+    }
+
+    /**
+     * Parse request parameters; sort is "id" or "name", where "name" sorts by keyProperty
+     *
+     * @throws IllegalArgumentException on an unknown sort, a non-positive size or a malformed cursor
+     */
+    public static KeysetRequest of(String cursor, int size, String sort, int maxSize, String keyProperty) {
+        boolean sortedByKey;
+        if (sort == null || SORT_ID.equals(sort)) {
+            sortedByKey = false;
+        } else if (SORT_NAME.equals(sort)) {
+            sortedByKey = true;
+        } else {
+            throw new IllegalArgumentException("Sort must be 'id' or 'name'");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        Long afterId = null;
+        String afterKey = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String decoded;
+            try {
+                decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            int separator = decoded.indexOf(':');
+            try {
+                afterId = Long.valueOf(separator >= 0 ? decoded.substring(0, separator) : decoded);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            afterKey = separator >= 0 ? decoded.substring(separator + 1) : null;
+            if (sortedByKey && afterKey == null) {
+                throw new IllegalArgumentException("Cursor does not match sort");
+            }
+        }
+        return new KeysetRequest(sortedByKey, keyProperty, Math.min(size, maxSize), afterId, afterKey);
+    }
+
+    /**
+     * Cursor pointing after a row
+     */
+    public String cursorAfter(Long id, String key) {
+        String value = sortedByKey ? id + ":" + key : String.valueOf(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * First page request in keyset order; Slice queries fetch one extra row instead of counting
+     */
+    public Pageable toPageable() {
+        Sort sort = sortedByKey ? Sort.by(keyProperty, SORT_ID) : Sort.by(SORT_ID);
+        return PageRequest.of(0, size, sort);
+    }
+
+    public boolean hasCursor() {
+        return afterId != null;
+    }
+
+    public boolean isSortedByKey() {
+        return sortedByKey;
+    }
+
+    public String getSort() {
+        return sortedByKey ? SORT_NAME : SORT_ID;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    public String getAfterKey() {
+        return afterKey;
+    }
+}
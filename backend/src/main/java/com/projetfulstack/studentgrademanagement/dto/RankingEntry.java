@@ -0,0 +1,46 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+/**
+ * Ranking Entry DTO
+ * Rank (ties share the best rank), score and percentile of one student among the ranked students of a class or subject
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class RankingEntry {
+
+    private final Long studentId;
+    private final int rank;
+    private final double score;
+    private final double percentile;
+    private final int total;
+
+    public RankingEntry(Long studentId, int rank, double score, double percentile, int total) {
+        this.studentId = studentId;
+        this.rank = rank;
+        this.score = score;
+        this.percentile = percentile;
+        this.total = total;
+    }
+
+    // Getters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
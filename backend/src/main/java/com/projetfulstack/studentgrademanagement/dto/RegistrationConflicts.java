@@ -0,0 +1,17 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+/**
+ * Registration Conflicts Projection
+ * Which unique registration keys are already taken, from a single existence probe
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public interface RegistrationConflicts {
+
+    Boolean getEmailTaken();
+
+    Boolean getStudentIdTaken();
+
+    Boolean getEmployeeIdTaken();
+}
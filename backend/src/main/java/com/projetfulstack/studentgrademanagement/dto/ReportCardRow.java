@@ -0,0 +1,73 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import com.projetfulstack.studentgrademanagement.entity.ExamType;
+
+/**
+ * Report Card Row DTO
+ * One grade of a class, flattened with its subject data, for report card rendering
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class ReportCardRow {
+
+    private final Long studentId;
+    private final Long subjectId;
+    private final String subjectCode;
+    private final String subjectName;
+    private final Double coefficient;
+    private final Integer credits;
+    private final Double gradeValue;
+    private final Double maxGrade;
+    private final ExamType examType;
+
+    public ReportCardRow(Long studentId, Long subjectId, String subjectCode, String subjectName, Double coefficient,
+                         Integer credits, Double gradeValue, Double maxGrade, ExamType examType) {
+        this.studentId = studentId;
+        this.subjectId = subjectId;
+        this.subjectCode = subjectCode;
+        this.subjectName = subjectName;
+        this.coefficient = coefficient;
+        this.credits = credits;
+        this.gradeValue = gradeValue;
+        this.maxGrade = maxGrade;
+        this.examType = examType;
+    }
+
+    // Getters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public String getSubjectCode() {
+        return subjectCode;
+    }
+
+    public String getSubjectName() {
+        return subjectName;
+    }
+
+    public Double getCoefficient() {
+        return coefficient;
+    }
+
+    public Integer getCredits() {
+        return credits;
+    }
+
+    public Double getGradeValue() {
+        return gradeValue;
+    }
+
+    public Double getMaxGrade() {
+        return maxGrade;
+    }
+
+    public ExamType getExamType() {
+        return examType;
+    }
+}
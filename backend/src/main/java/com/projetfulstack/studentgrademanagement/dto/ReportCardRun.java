@@ -0,0 +1,51 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Report Card Run DTO
+ * Throughput figures of one report card generation run
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class ReportCardRun {
+
+    private final Long classId;
+    private final int documents;
+    private final int pages;
+    private final long elapsedMillis;
+    private final LocalDateTime finishedAt = LocalDateTime.now();
+
+    public ReportCardRun(Long classId, int documents, int pages, long elapsedMillis) {
+        this.classId = classId;
+        this.documents = documents;
+        this.pages = pages;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getPagesPerSecond() {
+        return elapsedMillis > 0 ? pages * 1000.0 / elapsedMillis : pages;
+    }
+
+    // Getters
+    public Long getClassId() {
+        return classId;
+    }
+
+    public int getDocuments() {
+        return documents;
+    }
+
+    public int getPages() {
+        return pages;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
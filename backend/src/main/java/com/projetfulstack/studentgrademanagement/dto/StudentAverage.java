@@ -0,0 +1,63 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Student Average DTO
+ * Per-subject averages, coefficient-weighted overall average, credit-weighted GPA and credits of one student
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class StudentAverage {
+
+    private final Long studentId;
+    private final Double overallAverage;
+    private final Double gpa;
+    private final int creditsAttempted;
+    private final int creditsEarned;
+    private final List<SubjectAverage> subjects;
+
+    public StudentAverage(Long studentId, Double overallAverage, Double gpa, int creditsAttempted,
+                          int creditsEarned, List<SubjectAverage> subjects) {
+        this.studentId = studentId;
+        this.overallAverage = overallAverage;
+        this.gpa = gpa;
+        this.creditsAttempted = creditsAttempted;
+        this.creditsEarned = creditsEarned;
+        this.subjects = subjects;
+    }
+
+    /**
+     * Averages of a student without any grade
+     */
+    public static StudentAverage empty(Long studentId) {
+        return new StudentAverage(studentId, null, null, 0, 0, Collections.emptyList());
+    }
+
+    // Getters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Double getOverallAverage() {
+        return overallAverage;
+    }
+
+    public Double getGpa() {
+        return gpa;
+    }
+
+    public int getCreditsAttempted() {
+        return creditsAttempted;
+    }
+
+    public int getCreditsEarned() {
+        return creditsEarned;
+    }
+
+    public List<SubjectAverage> getSubjects() {
+        return subjects;
+    }
+}
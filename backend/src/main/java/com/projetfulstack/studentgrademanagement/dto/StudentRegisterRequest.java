@@ -39,6 +39,11 @@ public class StudentRegisterRequest {
     private String phoneNumber;
     private LocalDate dateOfBirth;
 
+    /**
+     * Class to enroll the student in; only honored by admin bulk registration
+     */
+    private Long classId;
+
     // Constructors
     public StudentRegisterRequest() {
     }
@@ -115,4 +120,12 @@ public class StudentRegisterRequest {
     public void setDateOfBirth(LocalDate dateOfBirth) {
         this.dateOfBirth = dateOfBirth;
     }
+
+    public Long getClassId() {
+        return classId;
+    }
+
+    public void setClassId(Long classId) {
+        this.classId = classId;
+    }
 }
@@ -0,0 +1,46 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import com.projetfulstack.studentgrademanagement.entity.UserRole;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Student Summary Projection
+ * Columns of a student and the id and name of its class, read without loading any association
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public interface StudentSummary {
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    UserRole getRole();
+
+    Boolean getIsActive();
+
+    LocalDateTime getCreatedAt();
+
+    String getStudentId();
+
+    LocalDate getDateOfBirth();
+
+    String getAddress();
+
+    String getPhoneNumber();
+
+    LocalDate getEnrollmentDate();
+
+    LocalDate getGraduationDate();
+
+    Long getClassId();
+
+    String getClassName();
+}
@@ -0,0 +1,63 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+/**
+ * Subject Average DTO
+ * Exam-type weighted average of one student's grades in one subject, normalized to /20
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class SubjectAverage {
+
+    private final Long subjectId;
+    private final String subjectCode;
+    private final String subjectName;
+    private final double coefficient;
+    private final int credits;
+    private final int gradeCount;
+    private final Double average;
+
+    public SubjectAverage(Long subjectId, String subjectCode, String subjectName, double coefficient,
+                          int credits, int gradeCount, Double average) {
+        this.subjectId = subjectId;
+        this.subjectCode = subjectCode;
+        this.subjectName = subjectName;
+        this.coefficient = coefficient;
+        this.credits = credits;
+        this.gradeCount = gradeCount;
+        this.average = average;
+    }
+
+    public Double getWeightedAverage() {
+        return average != null ? average * coefficient : null;
+    }
+
+    // Getters
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public String getSubjectCode() {
+        return subjectCode;
+    }
+
+    public String getSubjectName() {
+        return subjectName;
+    }
+
+    public double getCoefficient() {
+        return coefficient;
+    }
+
+    public int getCredits() {
+        return credits;
+    }
+
+    public int getGradeCount() {
+        return gradeCount;
+    }
+
+    public Double getAverage() {
+        return average;
+    }
+}
@@ -0,0 +1,25 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+/**
+ * Subject Grade Statistics Projection
+ * Raw grade count, average, min and max of one student in one subject, read from the grade aggregates
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public interface SubjectGradeStatistics {
+
+    Long getSubjectId();
+
+    String getSubjectCode();
+
+    String getSubjectName();
+
+    Long getGradeCount();
+
+    Double getAverage();
+
+    Double getMinGrade();
+
+    Double getMaxGrade();
+}
@@ -0,0 +1,27 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+/**
+ * Subject Summary Projection
+ * Columns of a subject and the id of its teacher
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public interface SubjectSummary {
+
+    Long getId();
+
+    String getName();
+
+    String getCode();
+
+    String getDescription();
+
+    Double getCoefficient();
+
+    Integer getCredits();
+
+    Boolean getIsActive();
+
+    Long getTeacherId();
+}
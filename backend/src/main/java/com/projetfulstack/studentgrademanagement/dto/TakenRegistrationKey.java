@@ -0,0 +1,22 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+/**
+ * Taken Registration Key Projection
+ * One email, student id or employee id of a registration batch that already exists
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public interface TakenRegistrationKey {
+
+    String EMAIL = "email";
+    String STUDENT_ID = "studentId";
+    String EMPLOYEE_ID = "employeeId";
+
+    /**
+     * EMAIL, STUDENT_ID or EMPLOYEE_ID
+     */
+    String getKind();
+
+    String getTakenKey();
+}
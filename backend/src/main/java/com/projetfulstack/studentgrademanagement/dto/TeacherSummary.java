@@ -0,0 +1,46 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import com.projetfulstack.studentgrademanagement.entity.UserRole;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Teacher Summary Projection
+ * Columns of a teacher, read without loading its subjects or classes
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public interface TeacherSummary {
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    UserRole getRole();
+
+    Boolean getIsActive();
+
+    LocalDateTime getCreatedAt();
+
+    String getEmployeeId();
+
+    LocalDate getDateOfBirth();
+
+    String getAddress();
+
+    String getPhoneNumber();
+
+    String getDepartment();
+
+    String getSpecialization();
+
+    LocalDate getHireDate();
+
+    Double getSalary();
+}
@@ -0,0 +1,19 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import com.projetfulstack.studentgrademanagement.entity.UserRole;
+
+/**
+ * User Count Projection
+ * Number of users of one role and activation status
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public interface UserCount {
+
+    UserRole getRole();
+
+    Boolean getActive();
+
+    Long getTotal();
+}
@@ -0,0 +1,29 @@
+package com.projetfulstack.studentgrademanagement.dto;
+
+import com.projetfulstack.studentgrademanagement.entity.UserRole;
+
+import java.time.LocalDateTime;
+
+/**
+ * User Summary Projection
+ * Columns of a user returned by the API; never includes the password
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public interface UserSummary {
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    UserRole getRole();
+
+    Boolean getIsActive();
+
+    LocalDateTime getCreatedAt();
+}
@@ -3,6 +3,8 @@ package com.projetfulstack.studentgrademanagement.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,6 +16,8 @@ import java.util.List;
  * @version 1.0.0
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "classes")
 public class Class {
 
@@ -55,10 +59,12 @@ public class Class {
 
     // Many-to-many relationship with subjects
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
         name = "class_subjects",
         joinColumns = @JoinColumn(name = "class_id"),
-        inverseJoinColumns = @JoinColumn(name = "subject_id")
+        inverseJoinColumns = @JoinColumn(name = "subject_id"),
+        indexes = @Index(name = "idx_class_subjects_subject_class", columnList = "subject_id, class_id")
     )
     private List<Subject> subjects;
 
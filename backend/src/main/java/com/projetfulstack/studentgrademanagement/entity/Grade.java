@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -14,11 +15,19 @@ import java.time.LocalDateTime;
  * @version 1.0.0
  */
 @Entity
-@Table(name = "grades")
+@Table(name = "grades", indexes = {
+    @Index(name = "idx_grades_student_subject", columnList = "student_id, subject_id"),
+    @Index(name = "idx_grades_subject", columnList = "subject_id"),
+    @Index(name = "idx_grades_student_exam_date", columnList = "student_id, exam_date"),
+    @Index(name = "idx_grades_created_at", columnList = "created_at"),
+    @Index(name = "idx_grades_class", columnList = "class_id")
+})
 public class Grade {
 
+    // Sequence (not IDENTITY) so Hibernate can group grade inserts into JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grade_seq")
+    @SequenceGenerator(name = "grade_seq", sequenceName = "grades_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Grade value is required")
@@ -46,6 +55,13 @@ public class Grade {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock, incremented on every update; existing rows start at 0. Left null until the grade is
+    // persisted (Hibernate then sets 0), so that save() of a new grade persists instead of merging
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Many-to-one relationship with student
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
@@ -61,6 +77,11 @@ public class Grade {
     @JoinColumn(name = "teacher_id", nullable = false)
     private Teacher teacher;
 
+    // Class of the student when the grade was given; null for grades recorded before this column existed
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "class_id")
+    private Class studentClass;
+
     // Constructors
     public Grade() {
         this.createdAt = LocalDateTime.now();
@@ -165,6 +186,14 @@ public class Grade {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Student getStudent() {
         return student;
     }
@@ -189,6 +218,14 @@ public class Grade {
         this.teacher = teacher;
     }
 
+    public Class getStudentClass() {
+        return studentClass;
+    }
+
+    public void setStudentClass(Class studentClass) {
+        this.studentClass = studentClass;
+    }
+
     @Override
     public String toString() {
         return "Grade{" +
@@ -0,0 +1,199 @@
+package com.projetfulstack.studentgrademanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Grade aggregate entity holding running count, sum, sum of squares, min and max
+ * of the grades of one student in one subject, of one subject, or of one student.
+ * Ids that do not apply to the scope are stored as 0 so the key stays unique.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "grade_aggregates",
+       uniqueConstraints = @UniqueConstraint(name = "uk_grade_aggregates_key", columnNames = {"scope", "student_id", "subject_id"}))
+public class GradeAggregate {
+
+    public static final Long NONE = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grade_aggregate_seq")
+    @SequenceGenerator(name = "grade_aggregate_seq", sequenceName = "grade_aggregates_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 20)
+    private GradeAggregateScope scope;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+
+    @Column(name = "grade_count", nullable = false)
+    private Long count = 0L;
+
+    @Column(name = "grade_sum", nullable = false)
+    private Double sum = 0.0;
+
+    @Column(name = "sum_of_squares", nullable = false)
+    private Double sumOfSquares = 0.0;
+
+    @Column(name = "min_grade")
+    private Double min;
+
+    @Column(name = "max_grade")
+    private Double max;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public GradeAggregate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public GradeAggregate(GradeAggregateScope scope, Long studentId, Long subjectId) {
+        this();
+        this.scope = scope;
+        this.studentId = studentId;
+        this.subjectId = subjectId;
+    }
+
+    /**
+     * Student/subject aggregate built from a GROUP BY query row
+     */
+    public GradeAggregate(Long studentId, Long subjectId, Long count, Double sum, Double sumOfSquares, Double min, Double max) {
+        this(GradeAggregateScope.STUDENT_SUBJECT, studentId, subjectId);
+        this.count = count;
+        this.sum = sum;
+        this.sumOfSquares = sumOfSquares;
+        this.min = min;
+        this.max = max;
+    }
+
+    // Lifecycle callbacks
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Helper methods
+    public void add(double value) {
+        count++;
+        sum += value;
+        sumOfSquares += value * value;
+        min = min == null ? value : Math.min(min, value);
+        max = max == null ? value : Math.max(max, value);
+    }
+
+    public void merge(GradeAggregate other) {
+        count += other.count;
+        sum += other.sum;
+        sumOfSquares += other.sumOfSquares;
+        min = min == null ? other.min : (other.min == null ? min : Math.min(min, other.min));
+        max = max == null ? other.max : (other.max == null ? max : Math.max(max, other.max));
+    }
+
+    public Double getAverage() {
+        return count > 0 ? sum / count : null;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public GradeAggregateScope getScope() {
+        return scope;
+    }
+
+    public void setScope(GradeAggregateScope scope) {
+        this.scope = scope;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public Double getSum() {
+        return sum;
+    }
+
+    public void setSum(Double sum) {
+        this.sum = sum;
+    }
+
+    public Double getSumOfSquares() {
+        return sumOfSquares;
+    }
+
+    public void setSumOfSquares(Double sumOfSquares) {
+        this.sumOfSquares = sumOfSquares;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "GradeAggregate{" +
+                "scope=" + scope +
+                ", studentId=" + studentId +
+                ", subjectId=" + subjectId +
+                ", count=" + count +
+                ", sum=" + sum +
+                ", min=" + min +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,13 @@
+package com.projetfulstack.studentgrademanagement.entity;
+
+/**
+ * Enumeration for the keys grade aggregates are maintained under
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public enum GradeAggregateScope {
+    STUDENT_SUBJECT,
+    SUBJECT,
+    STUDENT
+}
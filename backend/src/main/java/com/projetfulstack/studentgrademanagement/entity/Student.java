@@ -15,7 +15,7 @@ import java.util.List;
  * @version 1.0.0
  */
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = @Index(name = "idx_students_class", columnList = "class_id"))
 @PrimaryKeyJoinColumn(name = "user_id")
 public class Student extends User {
 
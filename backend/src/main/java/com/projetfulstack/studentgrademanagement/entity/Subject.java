@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -14,7 +16,9 @@ import java.util.List;
  * @version 1.0.0
  */
 @Entity
-@Table(name = "subjects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "subjects", indexes = @Index(name = "idx_subjects_name_id", columnList = "name, id"))
 public class Subject {
 
     @Id
@@ -51,6 +55,7 @@ public class Subject {
 
     // Many-to-many relationship with classes
     @ManyToMany(mappedBy = "subjects", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Class> classes;
 
     // One-to-many relationship with grades
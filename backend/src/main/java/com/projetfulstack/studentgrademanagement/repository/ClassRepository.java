@@ -0,0 +1,52 @@
+package com.projetfulstack.studentgrademanagement.repository;
+
+import com.projetfulstack.studentgrademanagement.dto.ClassSummary;
+import com.projetfulstack.studentgrademanagement.entity.Class;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Class Repository Interface
+ * Data access layer for Class entity
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Repository
+public interface ClassRepository extends JpaRepository<Class, Long> {
+
+    /**
+     * Find classes by academic year
+     */
+    List<Class> findByAcademicYear(String academicYear);
+
+    /**
+     * Find active classes
+     */
+    @Query("SELECT c FROM Class c WHERE c.isActive = true")
+    List<Class> findActiveClasses();
+
+    /**
+     * Find classes by academic year and semester
+     */
+    @Query("SELECT c FROM Class c WHERE c.academicYear = :academicYear AND c.semester = :semester")
+    List<Class> findByAcademicYearAndSemester(@Param("academicYear") String academicYear, @Param("semester") Integer semester);
+
+    /**
+     * Find the summaries of the classes whose class teacher is the given teacher
+     */
+    @Query("SELECT c.id AS id, c.name AS name, c.description AS description, c.academicYear AS academicYear, " +
+           "c.semester AS semester, c.startDate AS startDate, c.endDate AS endDate, c.isActive AS isActive " +
+           "FROM Class c WHERE c.classTeacher.id = :teacherId ORDER BY c.name")
+    List<ClassSummary> findSummariesByClassTeacherId(@Param("teacherId") Long teacherId);
+
+    /**
+     * Find the ids of the subjects taught in a class
+     */
+    @Query("SELECT sub.id FROM Class c JOIN c.subjects sub WHERE c.id = :classId")
+    List<Long> findSubjectIdsById(@Param("classId") Long classId);
+}
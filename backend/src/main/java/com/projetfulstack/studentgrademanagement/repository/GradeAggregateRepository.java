@@ -0,0 +1,145 @@
+package com.projetfulstack.studentgrademanagement.repository;
+
+import com.projetfulstack.studentgrademanagement.dto.GradeStatistics;
+import com.projetfulstack.studentgrademanagement.dto.SubjectGradeStatistics;
+import com.projetfulstack.studentgrademanagement.entity.GradeAggregate;
+import com.projetfulstack.studentgrademanagement.entity.GradeAggregateScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Grade Aggregate Repository Interface
+ * Data access layer for GradeAggregate entity.
+ * Write paths use single UPDATE statements so concurrent grade changes never lose increments.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Repository
+public interface GradeAggregateRepository extends JpaRepository<GradeAggregate, Long> {
+
+    /**
+     * Find the aggregate of one key
+     */
+    Optional<GradeAggregate> findByScopeAndStudentIdAndSubjectId(GradeAggregateScope scope, Long studentId, Long subjectId);
+
+    /**
+     * Read the current values of one key straight from the database (never from the persistence context)
+     */
+    @Query("SELECT new com.projetfulstack.studentgrademanagement.dto.GradeStatistics(" +
+           "a.count, a.sum, a.sumOfSquares, a.min, a.max) FROM GradeAggregate a " +
+           "WHERE a.scope = :scope AND a.studentId = :studentId AND a.subjectId = :subjectId")
+    Optional<GradeStatistics> findStatistics(@Param("scope") GradeAggregateScope scope,
+                                             @Param("studentId") Long studentId,
+                                             @Param("subjectId") Long subjectId);
+
+    /**
+     * Find aggregates of a scope for a student
+     */
+    List<GradeAggregate> findByScopeAndStudentId(GradeAggregateScope scope, Long studentId);
+
+    /**
+     * Read the overall (subjectId = 0) and per-subject statistics of a student in one query
+     */
+    @Query("SELECT a.subjectId AS subjectId, sub.code AS subjectCode, sub.name AS subjectName, a.count AS gradeCount, " +
+           "CASE WHEN a.count > 0 THEN a.sum / a.count END AS average, a.min AS minGrade, a.max AS maxGrade " +
+           "FROM GradeAggregate a LEFT JOIN Subject sub ON sub.id = a.subjectId " +
+           "WHERE a.studentId = :studentId ORDER BY sub.name, a.subjectId")
+    List<SubjectGradeStatistics> findStudentStatistics(@Param("studentId") Long studentId);
+
+    /**
+     * Find aggregates of a scope for a subject
+     */
+    List<GradeAggregate> findByScopeAndSubjectId(GradeAggregateScope scope, Long subjectId);
+
+    /**
+     * Add grades to an existing aggregate
+     *
+     * @return number of rows updated (0 when the aggregate does not exist yet)
+     */
+    @Modifying
+    @Query("UPDATE GradeAggregate a SET a.count = a.count + :count, a.sum = a.sum + :sum, " +
+           "a.sumOfSquares = a.sumOfSquares + :sumOfSquares, " +
+           "a.min = CASE WHEN a.min IS NULL OR :min < a.min THEN :min ELSE a.min END, " +
+           "a.max = CASE WHEN a.max IS NULL OR :max > a.max THEN :max ELSE a.max END, " +
+           "a.updatedAt = :now " +
+           "WHERE a.scope = :scope AND a.studentId = :studentId AND a.subjectId = :subjectId")
+    int addToAggregate(@Param("scope") GradeAggregateScope scope, @Param("studentId") Long studentId,
+                       @Param("subjectId") Long subjectId, @Param("count") long count, @Param("sum") double sum,
+                       @Param("sumOfSquares") double sumOfSquares, @Param("min") double min, @Param("max") double max,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Insert the first aggregate of a key, doing nothing when a concurrent transaction inserted it first
+     *
+     * @return number of rows inserted (0 when the key already exists)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO grade_aggregates (id, scope, student_id, subject_id, grade_count, grade_sum, sum_of_squares, " +
+                   "min_grade, max_grade, updated_at) VALUES (nextval('grade_aggregates_seq'), :scope, :studentId, :subjectId, " +
+                   ":count, :sum, :sumOfSquares, :min, :max, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("scope") String scope, @Param("studentId") Long studentId,
+                       @Param("subjectId") Long subjectId, @Param("count") long count, @Param("sum") double sum,
+                       @Param("sumOfSquares") double sumOfSquares, @Param("min") double min, @Param("max") double max,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Block concurrent aggregate writes (but not reads) until the end of the transaction; PostgreSQL only
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE grade_aggregates IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    /**
+     * Remove grades from an aggregate; min and max are left for the caller to refresh
+     */
+    @Modifying
+    @Query("UPDATE GradeAggregate a SET a.count = a.count - :count, a.sum = a.sum - :sum, " +
+           "a.sumOfSquares = a.sumOfSquares - :sumOfSquares, a.updatedAt = :now " +
+           "WHERE a.scope = :scope AND a.studentId = :studentId AND a.subjectId = :subjectId")
+    int subtractFromAggregate(@Param("scope") GradeAggregateScope scope, @Param("studentId") Long studentId,
+                              @Param("subjectId") Long subjectId, @Param("count") long count, @Param("sum") double sum,
+                              @Param("sumOfSquares") double sumOfSquares, @Param("now") LocalDateTime now);
+
+    /**
+     * Overwrite an aggregate with exact values recomputed from the grades table
+     */
+    @Modifying
+    @Query("UPDATE GradeAggregate a SET a.count = :count, a.sum = :sum, a.sumOfSquares = :sumOfSquares, " +
+           "a.min = :min, a.max = :max, a.updatedAt = :now " +
+           "WHERE a.scope = :scope AND a.studentId = :studentId AND a.subjectId = :subjectId")
+    int overwriteAggregate(@Param("scope") GradeAggregateScope scope, @Param("studentId") Long studentId,
+                           @Param("subjectId") Long subjectId, @Param("count") long count, @Param("sum") double sum,
+                           @Param("sumOfSquares") double sumOfSquares, @Param("min") Double min, @Param("max") Double max,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * Delete an aggregate that no longer covers any grade
+     */
+    @Modifying
+    @Query("DELETE FROM GradeAggregate a WHERE a.scope = :scope AND a.studentId = :studentId " +
+           "AND a.subjectId = :subjectId AND a.count <= 0")
+    int deleteIfEmpty(@Param("scope") GradeAggregateScope scope, @Param("studentId") Long studentId,
+                      @Param("subjectId") Long subjectId);
+
+    /**
+     * Delete every aggregate keyed by a student
+     */
+    @Modifying
+    @Query("DELETE FROM GradeAggregate a WHERE a.studentId = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+
+    /**
+     * Delete every aggregate keyed by a subject
+     */
+    @Modifying
+    @Query("DELETE FROM GradeAggregate a WHERE a.subjectId = :subjectId")
+    int deleteBySubjectId(@Param("subjectId") Long subjectId);
+}
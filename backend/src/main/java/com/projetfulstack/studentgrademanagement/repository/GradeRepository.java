@@ -1,16 +1,29 @@
 package com.projetfulstack.studentgrademanagement.repository;
 
+import com.projetfulstack.studentgrademanagement.dto.ExamTypeCount;
+import com.projetfulstack.studentgrademanagement.dto.GradeExportRow;
+import com.projetfulstack.studentgrademanagement.dto.GradeMinuteCount;
+import com.projetfulstack.studentgrademanagement.dto.GradeStatistics;
+import com.projetfulstack.studentgrademanagement.dto.GradeSummary;
+import com.projetfulstack.studentgrademanagement.dto.ReportCardRow;
+import com.projetfulstack.studentgrademanagement.entity.ExamType;
 import com.projetfulstack.studentgrademanagement.entity.Grade;
+import com.projetfulstack.studentgrademanagement.entity.GradeAggregate;
 import com.projetfulstack.studentgrademanagement.entity.Student;
 import com.projetfulstack.studentgrademanagement.entity.Subject;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Grade Repository Interface
@@ -22,6 +35,56 @@ import java.util.Optional;
 @Repository
 public interface GradeRepository extends JpaRepository<Grade, Long> {
 
+    /**
+     * Columns of GradeSummary; queries append their WHERE / ORDER BY clause
+     */
+    String GRADE_SUMMARY = "SELECT g.id AS id, g.gradeValue AS gradeValue, g.maxGrade AS maxGrade, g.examType AS examType, " +
+            "g.examDate AS examDate, g.comment AS comment, g.createdAt AS createdAt, g.student.id AS studentId, " +
+            "sub.id AS subjectId, sub.code AS subjectCode, sub.name AS subjectName, g.teacher.id AS teacherId, " +
+            "g.version AS version " +
+            "FROM Grade g JOIN g.subject sub ";
+
+    /**
+     * Grade value on the 0-20 scale; a maxGrade that is not positive counts as 20, as in GradeAverageService
+     */
+    String SCALED_GRADE = "(g.gradeValue * 20.0 / CASE WHEN g.maxGrade > 0 THEN g.maxGrade ELSE 20.0 END)";
+
+    /**
+     * Find the summary of one grade
+     */
+    @Query(GRADE_SUMMARY + "WHERE g.id = :id")
+    Optional<GradeSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Find the grade summaries of a student, latest first
+     */
+    @Query(GRADE_SUMMARY + "WHERE g.student.id = :studentId ORDER BY g.examDate DESC, g.id DESC")
+    List<GradeSummary> findSummariesByStudentId(@Param("studentId") Long studentId);
+
+    /**
+     * Find the latest grade summaries of a student, up to the page size
+     */
+    @Query(GRADE_SUMMARY + "WHERE g.student.id = :studentId ORDER BY g.examDate DESC, g.id DESC")
+    List<GradeSummary> findLatestSummariesByStudentId(@Param("studentId") Long studentId, Pageable pageable);
+
+    /**
+     * Find the grade summaries of a student in a subject, latest first
+     */
+    @Query(GRADE_SUMMARY + "WHERE g.student.id = :studentId AND sub.id = :subjectId ORDER BY g.examDate DESC, g.id DESC")
+    List<GradeSummary> findSummariesByStudentIdAndSubjectId(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId);
+
+    /**
+     * Find the grade summaries of a student given in a class of the given semester and academic year (any year
+     * when null), latest first; grades recorded before grades kept their class use the student's current class
+     */
+    @Query(GRADE_SUMMARY + "JOIN g.student st LEFT JOIN g.studentClass gc LEFT JOIN st.studentClass c " +
+           "WHERE st.id = :studentId AND COALESCE(gc.semester, c.semester) = :semester " +
+           "AND (:academicYear IS NULL OR COALESCE(gc.academicYear, c.academicYear) = :academicYear) " +
+           "ORDER BY g.examDate DESC, g.id DESC")
+    List<GradeSummary> findSummariesByStudentIdAndSemester(@Param("studentId") Long studentId,
+                                                           @Param("semester") Integer semester,
+                                                           @Param("academicYear") String academicYear);
+
     /**
      * Find grades by student
      */
@@ -90,4 +153,152 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
      */
     @Query("SELECT g FROM Grade g WHERE g.gradeValue BETWEEN :minGrade AND :maxGrade")
     List<Grade> findByGradeValueBetween(@Param("minGrade") Double minGrade, @Param("maxGrade") Double maxGrade);
+
+    /**
+     * Stream flat export rows, optionally restricted to the academic year of the class the grade was given in
+     * (the student's current class for grades recorded before grades kept their class).
+     * Must be consumed inside a transaction so the JDBC driver can honour the fetch size.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.projetfulstack.studentgrademanagement.dto.GradeExportRow(" +
+           "g.id, st.studentId, st.lastName, st.firstName, sub.code, sub.name, " +
+           "g.examType, g.examDate, g.gradeValue, g.maxGrade, t.employeeId, g.comment) " +
+           "FROM Grade g JOIN g.student st JOIN g.subject sub JOIN g.teacher t " +
+           "LEFT JOIN g.studentClass gc LEFT JOIN st.studentClass c " +
+           "WHERE (:academicYear IS NULL OR COALESCE(gc.academicYear, c.academicYear) = :academicYear) " +
+           "ORDER BY g.id")
+    Stream<GradeExportRow> streamExportRows(@Param("academicYear") String academicYear);
+
+    /**
+     * Find the grades given in a class, for every student, in one query, for report card generation;
+     * grades recorded before grades kept their class count for the student's current class
+     */
+    @Query("SELECT new com.projetfulstack.studentgrademanagement.dto.ReportCardRow(" +
+           "st.id, sub.id, sub.code, sub.name, sub.coefficient, sub.credits, g.gradeValue, g.maxGrade, g.examType) " +
+           "FROM Grade g JOIN g.student st JOIN g.subject sub " +
+           "WHERE g.studentClass.id = :classId OR (g.studentClass IS NULL AND st.studentClass.id = :classId) " +
+           "ORDER BY st.id, sub.name")
+    List<ReportCardRow> findReportCardRowsByClassId(@Param("classId") Long classId);
+
+    /**
+     * Find the grades one student was given in a class, like findReportCardRowsByClassId, for class rankings
+     */
+    @Query("SELECT new com.projetfulstack.studentgrademanagement.dto.ReportCardRow(" +
+           "st.id, sub.id, sub.code, sub.name, sub.coefficient, sub.credits, g.gradeValue, g.maxGrade, g.examType) " +
+           "FROM Grade g JOIN g.student st JOIN g.subject sub " +
+           "WHERE st.id = :studentId AND (g.studentClass.id = :classId OR (g.studentClass IS NULL AND st.studentClass.id = :classId)) " +
+           "ORDER BY sub.name")
+    List<ReportCardRow> findReportCardRowsByStudentIdAndClassId(@Param("studentId") Long studentId, @Param("classId") Long classId);
+
+    /**
+     * Find the grades of one student with their subject data, for average computation
+     */
+    @Query("SELECT new com.projetfulstack.studentgrademanagement.dto.ReportCardRow(" +
+           "st.id, sub.id, sub.code, sub.name, sub.coefficient, sub.credits, g.gradeValue, g.maxGrade, g.examType) " +
+           "FROM Grade g JOIN g.student st JOIN g.subject sub " +
+           "WHERE st.id = :studentId " +
+           "ORDER BY sub.name")
+    List<ReportCardRow> findReportCardRowsByStudentId(@Param("studentId") Long studentId);
+
+    /**
+     * Find every grade of a subject with its subject data, grouped by student, for subject rankings
+     */
+    @Query("SELECT new com.projetfulstack.studentgrademanagement.dto.ReportCardRow(" +
+           "st.id, sub.id, sub.code, sub.name, sub.coefficient, sub.credits, g.gradeValue, g.maxGrade, g.examType) " +
+           "FROM Grade g JOIN g.student st JOIN g.subject sub " +
+           "WHERE sub.id = :subjectId " +
+           "ORDER BY st.id")
+    List<ReportCardRow> findReportCardRowsBySubjectId(@Param("subjectId") Long subjectId);
+
+    /**
+     * Count, sum, sum of squares, min, max and a 2-point histogram of a subject's grades in one statement.
+     * The histogram puts each grade on the 0-20 scale (SCALED_GRADE). Exam type and exam date bounds are optional filters.
+     */
+    @Query("SELECT new com.projetfulstack.studentgrademanagement.dto.GradeStatistics(" +
+           "COUNT(g), SUM(g.gradeValue), SUM(g.gradeValue * g.gradeValue), MIN(g.gradeValue), MAX(g.gradeValue), " +
+           "SUM(CASE WHEN " + SCALED_GRADE + " < 2 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN " + SCALED_GRADE + " >= 2 AND " + SCALED_GRADE + " < 4 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN " + SCALED_GRADE + " >= 4 AND " + SCALED_GRADE + " < 6 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN " + SCALED_GRADE + " >= 6 AND " + SCALED_GRADE + " < 8 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN " + SCALED_GRADE + " >= 8 AND " + SCALED_GRADE + " < 10 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN " + SCALED_GRADE + " >= 10 AND " + SCALED_GRADE + " < 12 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN " + SCALED_GRADE + " >= 12 AND " + SCALED_GRADE + " < 14 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN " + SCALED_GRADE + " >= 14 AND " + SCALED_GRADE + " < 16 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN " + SCALED_GRADE + " >= 16 AND " + SCALED_GRADE + " < 18 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN " + SCALED_GRADE + " >= 18 THEN 1 ELSE 0 END)) " +
+           "FROM Grade g WHERE g.subject.id = :subjectId " +
+           "AND (:examType IS NULL OR g.examType = :examType) " +
+           "AND (:fromDate IS NULL OR g.examDate >= :fromDate) " +
+           "AND (:toDate IS NULL OR g.examDate <= :toDate)")
+    GradeStatistics findSubjectStatistics(@Param("subjectId") Long subjectId,
+                                          @Param("examType") ExamType examType,
+                                          @Param("fromDate") LocalDateTime fromDate,
+                                          @Param("toDate") LocalDateTime toDate);
+
+    /**
+     * Count, sum, sum of squares, min and max of a student's grades in a subject
+     */
+    @Query("SELECT new com.projetfulstack.studentgrademanagement.dto.GradeStatistics(" +
+           "COUNT(g), SUM(g.gradeValue), SUM(g.gradeValue * g.gradeValue), MIN(g.gradeValue), MAX(g.gradeValue)) " +
+           "FROM Grade g WHERE g.student.id = :studentId AND g.subject.id = :subjectId")
+    GradeStatistics findStatisticsByStudentAndSubject(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId);
+
+    /**
+     * Count, sum, sum of squares, min and max of a student's grades
+     */
+    @Query("SELECT new com.projetfulstack.studentgrademanagement.dto.GradeStatistics(" +
+           "COUNT(g), SUM(g.gradeValue), SUM(g.gradeValue * g.gradeValue), MIN(g.gradeValue), MAX(g.gradeValue)) " +
+           "FROM Grade g WHERE g.student.id = :studentId")
+    GradeStatistics findStatisticsByStudent(@Param("studentId") Long studentId);
+
+    /**
+     * Count, sum, sum of squares, min and max of a subject's grades
+     */
+    @Query("SELECT new com.projetfulstack.studentgrademanagement.dto.GradeStatistics(" +
+           "COUNT(g), SUM(g.gradeValue), SUM(g.gradeValue * g.gradeValue), MIN(g.gradeValue), MAX(g.gradeValue)) " +
+           "FROM Grade g WHERE g.subject.id = :subjectId")
+    GradeStatistics findStatisticsBySubject(@Param("subjectId") Long subjectId);
+
+    /**
+     * Subject statistics ignoring one student's grades (used before that student is deleted)
+     */
+    @Query("SELECT new com.projetfulstack.studentgrademanagement.dto.GradeStatistics(" +
+           "COUNT(g), SUM(g.gradeValue), SUM(g.gradeValue * g.gradeValue), MIN(g.gradeValue), MAX(g.gradeValue)) " +
+           "FROM Grade g WHERE g.subject.id = :subjectId AND g.student.id <> :studentId")
+    GradeStatistics findStatisticsBySubjectExcludingStudent(@Param("subjectId") Long subjectId, @Param("studentId") Long studentId);
+
+    /**
+     * Student statistics ignoring one subject's grades (used before that subject is deleted)
+     */
+    @Query("SELECT new com.projetfulstack.studentgrademanagement.dto.GradeStatistics(" +
+           "COUNT(g), SUM(g.gradeValue), SUM(g.gradeValue * g.gradeValue), MIN(g.gradeValue), MAX(g.gradeValue)) " +
+           "FROM Grade g WHERE g.student.id = :studentId AND g.subject.id <> :subjectId")
+    GradeStatistics findStatisticsByStudentExcludingSubject(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId);
+
+    /**
+     * Per student and subject running sums of every grade, used to rebuild the aggregate store
+     */
+    @Query("SELECT new com.projetfulstack.studentgrademanagement.entity.GradeAggregate(" +
+           "g.student.id, g.subject.id, COUNT(g), SUM(g.gradeValue), SUM(g.gradeValue * g.gradeValue), " +
+           "MIN(g.gradeValue), MAX(g.gradeValue)) " +
+           "FROM Grade g GROUP BY g.student.id, g.subject.id")
+    List<GradeAggregate> computeStudentSubjectAggregates();
+
+    /**
+     * Number of grades per exam type
+     */
+    @Query("SELECT g.examType AS examType, COUNT(g) AS total FROM Grade g GROUP BY g.examType")
+    List<ExamTypeCount> countByExamType();
+
+    /**
+     * Number of grades created per minute since a point in time
+     */
+    @Query("SELECT YEAR(g.createdAt) AS year, MONTH(g.createdAt) AS month, DAY(g.createdAt) AS day, " +
+           "HOUR(g.createdAt) AS hour, MINUTE(g.createdAt) AS minute, COUNT(g) AS total " +
+           "FROM Grade g WHERE g.createdAt >= :since " +
+           "GROUP BY YEAR(g.createdAt), MONTH(g.createdAt), DAY(g.createdAt), HOUR(g.createdAt), MINUTE(g.createdAt)")
+    List<GradeMinuteCount> countCreatedPerMinuteSince(@Param("since") LocalDateTime since);
 }
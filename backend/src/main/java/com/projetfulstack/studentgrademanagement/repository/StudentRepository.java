@@ -1,11 +1,17 @@
 package com.projetfulstack.studentgrademanagement.repository;
 
+import com.projetfulstack.studentgrademanagement.dto.AutocompleteSource;
+import com.projetfulstack.studentgrademanagement.dto.KeysetRequest;
+import com.projetfulstack.studentgrademanagement.dto.StudentSummary;
 import com.projetfulstack.studentgrademanagement.entity.Student;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +25,15 @@ import java.util.Optional;
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
 
+    /**
+     * Columns of StudentSummary; queries append their WHERE / ORDER BY clause
+     */
+    String STUDENT_SUMMARY = "SELECT s.id AS id, s.firstName AS firstName, s.lastName AS lastName, s.email AS email, " +
+            "s.role AS role, s.isActive AS isActive, s.createdAt AS createdAt, s.studentId AS studentId, " +
+            "s.dateOfBirth AS dateOfBirth, s.address AS address, s.phoneNumber AS phoneNumber, " +
+            "s.enrollmentDate AS enrollmentDate, s.graduationDate AS graduationDate, " +
+            "c.id AS classId, c.name AS className FROM Student s LEFT JOIN s.studentClass c ";
+
     /**
      * Find student by student ID
      */
@@ -34,6 +49,12 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      */
     List<Student> findByStudentClassId(Long classId);
 
+    /**
+     * Find the class id of a student
+     */
+    @Query("SELECT s.studentClass.id FROM Student s WHERE s.id = :studentId AND s.studentClass IS NOT NULL")
+    Optional<Long> findClassIdById(@Param("studentId") Long studentId);
+
     /**
      * Find active students
      */
@@ -47,13 +68,22 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     List<Student> findByClassIdAndIsActive(@Param("classId") Long classId, @Param("isActive") Boolean isActive);
 
     /**
-     * Search students by name
+     * Ids of the students matching a query by name, email or student ID, most similar first (PostgreSQL with pg_trgm)
+     */
+    @Query(value = "SELECT id FROM (" +
+            UserRepository.TRIGRAM_MATCHES + "AND role = 'STUDENT' " +
+            "UNION ALL " +
+            "SELECT user_id, word_similarity(:query, lower(student_id)) FROM students " +
+            "WHERE lower(student_id) LIKE :pattern OR :query <% lower(student_id)" +
+            ") matches GROUP BY id ORDER BY MAX(score) DESC, id LIMIT :limit", nativeQuery = true)
+    List<Long> searchIdsBySimilarity(@Param("query") String query, @Param("pattern") String pattern, @Param("limit") int limit);
+
+    /**
+     * Summaries of the students whose name, email or student ID contains a LIKE pattern, by name (fallback without pg_trgm)
      */
-    @Query("SELECT s FROM Student s WHERE " +
-           "(LOWER(s.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
-           "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
-           "LOWER(s.studentId) LIKE LOWER(CONCAT('%', :name, '%')))")
-    List<Student> findByNameContaining(@Param("name") String name);
+    @Query(STUDENT_SUMMARY + "WHERE LOWER(CONCAT(s.firstName, ' ', s.lastName, ' ', s.email)) LIKE :pattern ESCAPE '\\' " +
+           "OR LOWER(s.studentId) LIKE :pattern ESCAPE '\\' ORDER BY s.lastName, s.firstName, s.id")
+    List<StudentSummary> searchSummariesContaining(@Param("pattern") String pattern, Pageable pageable);
 
     /**
      * Find students by academic year
@@ -72,4 +102,64 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      */
     @Query("SELECT s FROM Student s WHERE s.studentClass.academicYear = :academicYear AND s.studentClass.semester = :semester")
     List<Student> findByAcademicYearAndSemester(@Param("academicYear") String academicYear, @Param("semester") Integer semester);
+
+    /**
+     * Find the summary of one student
+     */
+    @Query(STUDENT_SUMMARY + "WHERE s.id = :id")
+    Optional<StudentSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Find the summaries of every student
+     */
+    @Query(STUDENT_SUMMARY + "ORDER BY s.lastName, s.id")
+    List<StudentSummary> findAllSummaries();
+
+    /**
+     * Find the summaries of some students
+     */
+    @Query(STUDENT_SUMMARY + "WHERE s.id IN :ids ORDER BY s.lastName, s.id")
+    List<StudentSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the ids of the students enrolled in a subject through the subjects of their class
+     */
+    @Query("SELECT s.id FROM Student s JOIN s.studentClass c JOIN c.subjects sub WHERE sub.id = :subjectId")
+    List<Long> findIdsBySubjectId(@Param("subjectId") Long subjectId);
+
+    /**
+     * Find the first page of students in keyset order (Slice: no count query)
+     */
+    @Query(STUDENT_SUMMARY)
+    Slice<StudentSummary> findSummaryPage(Pageable pageable);
+
+    /**
+     * Find the page of students after an id
+     */
+    @Query(STUDENT_SUMMARY + "WHERE s.id > :id")
+    Slice<StudentSummary> findSummaryPageAfterId(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find the page of students after a (last name, id) position
+     */
+    @Query(STUDENT_SUMMARY + "WHERE s.lastName > :lastName OR (s.lastName = :lastName AND s.id > :id)")
+    Slice<StudentSummary> findSummaryPageAfterLastName(@Param("lastName") String lastName, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find one keyset page of students
+     */
+    default Slice<StudentSummary> findKeysetPage(KeysetRequest request) {
+        if (!request.hasCursor()) {
+            return findSummaryPage(request.toPageable());
+        }
+        return request.isSortedByKey()
+                ? findSummaryPageAfterLastName(request.getAfterKey(), request.getAfterId(), request.toPageable())
+                : findSummaryPageAfterId(request.getAfterId(), request.toPageable());
+    }
+
+    /**
+     * Names and student IDs of every student, for the autocomplete index
+     */
+    @Query("SELECT s.id AS id, CONCAT(s.firstName, ' ', s.lastName) AS name, s.studentId AS code FROM Student s")
+    List<AutocompleteSource> findAutocompleteSources();
 }
@@ -1,11 +1,20 @@
 package com.projetfulstack.studentgrademanagement.repository;
 
+import com.projetfulstack.studentgrademanagement.dto.AutocompleteSource;
+import com.projetfulstack.studentgrademanagement.dto.KeysetRequest;
+import com.projetfulstack.studentgrademanagement.dto.SubjectSummary;
 import com.projetfulstack.studentgrademanagement.entity.Subject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,8 +29,21 @@ import java.util.Optional;
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
 
     /**
-     * Find subject by code
+     * Columns of SubjectSummary; queries append their WHERE / ORDER BY clause
      */
+    String SUBJECT_SUMMARY = "SELECT s.id AS id, s.name AS name, s.code AS code, s.description AS description, " +
+            "s.coefficient AS coefficient, s.credits AS credits, s.isActive AS isActive, " +
+            "s.teacher.id AS teacherId FROM Subject s ";
+
+    /**
+     * Lower-cased search text of a subjects row; the trigram index is built on this exact expression
+     */
+    String SEARCH_TEXT = "lower(name || ' ' || code)";
+
+    /**
+     * Find subject by code (query cache: the id is resolved from the cached result, the subject from the entity cache)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Subject> findByCode(String code);
 
     /**
@@ -30,9 +52,10 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
     Boolean existsByCode(String code);
 
     /**
-     * Find active subjects
+     * Find active subjects (query cache, invalidated by any write to the subjects table)
      */
     @Query("SELECT s FROM Subject s WHERE s.isActive = true")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Subject> findActiveSubjects();
 
     /**
@@ -47,12 +70,23 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
     List<Subject> findActiveSubjectsByTeacher(@Param("teacherId") Long teacherId);
 
     /**
-     * Search subjects by name or code
+     * Ids of the subjects matching a query by name or code, most similar first (PostgreSQL with pg_trgm)
      */
-    @Query("SELECT s FROM Subject s WHERE " +
-           "(LOWER(s.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(s.code) LIKE LOWER(CONCAT('%', :query, '%')))")
-    List<Subject> findByNameOrCodeContaining(@Param("query") String query);
+    @Query(value = "SELECT id FROM subjects WHERE " + SEARCH_TEXT + " LIKE :pattern OR :query <% " + SEARCH_TEXT +
+            " ORDER BY word_similarity(:query, " + SEARCH_TEXT + ") DESC, id LIMIT :limit", nativeQuery = true)
+    List<Long> searchIdsBySimilarity(@Param("query") String query, @Param("pattern") String pattern, @Param("limit") int limit);
+
+    /**
+     * Summaries of the subjects whose name or code contains a LIKE pattern, by name (fallback without pg_trgm)
+     */
+    @Query(SUBJECT_SUMMARY + "WHERE LOWER(CONCAT(s.name, ' ', s.code)) LIKE :pattern ESCAPE '\\' ORDER BY s.name, s.id")
+    List<SubjectSummary> searchSummariesContaining(@Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Find the summaries of some subjects
+     */
+    @Query(SUBJECT_SUMMARY + "WHERE s.id IN :ids")
+    List<SubjectSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 
     /**
      * Find subjects by coefficient range
@@ -69,4 +103,46 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
      * Find subjects by credits and active status
      */
     List<Subject> findByCreditsAndIsActive(Integer credits, Boolean isActive);
+
+    /**
+     * Find the summaries of the subjects taught by a teacher
+     */
+    @Query(SUBJECT_SUMMARY + "WHERE s.teacher.id = :teacherId ORDER BY s.name")
+    List<SubjectSummary> findSummariesByTeacherId(@Param("teacherId") Long teacherId);
+
+    /**
+     * Find the first page of subjects in keyset order (Slice: no count query)
+     */
+    @Query(SUBJECT_SUMMARY)
+    Slice<SubjectSummary> findSummaryPage(Pageable pageable);
+
+    /**
+     * Find the page of subjects after an id
+     */
+    @Query(SUBJECT_SUMMARY + "WHERE s.id > :id")
+    Slice<SubjectSummary> findSummaryPageAfterId(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find the page of subjects after a (name, id) position
+     */
+    @Query(SUBJECT_SUMMARY + "WHERE s.name > :name OR (s.name = :name AND s.id > :id)")
+    Slice<SubjectSummary> findSummaryPageAfterName(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find one keyset page of subjects
+     */
+    default Slice<SubjectSummary> findKeysetPage(KeysetRequest request) {
+        if (!request.hasCursor()) {
+            return findSummaryPage(request.toPageable());
+        }
+        return request.isSortedByKey()
+                ? findSummaryPageAfterName(request.getAfterKey(), request.getAfterId(), request.toPageable())
+                : findSummaryPageAfterId(request.getAfterId(), request.toPageable());
+    }
+
+    /**
+     * Names and codes of every subject, for the autocomplete index
+     */
+    @Query("SELECT s.id AS id, s.name AS name, s.code AS code FROM Subject s")
+    List<AutocompleteSource> findAutocompleteSources();
 }
@@ -1,11 +1,17 @@
 package com.projetfulstack.studentgrademanagement.repository;
 
+import com.projetfulstack.studentgrademanagement.dto.AutocompleteSource;
+import com.projetfulstack.studentgrademanagement.dto.KeysetRequest;
+import com.projetfulstack.studentgrademanagement.dto.TeacherSummary;
 import com.projetfulstack.studentgrademanagement.entity.Teacher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +25,15 @@ import java.util.Optional;
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
 
+    /**
+     * Columns of TeacherSummary; queries append their WHERE / ORDER BY clause
+     */
+    String TEACHER_SUMMARY = "SELECT t.id AS id, t.firstName AS firstName, t.lastName AS lastName, t.email AS email, " +
+            "t.role AS role, t.isActive AS isActive, t.createdAt AS createdAt, t.employeeId AS employeeId, " +
+            "t.dateOfBirth AS dateOfBirth, t.address AS address, t.phoneNumber AS phoneNumber, " +
+            "t.department AS department, t.specialization AS specialization, t.hireDate AS hireDate, " +
+            "t.salary AS salary FROM Teacher t ";
+
     /**
      * Find teacher by employee ID
      */
@@ -47,13 +62,28 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     List<Teacher> findByDepartmentAndIsActive(@Param("department") String department, @Param("isActive") Boolean isActive);
 
     /**
-     * Search teachers by name or employee ID
+     * Ids of the teachers matching a query by name, email or employee ID, most similar first (PostgreSQL with pg_trgm)
+     */
+    @Query(value = "SELECT id FROM (" +
+            UserRepository.TRIGRAM_MATCHES + "AND role = 'TEACHER' " +
+            "UNION ALL " +
+            "SELECT user_id, word_similarity(:query, lower(employee_id)) FROM teachers " +
+            "WHERE lower(employee_id) LIKE :pattern OR :query <% lower(employee_id)" +
+            ") matches GROUP BY id ORDER BY MAX(score) DESC, id LIMIT :limit", nativeQuery = true)
+    List<Long> searchIdsBySimilarity(@Param("query") String query, @Param("pattern") String pattern, @Param("limit") int limit);
+
+    /**
+     * Summaries of the teachers whose name, email or employee ID contains a LIKE pattern, by name (fallback without pg_trgm)
+     */
+    @Query(TEACHER_SUMMARY + "WHERE LOWER(CONCAT(t.firstName, ' ', t.lastName, ' ', t.email)) LIKE :pattern ESCAPE '\\' " +
+           "OR LOWER(t.employeeId) LIKE :pattern ESCAPE '\\' ORDER BY t.lastName, t.firstName, t.id")
+    List<TeacherSummary> searchSummariesContaining(@Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Find the summaries of some teachers
      */
-    @Query("SELECT t FROM Teacher t WHERE " +
-           "(LOWER(t.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
-           "LOWER(t.lastName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
-           "LOWER(t.employeeId) LIKE LOWER(CONCAT('%', :name, '%')))")
-    List<Teacher> findByNameContaining(@Param("name") String name);
+    @Query(TEACHER_SUMMARY + "WHERE t.id IN :ids")
+    List<TeacherSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 
     /**
      * Find teachers by specialization
@@ -64,4 +94,46 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
      * Find teachers by department and specialization
      */
     List<Teacher> findByDepartmentAndSpecialization(String department, String specialization);
+
+    /**
+     * Find the summary of one teacher
+     */
+    @Query(TEACHER_SUMMARY + "WHERE t.id = :id")
+    Optional<TeacherSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Find the first page of teachers in keyset order (Slice: no count query)
+     */
+    @Query(TEACHER_SUMMARY)
+    Slice<TeacherSummary> findSummaryPage(Pageable pageable);
+
+    /**
+     * Find the page of teachers after an id
+     */
+    @Query(TEACHER_SUMMARY + "WHERE t.id > :id")
+    Slice<TeacherSummary> findSummaryPageAfterId(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find the page of teachers after a (last name, id) position
+     */
+    @Query(TEACHER_SUMMARY + "WHERE t.lastName > :lastName OR (t.lastName = :lastName AND t.id > :id)")
+    Slice<TeacherSummary> findSummaryPageAfterLastName(@Param("lastName") String lastName, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find one keyset page of teachers
+     */
+    default Slice<TeacherSummary> findKeysetPage(KeysetRequest request) {
+        if (!request.hasCursor()) {
+            return findSummaryPage(request.toPageable());
+        }
+        return request.isSortedByKey()
+                ? findSummaryPageAfterLastName(request.getAfterKey(), request.getAfterId(), request.toPageable())
+                : findSummaryPageAfterId(request.getAfterId(), request.toPageable());
+    }
+
+    /**
+     * Names and employee IDs of every teacher, for the autocomplete index
+     */
+    @Query("SELECT t.id AS id, CONCAT(t.firstName, ' ', t.lastName) AS name, t.employeeId AS code FROM Teacher t")
+    List<AutocompleteSource> findAutocompleteSources();
 }
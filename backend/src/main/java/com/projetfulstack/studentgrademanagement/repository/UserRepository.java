@@ -1,12 +1,25 @@
 package com.projetfulstack.studentgrademanagement.repository;
 
+import com.projetfulstack.studentgrademanagement.dto.KeysetRequest;
+import com.projetfulstack.studentgrademanagement.dto.RegistrationConflicts;
+import com.projetfulstack.studentgrademanagement.dto.TakenRegistrationKey;
+import com.projetfulstack.studentgrademanagement.dto.UserCount;
+import com.projetfulstack.studentgrademanagement.dto.UserSummary;
 import com.projetfulstack.studentgrademanagement.entity.User;
 import com.projetfulstack.studentgrademanagement.entity.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +33,23 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Columns of UserSummary; queries append their WHERE / ORDER BY clause
+     */
+    String USER_SUMMARY = "SELECT u.id AS id, u.firstName AS firstName, u.lastName AS lastName, u.email AS email, " +
+            "u.role AS role, u.isActive AS isActive, u.createdAt AS createdAt FROM User u ";
+
+    /**
+     * Lower-cased search text of a users row; the trigram index is built on this exact expression
+     */
+    String SEARCH_TEXT = "lower(first_name || ' ' || last_name || ' ' || email)";
+
+    /**
+     * (id, score) of the users rows matching a query by substring or trigram similarity; queries may append AND conditions
+     */
+    String TRIGRAM_MATCHES = "SELECT id, word_similarity(:query, " + SEARCH_TEXT + ") AS score FROM users " +
+            "WHERE (" + SEARCH_TEXT + " LIKE :pattern OR :query <% " + SEARCH_TEXT + ") ";
+
     /**
      * Find user by email
      */
@@ -47,12 +77,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRoleAndIsActive(UserRole role, Boolean isActive);
 
     /**
-     * Search users by name (first name or last name)
+     * Ids of the users matching a query, most similar first (PostgreSQL with pg_trgm)
      */
-    @Query("SELECT u FROM User u WHERE " +
-           "(LOWER(u.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
-           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :name, '%')))")
-    List<User> findByNameContaining(@Param("name") String name);
+    @Query(value = "SELECT id FROM (" + TRIGRAM_MATCHES + ") matches ORDER BY score DESC, id LIMIT :limit", nativeQuery = true)
+    List<Long> searchIdsBySimilarity(@Param("query") String query, @Param("pattern") String pattern, @Param("limit") int limit);
+
+    /**
+     * Summaries of the users whose name or email contains a LIKE pattern, by name (fallback without pg_trgm)
+     */
+    @Query(USER_SUMMARY + "WHERE LOWER(CONCAT(u.firstName, ' ', u.lastName, ' ', u.email)) LIKE :pattern ESCAPE '\\' " +
+           "ORDER BY u.lastName, u.firstName, u.id")
+    List<UserSummary> searchSummariesContaining(@Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Find the summaries of some users
+     */
+    @Query(USER_SUMMARY + "WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 
     /**
      * Find users by role and name
@@ -61,4 +102,97 @@ public interface UserRepository extends JpaRepository<User, Long> {
            "(LOWER(u.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :name, '%')))")
     List<User> findByRoleAndNameContaining(@Param("role") UserRole role, @Param("name") String name);
+
+    /**
+     * Which of an email, student id and employee id are already registered, in one query; null keys are never taken
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM users WHERE email = :email) AS emailTaken, " +
+                   "EXISTS (SELECT 1 FROM students WHERE student_id = :studentId) AS studentIdTaken, " +
+                   "EXISTS (SELECT 1 FROM teachers WHERE employee_id = :employeeId) AS employeeIdTaken",
+           nativeQuery = true)
+    RegistrationConflicts findRegistrationConflicts(@Param("email") String email,
+                                                    @Param("studentId") String studentId,
+                                                    @Param("employeeId") String employeeId);
+
+    /**
+     * Emails and student ids of a registration batch that already exist, in one query
+     */
+    @Query(value = "SELECT 'email' AS kind, email AS takenKey FROM users WHERE email IN (:emails) " +
+                   "UNION ALL " +
+                   "SELECT 'studentId' AS kind, student_id AS takenKey FROM students WHERE student_id IN (:studentIds)",
+           nativeQuery = true)
+    List<TakenRegistrationKey> findTakenStudentRegistrationKeys(@Param("emails") Collection<String> emails,
+                                                                @Param("studentIds") Collection<String> studentIds);
+
+    /**
+     * Emails and employee ids of a registration batch that already exist, in one query
+     */
+    @Query(value = "SELECT 'email' AS kind, email AS takenKey FROM users WHERE email IN (:emails) " +
+                   "UNION ALL " +
+                   "SELECT 'employeeId' AS kind, employee_id AS takenKey FROM teachers WHERE employee_id IN (:employeeIds)",
+           nativeQuery = true)
+    List<TakenRegistrationKey> findTakenTeacherRegistrationKeys(@Param("emails") Collection<String> emails,
+                                                                @Param("employeeIds") Collection<String> employeeIds);
+
+    /**
+     * Token version of an active user; empty when the user is deleted or deactivated
+     */
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id AND u.isActive = true")
+    Optional<Integer> findActiveTokenVersionById(@Param("id") Long id);
+
+    /**
+     * Bump the token version of a user, revoking every token issued before.
+     * Native so that the update touches the users table only, not the joined subclass tables.
+     * The users space keeps Hibernate from clearing the whole second-level cache after the update.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "UPDATE users SET token_version = token_version + 1 WHERE id = :id", nativeQuery = true)
+    int incrementTokenVersion(@Param("id") Long id);
+
+    /**
+     * Replace the stored password hash of a user
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "UPDATE users SET password = :password WHERE id = :id", nativeQuery = true)
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    /**
+     * Find the first page of users in keyset order (Slice: no count query)
+     */
+    @Query(USER_SUMMARY)
+    Slice<UserSummary> findSummaryPage(Pageable pageable);
+
+    /**
+     * Find the page of users after an id
+     */
+    @Query(USER_SUMMARY + "WHERE u.id > :id")
+    Slice<UserSummary> findSummaryPageAfterId(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find the page of users after a (last name, id) position
+     */
+    @Query(USER_SUMMARY + "WHERE u.lastName > :lastName OR (u.lastName = :lastName AND u.id > :id)")
+    Slice<UserSummary> findSummaryPageAfterLastName(@Param("lastName") String lastName, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Number of users per role and activation status
+     */
+    @Query("SELECT u.role AS role, u.isActive AS active, COUNT(u) AS total FROM User u GROUP BY u.role, u.isActive")
+    List<UserCount> countByRoleAndActive();
+
+    /**
+     * Find one keyset page of users
+     */
+    default Slice<UserSummary> findKeysetPage(KeysetRequest request) {
+        if (!request.hasCursor()) {
+            return findSummaryPage(request.toPageable());
+        }
+        return request.isSortedByKey()
+                ? findSummaryPageAfterLastName(request.getAfterKey(), request.getAfterId(), request.toPageable())
+                : findSummaryPageAfterId(request.getAfterId(), request.toPageable());
+    }
 }
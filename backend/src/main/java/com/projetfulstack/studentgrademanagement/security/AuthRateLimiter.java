@@ -0,0 +1,131 @@
+package com.projetfulstack.studentgrademanagement.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Authentication Rate Limiter
+ * Token buckets per client IP and per target email for the login and registration endpoints.
+ * Each key map is bounded: past max-entries, idle (full) buckets are dropped first, then arbitrary ones.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Component
+public class AuthRateLimiter {
+
+    @Value("${app.security.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.security.rate-limit.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${app.security.rate-limit.ip.refill-per-minute:20}")
+    private int ipRefillPerMinute;
+
+    @Value("${app.security.rate-limit.email.capacity:5}")
+    private int emailCapacity;
+
+    @Value("${app.security.rate-limit.email.refill-per-minute:2}")
+    private int emailRefillPerMinute;
+
+    @Value("${app.security.rate-limit.max-entries:100000}")
+    private int maxEntries;
+
+    private final Map<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> emailBuckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder ipRejections = new LongAdder();
+    private final LongAdder emailRejections = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Take a token for the client IP and, when known, for the target email
+     *
+     * @return 0 when the request may proceed, otherwise the nanoseconds to wait before retrying
+     */
+    public long tryAcquire(String ip, String email) {
+        long now = System.nanoTime();
+        long wait = bucket(ipBuckets, ip, ipCapacity, ipRefillPerMinute, now).tryConsume(now);
+        if (wait > 0) {
+            ipRejections.increment();
+            return wait;
+        }
+        if (email != null) {
+            wait = bucket(emailBuckets, email, emailCapacity, emailRefillPerMinute, now).tryConsume(now);
+            if (wait > 0) {
+                emailRejections.increment();
+                return wait;
+            }
+        }
+        allowed.increment();
+        return 0;
+    }
+
+    /**
+     * Allowed requests, rejections by key type, evictions and tracked keys
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("allowed", allowed.sum());
+        statistics.put("ipRejections", ipRejections.sum());
+        statistics.put("emailRejections", emailRejections.sum());
+        statistics.put("evictions", evictions.sum());
+        statistics.put("trackedIps", ipBuckets.size());
+        statistics.put("trackedEmails", emailBuckets.size());
+        return statistics;
+    }
+
+    private TokenBucket bucket(Map<String, TokenBucket> buckets, String key, int capacity, int refillPerMinute, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxEntries) {
+            evict(buckets, now);
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, TimeUnit.MINUTES.toNanos(1) / Math.max(refillPerMinute, 1), now));
+    }
+
+    /**
+     * Bring a key map back under 90% of max-entries; one sweep at a time, others carry on
+     */
+    private void evict(Map<String, TokenBucket> buckets, long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = maxEntries - maxEntries / 10;
+            Iterator<TokenBucket> idle = buckets.values().iterator();
+            while (idle.hasNext() && buckets.size() > target) {
+                if (idle.next().isIdle(now)) {
+                    idle.remove();
+                    evictions.increment();
+                }
+            }
+            Iterator<TokenBucket> any = buckets.values().iterator();
+            while (any.hasNext() && buckets.size() > target) {
+                any.next();
+                any.remove();
+                evictions.increment();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.projetfulstack.studentgrademanagement.security;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded Password Encoder
+ * Runs hashing and verification of a delegate encoder on a dedicated bounded executor, so a burst of
+ * logins uses at most the executor's workers and excess attempts fail fast with TaskRejectedException
+ * instead of starving request threads.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ThreadPoolTaskExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Cheap check of the stored hash's cost; runs on the caller
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Hash latency, queue wait, queue depth and rejections
+     */
+    public Map<String, Object> getStatistics() {
+        long count = operations.sum();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("workers", executor.getMaxPoolSize());
+        statistics.put("active", executor.getActiveCount());
+        statistics.put("queueDepth", executor.getThreadPoolExecutor().getQueue().size());
+        statistics.put("queueCapacity", executor.getQueueCapacity());
+        statistics.put("operations", count);
+        statistics.put("rejections", rejections.sum());
+        statistics.put("averageHashMs", count > 0 ? totalHashNanos.sum() / 1e6 / count : 0.0);
+        statistics.put("maxHashMs", maxHashNanos.get() / 1e6);
+        statistics.put("averageWaitMs", count > 0 ? totalWaitNanos.sum() / 1e6 / count : 0.0);
+        return statistics;
+    }
+
+    /**
+     * Hash many passwords (bulk registration), keeping at most half of the workers busy so logins still
+     * get through; when the queue is full the caller hashes the password itself instead of failing
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int window = Math.max(1, executor.getMaxPoolSize() / 2);
+        String[] encoded = new String[rawPasswords.size()];
+        Deque<Integer> pendingIndexes = new ArrayDeque<>(window);
+        Deque<Future<String>> pending = new ArrayDeque<>(window);
+
+        for (int i = 0; i < rawPasswords.size(); i++) {
+            if (pending.size() >= window) {
+                encoded[pendingIndexes.poll()] = await(pending.poll());
+            }
+            CharSequence rawPassword = rawPasswords.get(i);
+            try {
+                pending.add(submit(() -> delegate.encode(rawPassword)));
+                pendingIndexes.add(i);
+            } catch (TaskRejectedException ex) {
+                encoded[i] = delegate.encode(rawPassword);
+            }
+        }
+        while (!pending.isEmpty()) {
+            encoded[pendingIndexes.poll()] = await(pending.poll());
+        }
+        return Arrays.asList(encoded);
+    }
+
+    private <T> T run(Callable<T> hashing) {
+        return await(submit(hashing));
+    }
+
+    private <T> Future<T> submit(Callable<T> hashing) {
+        long submitted = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return hashing.call();
+                } finally {
+                    long elapsed = System.nanoTime() - started;
+                    operations.increment();
+                    totalHashNanos.add(elapsed);
+                    maxHashNanos.accumulate(elapsed);
+                    totalWaitNanos.add(started - submitted);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            rejections.increment();
+            throw ex;
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+}
@@ -4,10 +4,10 @@ import com.projetfulstack.studentgrademanagement.entity.User;
 import com.projetfulstack.studentgrademanagement.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Custom User Details Service
@@ -17,32 +17,51 @@ import org.springframework.transaction.annotation.Transactional;
  * @version 1.0.0
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    /**
+     * Served from the principal cache; no transaction is opened on a hit
+     */
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
         // Let people login with either username or email
-        User user = userRepository.findByEmail(usernameOrEmail)
-                .orElseThrow(() -> 
-                    new UsernameNotFoundException("User not found with username or email : " + usernameOrEmail)
-                );
+        return principalCache.getByEmail(usernameOrEmail, () -> {
+            User user = userRepository.findByEmail(usernameOrEmail)
+                    .orElseThrow(() -> 
+                        new UsernameNotFoundException("User not found with username or email : " + usernameOrEmail)
+                    );
 
-        return UserPrincipal.create(user);
+            return UserPrincipal.create(user);
+        });
     }
 
     /**
      * Load user details by user ID
      */
-    @Transactional
     public UserDetails loadUserById(Long id) {
-        User user = userRepository.findById(id).orElseThrow(
-            () -> new UsernameNotFoundException("User not found with id : " + id)
-        );
+        return principalCache.getById(id, () -> {
+            User user = userRepository.findById(id).orElseThrow(
+                () -> new UsernameNotFoundException("User not found with id : " + id)
+            );
 
-        return UserPrincipal.create(user);
+            return UserPrincipal.create(user);
+        });
+    }
+
+    /**
+     * Store a password rehashed at the current BCrypt cost after a successful login
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Long id = ((UserPrincipal) user).getId();
+        userRepository.updatePassword(id, newPassword);
+        principalCache.invalidate(id);
+        return loadUserById(id);
     }
 }
@@ -1,5 +1,6 @@
 package com.projetfulstack.studentgrademanagement.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,10 +31,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService customUserDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final boolean stateless;
 
     public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService customUserDetailsService) {
+        this(tokenProvider, customUserDetailsService, null, false);
+    }
+
+    /**
+     * In stateless mode the principal is built from the token claims and only the token version is
+     * checked (cached); tokens without user claims still fall back to loading the user
+     */
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService customUserDetailsService,
+                                   TokenVersionService tokenVersionService, boolean stateless) {
         this.tokenProvider = tokenProvider;
         this.customUserDetailsService = customUserDetailsService;
+        this.tokenVersionService = tokenVersionService;
+        this.stateless = stateless;
     }
 
     @Override
@@ -42,15 +56,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt) : null;
+
+            if (claims != null) {
+                UserPrincipal principal = stateless ? tokenProvider.getPrincipalFromClaims(claims) : null;
+                UserDetails userDetails = principal;
+                if (principal == null) {
+                    userDetails = customUserDetailsService.loadUserByUsername(claims.getSubject());
+                } else if (!tokenVersionService.isCurrent(principal.getId(), principal.getTokenVersion())) {
+                    logger.debug("Revoked JWT token for user {}", principal.getId());
+                    userDetails = null;
+                }
 
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication = 
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
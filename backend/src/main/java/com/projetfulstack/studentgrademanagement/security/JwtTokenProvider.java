@@ -1,7 +1,9 @@
 package com.projetfulstack.studentgrademanagement.security;
 
+import com.projetfulstack.studentgrademanagement.entity.UserRole;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,7 +12,13 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * JWT Token Provider
@@ -24,25 +32,74 @@ public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_TOKEN_VERSION = "ver";
+    private static final String CLAIM_FIRST_NAME = "fn";
+    private static final String CLAIM_LAST_NAME = "ln";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationInMs;
 
+    /**
+     * Number of recently verified tokens whose claims are kept; 0 disables the cache
+     */
+    @Value("${app.security.jwt-cache-size:10000}")
+    private int verifiedTokenCacheSize;
+
+    private SecretKey signingKey;
+
+    private JwtParser parser;
+
+    /**
+     * SHA-256 of recently verified tokens to their claims, least recently used first
+     */
+    private Map<String, Claims> verifiedTokens;
+
+    /**
+     * Key and parser are immutable and thread-safe, so they are built once
+     */
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        int capacity = verifiedTokenCacheSize;
+        verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
 
     /**
-     * Generate JWT token from authentication
+     * Generate JWT token from authentication.
+     * For a UserPrincipal, id, role, names and token version are embedded so requests can be
+     * authenticated from the claims alone.
      */
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
 
-        return Jwts.builder()
-                .subject(userPrincipal.getUsername())
+        JwtBuilder builder = Jwts.builder().subject(userPrincipal.getUsername());
+        if (userPrincipal instanceof UserPrincipal principal) {
+            builder.claim(CLAIM_USER_ID, principal.getId())
+                   .claim(CLAIM_ROLE, principal.getAuthorities().iterator().next().getAuthority().substring("ROLE_".length()))
+                   .claim(CLAIM_TOKEN_VERSION, principal.getTokenVersion())
+                   .claim(CLAIM_FIRST_NAME, principal.getFirstName())
+                   .claim(CLAIM_LAST_NAME, principal.getLastName());
+        }
+
+        return builder
                 .issuedAt(new Date())
                 .expiration(expiryDate)
                 .signWith(getSigningKey())
@@ -67,25 +124,17 @@ public class JwtTokenProvider {
      * Get username from JWT token
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = verify(token);
 
         return claims.getSubject();
     }
 
     /**
-     * Validate JWT token
+     * Verify a JWT token and return its claims, or null when it is invalid or expired
      */
-    public boolean validateToken(String authToken) {
+    public Claims parseClaims(String authToken) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            return true;
+            return verify(authToken);
         } catch (SecurityException ex) {
             logger.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -96,19 +145,80 @@ public class JwtTokenProvider {
             logger.error("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty.");
+        } catch (JwtException ex) {
+            logger.error("Invalid JWT token: {}", ex.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Verified claims of a token, from the cache when it was verified recently and has not expired since
+     */
+    private Claims verify(String token) {
+        if (verifiedTokenCacheSize <= 0 || token == null) {
+            return parser.parseSignedClaims(token).getPayload();
+        }
+
+        // Keyed by the hash of the whole token: a forged payload never matches a verified entry
+        String key = sha256(token);
+        Claims claims;
+        synchronized (verifiedTokens) {
+            claims = verifiedTokens.get(key);
+        }
+        if (claims != null) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null || expiration.getTime() > System.currentTimeMillis()) {
+                return claims;
+            }
+            synchronized (verifiedTokens) {
+                verifiedTokens.remove(key);
+            }
+        }
+
+        claims = parser.parseSignedClaims(token).getPayload();
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Validate JWT token
+     */
+    public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    /**
+     * Build the principal from verified claims, or null for tokens issued without user claims
+     */
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        if (userId == null || role == null || tokenVersion == null) {
+            return null;
         }
-        return false;
+
+        return UserPrincipal.create(userId.longValue(), claims.getSubject(),
+                claims.get(CLAIM_FIRST_NAME, String.class), claims.get(CLAIM_LAST_NAME, String.class),
+                UserRole.valueOf(role), tokenVersion.intValue());
     }
 
     /**
      * Get expiration date from JWT token
      */
     public Date getExpirationDateFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = verify(token);
 
         return claims.getExpiration();
     }
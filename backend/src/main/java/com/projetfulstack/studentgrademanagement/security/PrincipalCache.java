@@ -0,0 +1,170 @@
+package com.projetfulstack.studentgrademanagement.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Principal Cache
+ * Size- and TTL-bounded LRU cache of UserPrincipals, reachable by user id and by email.
+ * Entries must be invalidated whenever the underlying user changes.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Component
+public class PrincipalCache {
+
+    private final int maxSize;
+    private final long ttlMs;
+
+    /**
+     * Principals by user id, least recently used first
+     */
+    private final LinkedHashMap<Long, Entry> byId;
+    private final Map<String, Long> idByEmail = new HashMap<>();
+
+    /**
+     * Bumped by every invalidation; a load that raced with one is not cached
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PrincipalCache(@Value("${app.security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${app.security.principal-cache.ttl-ms:300000}") long ttlMs) {
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.byId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > PrincipalCache.this.maxSize) {
+                    idByEmail.remove(eldest.getValue().principal.getEmail());
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached principal of an email, loading it on a miss
+     */
+    public UserPrincipal getByEmail(String email, Supplier<UserPrincipal> loader) {
+        synchronized (this) {
+            Long id = idByEmail.get(email);
+            UserPrincipal principal = id != null ? lookup(id) : null;
+            if (principal != null) {
+                hits.increment();
+                return principal;
+            }
+        }
+        return load(loader);
+    }
+
+    /**
+     * Cached principal of a user id, loading it on a miss
+     */
+    public UserPrincipal getById(Long id, Supplier<UserPrincipal> loader) {
+        synchronized (this) {
+            UserPrincipal principal = lookup(id);
+            if (principal != null) {
+                hits.increment();
+                return principal;
+            }
+        }
+        return load(loader);
+    }
+
+    /**
+     * Drop the principal of a user after its account changed
+     */
+    public synchronized void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        Entry entry = byId.remove(id);
+        if (entry != null) {
+            idByEmail.remove(entry.principal.getEmail());
+        }
+    }
+
+    public synchronized void clear() {
+        invalidations.incrementAndGet();
+        byId.clear();
+        idByEmail.clear();
+    }
+
+    /**
+     * Hit, miss and eviction counters, for sizing the cache
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("size", size());
+        statistics.put("maxSize", maxSize);
+        statistics.put("ttlMs", ttlMs);
+        statistics.put("hits", hitCount);
+        statistics.put("misses", missCount);
+        statistics.put("evictions", evictions.sum());
+        statistics.put("hitRate", hitCount + missCount > 0 ? (double) hitCount / (hitCount + missCount) : 0.0);
+        return statistics;
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    /**
+     * Live principal of a user id; expired entries are removed and counted as evictions
+     */
+    private UserPrincipal lookup(Long id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            byId.remove(id);
+            idByEmail.remove(entry.principal.getEmail());
+            evictions.increment();
+            return null;
+        }
+        return entry.principal;
+    }
+
+    private UserPrincipal load(Supplier<UserPrincipal> loader) {
+        misses.increment();
+        long generation = invalidations.get();
+        UserPrincipal principal = loader.get();
+        if (maxSize > 0) {
+            synchronized (this) {
+                if (invalidations.get() == generation) {
+                    Entry previous = byId.put(principal.getId(), new Entry(principal, System.currentTimeMillis() + ttlMs));
+                    if (previous != null && !previous.principal.getEmail().equals(principal.getEmail())) {
+                        idByEmail.remove(previous.principal.getEmail());
+                    }
+                    idByEmail.put(principal.getEmail(), principal.getId());
+                }
+            }
+        }
+        return principal;
+    }
+
+    private static final class Entry {
+        private final UserPrincipal principal;
+        private final long expiresAt;
+
+        private Entry(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.projetfulstack.studentgrademanagement.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token Bucket
+ * Lock-free token bucket in its "theoretical arrival time" form: a single timestamp records when
+ * the bucket will be full again, and taking a token is one compare-and-set on it.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class TokenBucket {
+
+    /**
+     * Nanoseconds it takes to refill one token
+     */
+    private final long refillNanos;
+
+    /**
+     * How far the theoretical arrival time may run ahead of now: capacity - 1 tokens of credit
+     */
+    private final long burstNanos;
+
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, long refillNanos, long now) {
+        this.refillNanos = refillNanos;
+        this.burstNanos = refillNanos * (capacity - 1);
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Take one token
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryConsume(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long start = Math.max(current, now);
+            long wait = start - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, start + refillNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Whether the bucket is full again, i.e. dropping it loses nothing
+     */
+    public boolean isIdle(long now) {
+        return fullAt.get() <= now;
+    }
+}
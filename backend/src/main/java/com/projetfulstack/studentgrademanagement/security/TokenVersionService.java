@@ -0,0 +1,87 @@
+package com.projetfulstack.studentgrademanagement.security;
+
+import com.projetfulstack.studentgrademanagement.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token Version Service
+ * Checks the version claim of stateless tokens against the user's current token version.
+ * Versions are cached for a short time, so a revocation made on another instance takes effect
+ * within app.security.token-version-ttl-ms; on this instance it is immediate.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Service
+public class TokenVersionService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Value("${app.security.token-version-ttl-ms:30000}")
+    private long ttlMs;
+
+    private final Map<Long, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped by every revocation and eviction; a load that raced with one is not cached
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Whether a token of the given version is still valid for the user
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        long now = System.currentTimeMillis();
+        CachedVersion cached = versions.get(userId);
+        if (cached == null || cached.expiresAt < now) {
+            long generation = invalidations.get();
+            // Empty for deleted or deactivated users: their tokens are rejected
+            Integer version = userRepository.findActiveTokenVersionById(userId).orElse(null);
+            CachedVersion loaded = new CachedVersion(version, now + ttlMs);
+            // Invalidations bump the generation before removing, so checking it inside compute never
+            // caches a version read before a revocation once that revocation has removed the entry
+            versions.compute(userId, (id, current) -> invalidations.get() == generation ? loaded : current);
+            cached = loaded;
+        }
+        return cached.version != null && cached.version == tokenVersion;
+    }
+
+    /**
+     * Revoke every token issued to a user so far; the increment is committed before the cache is evicted
+     */
+    public void revoke(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        invalidations.incrementAndGet();
+        versions.remove(userId);
+        // Cached principals carry the old version, which new tokens would be issued with
+        principalCache.invalidate(userId);
+    }
+
+    /**
+     * Forget the cached version, e.g. after the user was deleted or deactivated
+     */
+    public void evict(Long userId) {
+        invalidations.incrementAndGet();
+        versions.remove(userId);
+    }
+
+    private static final class CachedVersion {
+        private final Integer version;
+        private final long expiresAt;
+
+        private CachedVersion(Integer version, long expiresAt) {
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.projetfulstack.studentgrademanagement.security;
 
 import com.projetfulstack.studentgrademanagement.entity.User;
+import com.projetfulstack.studentgrademanagement.entity.UserRole;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,6 +24,7 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private String password;
     private Collection<? extends GrantedAuthority> authorities;
+    private int tokenVersion;
 
     public UserPrincipal(Long id, String firstName, String lastName, String username, 
                         String email, String password, Collection<? extends GrantedAuthority> authorities) {
@@ -35,6 +37,13 @@ public class UserPrincipal implements UserDetails {
         this.authorities = authorities;
     }
 
+    public UserPrincipal(Long id, String firstName, String lastName, String username,
+                        String email, String password, Collection<? extends GrantedAuthority> authorities,
+                        int tokenVersion) {
+        this(id, firstName, lastName, username, email, password, authorities);
+        this.tokenVersion = tokenVersion;
+    }
+
     /**
      * Create UserPrincipal from User entity
      */
@@ -50,10 +59,23 @@ public class UserPrincipal implements UserDetails {
             user.getEmail(),
             user.getEmail(),
             user.getPassword(),
-            authorities
+            authorities,
+            user.getTokenVersion() != null ? user.getTokenVersion() : 0
         );
     }
 
+    /**
+     * Create UserPrincipal from verified token claims (no password, nothing read from the database)
+     */
+    public static UserPrincipal create(Long id, String email, String firstName, String lastName,
+                                       UserRole role, int tokenVersion) {
+        Collection<GrantedAuthority> authorities = Collections.singletonList(
+            new SimpleGrantedAuthority("ROLE_" + role.name())
+        );
+
+        return new UserPrincipal(id, firstName, lastName, email, email, null, authorities, tokenVersion);
+    }
+
     public Long getId() {
         return id;
     }
@@ -70,6 +92,10 @@ public class UserPrincipal implements UserDetails {
         return email;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
     @Override
     public String getUsername() {
         return username;
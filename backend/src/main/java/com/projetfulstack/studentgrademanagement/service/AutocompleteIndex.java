@@ -0,0 +1,480 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Autocomplete Index
+ * Immutable in-memory index of names and codes. Every word and code is a term of one sorted
+ * dictionary whose posting lists are int arrays of entry ordinals; ordinals follow (name, id), so a
+ * prefix is answered by walking the terms of its range in order and stopping at the limit. Codes are
+ * also indexed by trigrams (packed in a long, with int array postings) to match their inner parts.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public final class AutocompleteIndex {
+
+    public enum Kind {
+        STUDENT, TEACHER, SUBJECT
+    }
+
+    /**
+     * Match kinds, best first
+     */
+    static final int PREFIX_MATCH = 0;
+    static final int INFIX_MATCH = 1;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Match> ORDER = Comparator.comparingInt(Match::getMatchKind)
+            .thenComparing(Match::getTerm)
+            .thenComparing(match -> match.getEntry().getName())
+            .thenComparingLong(match -> match.getEntry().getId());
+
+    private static final AutocompleteIndex EMPTY = build(List.of());
+
+    private final Entry[] entries;
+
+    /**
+     * Sorted terms and, per term, the ascending ordinals of its entries
+     */
+    private final String[] terms;
+    private final int[][] termPostings;
+
+    /**
+     * Term indexes of each entry, to check the other words of a query
+     */
+    private final int[][] entryTerms;
+
+    /**
+     * Sorted code trigrams and, per trigram, the ascending ordinals of the entries whose code contains it
+     */
+    private final long[] trigrams;
+    private final int[][] trigramPostings;
+
+    private AutocompleteIndex(Entry[] entries, String[] terms, int[][] termPostings, int[][] entryTerms,
+                              long[] trigrams, int[][] trigramPostings) {
+        this.entries = entries;
+        this.terms = terms;
+        this.termPostings = termPostings;
+        this.entryTerms = entryTerms;
+        this.trigrams = trigrams;
+        this.trigramPostings = trigramPostings;
+    }
+
+    public static AutocompleteIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Index entries; duplicates of (kind, id) are not merged
+     */
+    public static AutocompleteIndex build(Collection<Entry> source) {
+        Entry[] entries = source.toArray(new Entry[0]);
+        Arrays.sort(entries, Comparator.comparing(Entry::getName).thenComparingLong(Entry::getId));
+
+        Map<String, IntList> postingsByTerm = new HashMap<>();
+        Map<Long, IntList> postingsByTrigram = new HashMap<>();
+        for (int ordinal = 0; ordinal < entries.length; ordinal++) {
+            for (String term : entries[ordinal].terms()) {
+                postingsByTerm.computeIfAbsent(term, t -> new IntList()).addDistinct(ordinal);
+            }
+            String code = entries[ordinal].codeKey;
+            for (int i = 0; i + 3 <= code.length(); i++) {
+                postingsByTrigram.computeIfAbsent(trigram(code, i), t -> new IntList()).addDistinct(ordinal);
+            }
+        }
+
+        String[] terms = postingsByTerm.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        int[][] termPostings = new int[terms.length][];
+        IntList[] termsOfEntry = new IntList[entries.length];
+        for (int t = 0; t < terms.length; t++) {
+            termPostings[t] = postingsByTerm.get(terms[t]).toArray();
+            for (int ordinal : termPostings[t]) {
+                if (termsOfEntry[ordinal] == null) {
+                    termsOfEntry[ordinal] = new IntList();
+                }
+                termsOfEntry[ordinal].addDistinct(t);
+            }
+        }
+        int[][] entryTerms = new int[entries.length][];
+        for (int ordinal = 0; ordinal < entries.length; ordinal++) {
+            entryTerms[ordinal] = termsOfEntry[ordinal] != null ? termsOfEntry[ordinal].toArray() : new int[0];
+        }
+
+        long[] trigrams = postingsByTrigram.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        int[][] trigramPostings = new int[trigrams.length][];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigramPostings[i] = postingsByTrigram.get(trigrams[i]).toArray();
+        }
+        return new AutocompleteIndex(entries, terms, termPostings, entryTerms, trigrams, trigramPostings);
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Entries of the index, in ordinal order
+     */
+    public List<Entry> entries() {
+        return Arrays.asList(entries);
+    }
+
+    /**
+     * Best matches of a query: entries with a word or code starting with the first query word, then
+     * entries whose code contains it; every other query word must start one of the entry's words or codes
+     *
+     * @param accepted filters entries by kind and id, e.g. to hide entries changed since the index was built
+     */
+    public List<Match> search(String query, int limit, Set<Kind> kinds, EntryFilter accepted) {
+        String[] words = words(query);
+        if (words.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        String first = words[0];
+        List<Match> matches = new ArrayList<>(limit);
+        // Ordinals of the matches, as an entry may have several terms starting with the first word
+        int[] matched = new int[limit];
+
+        // Terms starting with the first word are contiguous in the sorted dictionary
+        for (int t = lowerBound(first); t < terms.length && terms[t].startsWith(first); t++) {
+            for (int ordinal : termPostings[t]) {
+                if (contains(matched, matches.size(), ordinal) || !accept(ordinal, words, kinds, accepted)) {
+                    continue;
+                }
+                matched[matches.size()] = ordinal;
+                matches.add(new Match(entries[ordinal], PREFIX_MATCH, terms[t]));
+                if (matches.size() == limit) {
+                    return matches;
+                }
+            }
+        }
+
+        if (first.length() >= 3) {
+            PriorityQueue<Match> infix = new PriorityQueue<>(ORDER.reversed());
+            for (int ordinal : codesContaining(first)) {
+                if (contains(matched, matches.size(), ordinal) || !accept(ordinal, words, kinds, accepted)) {
+                    continue;
+                }
+                infix.add(new Match(entries[ordinal], INFIX_MATCH, entries[ordinal].codeKey));
+                if (infix.size() > limit - matches.size()) {
+                    infix.poll();
+                }
+            }
+            List<Match> sorted = new ArrayList<>(infix);
+            sorted.sort(ORDER);
+            matches.addAll(sorted);
+        }
+        return matches;
+    }
+
+    /**
+     * Match of a query against one entry outside the index, ranked like the indexed matches
+     *
+     * @return the match, or null when the entry does not match
+     */
+    public static Match match(Entry entry, String query) {
+        String[] words = words(query);
+        if (words.length == 0) {
+            return null;
+        }
+        String[] entryTerms = entry.terms();
+        for (int i = 1; i < words.length; i++) {
+            if (!startsAny(entryTerms, words[i])) {
+                return null;
+            }
+        }
+        String best = null;
+        for (String term : entryTerms) {
+            if (term.startsWith(words[0]) && (best == null || term.compareTo(best) < 0)) {
+                best = term;
+            }
+        }
+        if (best != null) {
+            return new Match(entry, PREFIX_MATCH, best);
+        }
+        if (words[0].length() >= 3 && entry.codeKey.contains(words[0])) {
+            return new Match(entry, INFIX_MATCH, entry.codeKey);
+        }
+        return null;
+    }
+
+    /**
+     * Best-first order of matches
+     */
+    public static Comparator<Match> order() {
+        return ORDER;
+    }
+
+    /**
+     * Lower-cased, whitespace-separated words of a text, without accents nor surrounding punctuation;
+     * a word such as "STU-0042" or "Jean-Paul" stays whole
+     */
+    static String[] words(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return new String[0];
+        }
+        return Arrays.stream(WHITESPACE.split(normalized))
+                .map(AutocompleteIndex::trimPunctuation)
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        boolean ascii = text.chars().allMatch(c -> c < 128);
+        String stripped = ascii ? text : DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return stripped.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static String trimPunctuation(String word) {
+        int start = 0;
+        int end = word.length();
+        while (start < end && !Character.isLetterOrDigit(word.charAt(start))) {
+            start++;
+        }
+        while (end > start && !Character.isLetterOrDigit(word.charAt(end - 1))) {
+            end--;
+        }
+        return word.substring(start, end);
+    }
+
+    private boolean accept(int ordinal, String[] words, Set<Kind> kinds, EntryFilter accepted) {
+        Entry entry = entries[ordinal];
+        if (!kinds.contains(entry.getKind()) || !accepted.test(entry.getKind(), entry.getId())) {
+            return false;
+        }
+        for (int i = 1; i < words.length; i++) {
+            if (!hasTermStartingWith(ordinal, words[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasTermStartingWith(int ordinal, String prefix) {
+        for (int t : entryTerms[ordinal]) {
+            if (terms[t].startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ordinals of the entries whose code contains a text of at least 3 characters
+     */
+    private int[] codesContaining(String text) {
+        int[] candidates = null;
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            int found = Arrays.binarySearch(trigrams, trigram(text, i));
+            if (found < 0) {
+                return new int[0];
+            }
+            candidates = candidates == null ? trigramPostings[found] : intersect(candidates, trigramPostings[found]);
+            if (candidates.length == 0) {
+                return candidates;
+            }
+        }
+        if (text.length() == 3) {
+            return candidates;
+        }
+        IntList verified = new IntList();
+        for (int ordinal : candidates) {
+            if (entries[ordinal].codeKey.contains(text)) {
+                verified.add(ordinal);
+            }
+        }
+        return verified.toArray();
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean contains(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsAny(String[] terms, String prefix) {
+        for (String term : terms) {
+            if (term.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    @FunctionalInterface
+    public interface EntryFilter {
+        boolean test(Kind kind, long id);
+    }
+
+    /**
+     * One indexed student, teacher or subject: its display name and code (student ID, employee ID or subject code)
+     */
+    public static final class Entry {
+        private final Kind kind;
+        private final long id;
+        private final String name;
+        private final String code;
+
+        /**
+         * Normalized code, for trigrams and infix checks
+         */
+        private final String codeKey;
+
+        public Entry(Kind kind, long id, String name, String code) {
+            this.kind = kind;
+            this.id = id;
+            this.name = name != null ? name : "";
+            this.code = code != null ? code : "";
+            this.codeKey = String.join(" ", words(this.code));
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        /**
+         * Words of the name, with the parts of compound words ("jean-paul", "jean", "paul"), and words of
+         * the code; inner parts of codes are matched through trigrams instead
+         */
+        String[] terms() {
+            List<String> terms = new ArrayList<>();
+            for (String word : words(name)) {
+                terms.add(word);
+                if (SEPARATORS.matcher(word).find()) {
+                    for (String part : SEPARATORS.split(word)) {
+                        if (!part.isEmpty()) {
+                            terms.add(part);
+                        }
+                    }
+                }
+            }
+            terms.addAll(Arrays.asList(words(code)));
+            return terms.stream().distinct().toArray(String[]::new);
+        }
+    }
+
+    /**
+     * An entry matched by a query, with the term that matched it
+     */
+    public static final class Match {
+        private final Entry entry;
+        private final int matchKind;
+        private final String term;
+
+        Match(Entry entry, int matchKind, String term) {
+            this.entry = entry;
+            this.matchKind = matchKind;
+            this.term = term;
+        }
+
+        public Entry getEntry() {
+            return entry;
+        }
+
+        public int getMatchKind() {
+            return matchKind;
+        }
+
+        public String getTerm() {
+            return term;
+        }
+    }
+
+    /**
+     * Growable int array, for building posting lists without boxing
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        /**
+         * Add a value unless it equals the last one; values arrive in ascending order
+         */
+        void addDistinct(int value) {
+            if (size == 0 || values[size - 1] != value) {
+                add(value);
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
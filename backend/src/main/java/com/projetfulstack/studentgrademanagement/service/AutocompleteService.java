@@ -0,0 +1,294 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.AutocompleteSource;
+import com.projetfulstack.studentgrademanagement.entity.Student;
+import com.projetfulstack.studentgrademanagement.entity.Subject;
+import com.projetfulstack.studentgrademanagement.entity.Teacher;
+import com.projetfulstack.studentgrademanagement.repository.StudentRepository;
+import com.projetfulstack.studentgrademanagement.repository.SubjectRepository;
+import com.projetfulstack.studentgrademanagement.repository.TeacherRepository;
+import com.projetfulstack.studentgrademanagement.service.AutocompleteIndex.Entry;
+import com.projetfulstack.studentgrademanagement.service.AutocompleteIndex.Kind;
+import com.projetfulstack.studentgrademanagement.service.AutocompleteIndex.Match;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Autocomplete Service
+ * Search-as-you-type over students, teachers and subjects, answered from an in-memory index without
+ * querying the database. The index is built at startup; inserts, updates and deletes of the indexed
+ * entities reach it through Hibernate post-commit listeners, so rolled back changes never show. Changes
+ * are kept in a pending map, matched by scanning, until the index is compacted.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Service
+public class AutocompleteService implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteService.class);
+
+    /**
+     * Entity properties the index is built from; updates of other properties are ignored
+     */
+    private static final Set<String> INDEXED_PROPERTIES = Set.of("firstName", "lastName", "studentId", "employeeId", "name", "code");
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.autocomplete.max-pending:1000}")
+    private int maxPending;
+
+    @Value("${app.autocomplete.max-limit:50}")
+    private int maxLimit;
+
+    private volatile AutocompleteIndex index = AutocompleteIndex.empty();
+
+    /**
+     * Entries changed since the index was built, by key(kind, id); empty for deleted entries
+     */
+    private final Map<Long, Optional<Entry>> pending = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * Build the index at startup; until it is built, only entries changed since startup are suggested
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            logger.warn("Could not build the autocomplete index", ex);
+        }
+    }
+
+    /**
+     * Best matches of a query among the given kinds: names or codes starting with the query words
+     * first, then codes containing the first word
+     *
+     * @throws IllegalArgumentException when the query is blank; the limit is capped at app.autocomplete.max-limit
+     */
+    public List<Entry> suggest(String query, int limit, Set<Kind> kinds) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Autocomplete query must not be blank");
+        }
+        limit = Math.max(1, Math.min(limit, maxLimit));
+
+        List<Match> matches = new ArrayList<>(index.search(query, limit, kinds, (kind, id) -> !pending.containsKey(key(kind, id))));
+        boolean merged = false;
+        for (Optional<Entry> change : pending.values()) {
+            if (change.isPresent() && kinds.contains(change.get().getKind())) {
+                Match match = AutocompleteIndex.match(change.get(), query);
+                if (match != null) {
+                    matches.add(match);
+                    merged = true;
+                }
+            }
+        }
+        if (merged) {
+            matches.sort(AutocompleteIndex.order());
+        }
+
+        List<Entry> suggestions = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            suggestions.add(matches.get(i).getEntry());
+        }
+        return suggestions;
+    }
+
+    /**
+     * Size of the index and number of pending changes
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("indexedEntries", index.size());
+        statistics.put("pendingChanges", pending.size());
+        statistics.put("maxPending", maxPending);
+        return statistics;
+    }
+
+    /**
+     * Fold the pending changes into a new index once there are app.autocomplete.max-pending of them
+     */
+    @Scheduled(fixedDelayString = "${app.autocomplete.compact-interval-ms:10000}")
+    public void compactIfDue() {
+        if (pending.size() >= maxPending) {
+            compact();
+        }
+    }
+
+    /**
+     * Rebuild the index from its entries and the pending changes, without reading the database
+     */
+    public synchronized void compact() {
+        Map<Long, Optional<Entry>> changes = new HashMap<>(pending);
+        if (changes.isEmpty()) {
+            return;
+        }
+        List<Entry> entries = new ArrayList<>(index.size() + changes.size());
+        for (Entry entry : index.entries()) {
+            if (!changes.containsKey(key(entry.getKind(), entry.getId()))) {
+                entries.add(entry);
+            }
+        }
+        changes.values().forEach(change -> change.ifPresent(entries::add));
+        index = AutocompleteIndex.build(entries);
+        // Keep the changes committed while the index was being built
+        changes.forEach(pending::remove);
+        logger.debug("Compacted {} autocomplete changes", changes.size());
+    }
+
+    /**
+     * Rebuild the index from the database
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        List<Entry> entries = new ArrayList<>();
+        studentRepository.findAutocompleteSources().forEach(source -> entries.add(entry(Kind.STUDENT, source)));
+        teacherRepository.findAutocompleteSources().forEach(source -> entries.add(entry(Kind.TEACHER, source)));
+        subjectRepository.findAutocompleteSources().forEach(source -> entries.add(entry(Kind.SUBJECT, source)));
+        index = AutocompleteIndex.build(entries);
+        logger.info("Autocomplete index of {} entries built in {} ms", entries.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Entry entry = entry(event.getEntity());
+        if (entry != null) {
+            pending.put(key(entry.getKind(), entry.getId()), Optional.of(entry));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!changesIndexedProperty(event)) {
+            return;
+        }
+        Entry entry = entry(event.getEntity());
+        if (entry != null) {
+            pending.put(key(entry.getKind(), entry.getId()), Optional.of(entry));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Kind kind = kind(event.getEntity());
+        if (kind != null && event.getId() instanceof Long id) {
+            pending.put(key(kind, id), Optional.empty());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> mappedClass = persister.getMappedClass();
+        return Student.class.isAssignableFrom(mappedClass) || Teacher.class.isAssignableFrom(mappedClass)
+                || Subject.class.isAssignableFrom(mappedClass);
+    }
+
+    /**
+     * Whether an update changed a property of the index; true when Hibernate did not track the dirty properties
+     */
+    private static boolean changesIndexedProperty(PostUpdateEvent event) {
+        int[] dirtyProperties = event.getDirtyProperties();
+        if (dirtyProperties == null) {
+            return true;
+        }
+        String[] names = event.getPersister().getPropertyNames();
+        for (int property : dirtyProperties) {
+            if (INDEXED_PROPERTIES.contains(names[property])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Entry entry(Kind kind, AutocompleteSource source) {
+        return new Entry(kind, source.getId(), source.getName(), source.getCode());
+    }
+
+    /**
+     * Entry of an entity, named like the database projections
+     */
+    private static Entry entry(Object entity) {
+        if (entity instanceof Student student) {
+            return new Entry(Kind.STUDENT, student.getId(), student.getFirstName() + " " + student.getLastName(), student.getStudentId());
+        }
+        if (entity instanceof Teacher teacher) {
+            return new Entry(Kind.TEACHER, teacher.getId(), teacher.getFirstName() + " " + teacher.getLastName(), teacher.getEmployeeId());
+        }
+        if (entity instanceof Subject subject) {
+            return new Entry(Kind.SUBJECT, subject.getId(), subject.getName(), subject.getCode());
+        }
+        return null;
+    }
+
+    private static Kind kind(Object entity) {
+        if (entity instanceof Student) {
+            return Kind.STUDENT;
+        }
+        if (entity instanceof Teacher) {
+            return Kind.TEACHER;
+        }
+        return entity instanceof Subject ? Kind.SUBJECT : null;
+    }
+
+    private static long key(Kind kind, long id) {
+        return id * Kind.values().length + kind.ordinal();
+    }
+}
@@ -0,0 +1,31 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class Membership Changed Event
+ * Published when students join, leave or change class; maps each student to its new class id (null when none)
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class ClassMembershipChangedEvent {
+
+    private final Map<Long, Long> classIdByStudentId;
+
+    public ClassMembershipChangedEvent(Map<Long, Long> classIdByStudentId) {
+        this.classIdByStudentId = Collections.unmodifiableMap(classIdByStudentId);
+    }
+
+    public static ClassMembershipChangedEvent of(Long studentId, Long classId) {
+        Map<Long, Long> classIdByStudentId = new HashMap<>();
+        classIdByStudentId.put(studentId, classId);
+        return new ClassMembershipChangedEvent(classIdByStudentId);
+    }
+
+    public Map<Long, Long> getClassIdByStudentId() {
+        return classIdByStudentId;
+    }
+}
@@ -0,0 +1,258 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.BatchResult;
+import com.projetfulstack.studentgrademanagement.dto.ImportJob;
+import com.projetfulstack.studentgrademanagement.dto.StudentRegisterRequest;
+import com.projetfulstack.studentgrademanagement.dto.TeacherRegisterRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cohort Import Service
+ * Streams a CSV of students and teachers into RegistrationService in fixed-size chunks.
+ *
+ * Expected columns, in order: role (STUDENT or TEACHER), firstName, lastName, email, password,
+ * identifier (student ID or employee ID), classId, department, specialization, phoneNumber, address,
+ * dateOfBirth. classId applies to students, department and specialization to teachers.
+ * A first row whose role cell is neither STUDENT nor TEACHER is treated as a header and skipped.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Service
+public class CohortImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CohortImportService.class);
+
+    private static final int COLUMN_COUNT = 12;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    @Qualifier("cohortImportExecutor")
+    private TaskExecutor cohortImportExecutor;
+
+    @Value("${app.registration.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.registration.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${app.registration.import.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Copy the upload to a temporary file and import it in the background
+     *
+     * @throws org.springframework.core.task.TaskRejectedException when the import queue is full
+     */
+    public ImportJob submit(MultipartFile file) throws IOException {
+        String fileName = Optional.ofNullable(file.getOriginalFilename()).orElse("");
+        if (!fileName.toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            throw new IllegalArgumentException("Only .csv files are supported");
+        }
+
+        evictExpiredJobs();
+
+        Path tempFile = Files.createTempFile("cohort-import-", ".csv");
+        file.transferTo(tempFile);
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), null, fileName, maxReportedErrors);
+        jobs.put(job.getJobId(), job);
+        try {
+            cohortImportExecutor.execute(() -> run(job, tempFile));
+        } catch (RuntimeException ex) {
+            jobs.remove(job.getJobId());
+            Files.deleteIfExists(tempFile);
+            throw ex;
+        }
+        return job;
+    }
+
+    /**
+     * Find an import job by id
+     */
+    public Optional<ImportJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void run(ImportJob job, Path file) {
+        job.setStatus(ImportJob.Status.RUNNING);
+        ChunkWriter writer = new ChunkWriter(job);
+        try {
+            CsvLines.read(file, COLUMN_COUNT, writer::accept);
+            writer.flush();
+            job.finish(ImportJob.Status.COMPLETED, null);
+        } catch (Exception ex) {
+            logger.error("Cohort import {} failed", job.getJobId(), ex);
+            job.finish(ImportJob.Status.FAILED, ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                logger.warn("Could not delete import file {}", file);
+            }
+        }
+    }
+
+    private void evictExpiredJobs() {
+        LocalDateTime limit = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(limit));
+    }
+
+    /**
+     * Buffers parsed rows per role and registers each buffer through RegistrationService when it is full
+     */
+    private class ChunkWriter {
+
+        private final ImportJob job;
+        private final List<StudentRegisterRequest> students = new ArrayList<>();
+        private final List<Long> studentRows = new ArrayList<>();
+        private final List<TeacherRegisterRequest> teachers = new ArrayList<>();
+        private final List<Long> teacherRows = new ArrayList<>();
+        private boolean firstRow = true;
+
+        ChunkWriter(ImportJob job) {
+            this.job = job;
+        }
+
+        void accept(long rowNumber, String[] cells) {
+            if (Arrays.stream(cells).allMatch(CohortImportService::isBlank)) {
+                return;
+            }
+            String role = isBlank(cells[0]) ? "" : cells[0].trim().toUpperCase(Locale.ROOT);
+            boolean header = firstRow && !role.equals("STUDENT") && !role.equals("TEACHER");
+            firstRow = false;
+            if (header) {
+                return;
+            }
+
+            try {
+                if (role.equals("STUDENT")) {
+                    students.add(toStudentRequest(cells));
+                    studentRows.add(rowNumber);
+                } else if (role.equals("TEACHER")) {
+                    teachers.add(toTeacherRequest(cells));
+                    teacherRows.add(rowNumber);
+                } else {
+                    throw new IllegalArgumentException("Invalid role: " + cells[0]);
+                }
+            } catch (IllegalArgumentException ex) {
+                job.rowRejected(rowNumber, ex.getMessage());
+            }
+
+            if (students.size() >= chunkSize) {
+                flushStudents();
+            }
+            if (teachers.size() >= chunkSize) {
+                flushTeachers();
+            }
+        }
+
+        void flush() {
+            flushStudents();
+            flushTeachers();
+        }
+
+        private void flushStudents() {
+            report(registrationService::registerStudents, students, studentRows, () -> job.rowImported("students"));
+        }
+
+        private void flushTeachers() {
+            report(registrationService::registerTeachers, teachers, teacherRows, () -> job.rowImported("teachers"));
+        }
+
+        private <R> void report(Function<List<R>, List<BatchResult>> register, List<R> requests,
+                                List<Long> rowNumbers, Runnable created) {
+            if (requests.isEmpty()) {
+                return;
+            }
+            for (BatchResult result : register.apply(requests)) {
+                if (BatchResult.CREATED.equals(result.getStatus())) {
+                    created.run();
+                } else {
+                    job.rowRejected(rowNumbers.get(result.getIndex()), result.getError());
+                }
+            }
+            requests.clear();
+            rowNumbers.clear();
+        }
+    }
+
+    private static StudentRegisterRequest toStudentRequest(String[] cells) {
+        StudentRegisterRequest request = new StudentRegisterRequest(
+                trim(cells[1]), trim(cells[2]), trim(cells[3]), cells[4], trim(cells[5]));
+        request.setClassId(parseLong(cells[6], "class ID"));
+        request.setPhoneNumber(trim(cells[9]));
+        request.setAddress(trim(cells[10]));
+        request.setDateOfBirth(parseDate(cells[11]));
+        return request;
+    }
+
+    private static TeacherRegisterRequest toTeacherRequest(String[] cells) {
+        TeacherRegisterRequest request = new TeacherRegisterRequest(
+                trim(cells[1]), trim(cells[2]), trim(cells[3]), cells[4], trim(cells[5]));
+        request.setDepartment(trim(cells[7]));
+        request.setSpecialization(trim(cells[8]));
+        request.setPhoneNumber(trim(cells[9]));
+        request.setAddress(trim(cells[10]));
+        request.setDateOfBirth(parseDate(cells[11]));
+        return request;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String trim(String value) {
+        return isBlank(value) ? null : value.trim();
+    }
+
+    private static Long parseLong(String value, String field) {
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim()).longValueExact();
+        } catch (NumberFormatException | ArithmeticException ex) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid date of birth: " + value);
+        }
+    }
+}
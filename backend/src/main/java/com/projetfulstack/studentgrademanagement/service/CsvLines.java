@@ -0,0 +1,79 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * CSV Lines
+ * Line-by-line reader for the import services; only one row is held in memory at a time.
+ * ';' is accepted as separator when the first line contains no ','
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+final class CsvLines {
+
+    /**
+     * Receives each row with its 1-based line number
+     */
+    interface RowConsumer {
+        void accept(long rowNumber, String[] cells);
+    }
+
+    private CsvLines() {
+    }
+
+    static void read(Path file, int columnCount, RowConsumer consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            long rowNumber = 0;
+            char separator = ',';
+            while ((line = reader.readLine()) != null) {
+                rowNumber++;
+                if (rowNumber == 1) {
+                    if (line.startsWith("\uFEFF")) {
+                        line = line.substring(1);
+                    }
+                    if (line.indexOf(',') < 0 && line.indexOf(';') >= 0) {
+                        separator = ';';
+                    }
+                }
+                consumer.accept(rowNumber, split(line, separator, columnCount));
+            }
+        }
+    }
+
+    static String[] split(String line, char separator, int columnCount) {
+        String[] cells = new String[columnCount];
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        int column = 0;
+        for (int i = 0; i < line.length() && column < columnCount; i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                cells[column++] = current.toString();
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (column < columnCount) {
+            cells[column] = current.toString();
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,334 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.ExamTypeCount;
+import com.projetfulstack.studentgrademanagement.dto.GradeMinuteCount;
+import com.projetfulstack.studentgrademanagement.dto.UserCount;
+import com.projetfulstack.studentgrademanagement.entity.ExamType;
+import com.projetfulstack.studentgrademanagement.entity.Grade;
+import com.projetfulstack.studentgrademanagement.entity.User;
+import com.projetfulstack.studentgrademanagement.entity.UserRole;
+import com.projetfulstack.studentgrademanagement.repository.GradeRepository;
+import com.projetfulstack.studentgrademanagement.repository.SubjectRepository;
+import com.projetfulstack.studentgrademanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dashboard Counter Service
+ * In-memory counters behind the admin dashboard: users per role and status, subjects, grades per
+ * exam type and grades created over the last 24 hours. Seeded from the database at startup, moved by
+ * the create, update and delete paths once their transaction commits, and reconciled periodically.
+ * Deletes that cascade (users, subjects) mark the counters stale instead, so the next check reconciles them.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Service
+public class DashboardCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCounterService.class);
+
+    private static final int WINDOW_MINUTES = 24 * 60;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Value("${app.dashboard.reconcile-interval-ms:600000}")
+    private long reconcileIntervalMs;
+
+    private final Map<UserRole, LongAdder> activeUsers = new EnumMap<>(UserRole.class);
+    private final Map<UserRole, LongAdder> inactiveUsers = new EnumMap<>(UserRole.class);
+    private final LongAdder subjects = new LongAdder();
+
+    /**
+     * Grades by exam type ordinal; the last slot counts grades without an exam type
+     */
+    private final LongAdder[] gradesByExamType = new LongAdder[ExamType.values().length + 1];
+
+    /**
+     * Grades created per minute over the last 24 hours, in slot (epoch minute % WINDOW_MINUTES);
+     * every access holds the monitor of recentMinutes
+     */
+    private final long[] recentMinutes = new long[WINDOW_MINUTES];
+    private final long[] recentCounts = new long[WINDOW_MINUTES];
+
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private volatile LocalDateTime reconciledAt;
+    private volatile long reconciledAtMs;
+
+    public DashboardCounterService() {
+        for (UserRole role : UserRole.values()) {
+            activeUsers.put(role, new LongAdder());
+            inactiveUsers.put(role, new LongAdder());
+        }
+        for (int i = 0; i < gradesByExamType.length; i++) {
+            gradesByExamType[i] = new LongAdder();
+        }
+    }
+
+    public void recordUserCreated(User user) {
+        recordUsersCreated(List.of(user));
+    }
+
+    public void recordUsersCreated(Collection<? extends User> users) {
+        afterCommit(() -> users.forEach(user -> users(user.getIsActive()).get(user.getRole()).increment()));
+    }
+
+    public void recordUserStatusChanged(UserRole role, boolean wasActive, boolean active) {
+        if (wasActive == active) {
+            return;
+        }
+        afterCommit(() -> {
+            users(wasActive).get(role).decrement();
+            users(active).get(role).increment();
+        });
+    }
+
+    public void recordSubjectCreated() {
+        afterCommit(subjects::increment);
+    }
+
+    public void recordGradesCreated(Collection<Grade> grades) {
+        afterCommit(() -> {
+            for (Grade grade : grades) {
+                grades(grade.getExamType()).increment();
+                addRecent(grade.getCreatedAt(), 1);
+            }
+        });
+    }
+
+    public void recordGradeUpdated(ExamType oldType, ExamType newType) {
+        if (oldType == newType) {
+            return;
+        }
+        afterCommit(() -> {
+            grades(oldType).decrement();
+            grades(newType).increment();
+        });
+    }
+
+    public void recordGradeDeleted(ExamType examType, LocalDateTime createdAt) {
+        afterCommit(() -> {
+            grades(examType).decrement();
+            addRecent(createdAt, -1);
+        });
+    }
+
+    /**
+     * Reconcile on the next check, e.g. after a delete that cascaded to rows the caller did not count
+     */
+    public void markStale() {
+        stale.set(true);
+    }
+
+    /**
+     * Dashboard statistics, from memory
+     */
+    public Map<String, Object> getStatistics() {
+        if (reconciledAt == null) {
+            reconcile();
+        }
+        long active = sum(activeUsers);
+        long inactive = sum(inactiveUsers);
+
+        Map<String, Long> byExamType = new LinkedHashMap<>();
+        long totalGrades = 0;
+        for (ExamType type : ExamType.values()) {
+            long count = gradesByExamType[type.ordinal()].sum();
+            byExamType.put(type.name(), count);
+            totalGrades += count;
+        }
+        long withoutType = gradesByExamType[ExamType.values().length].sum();
+        if (withoutType != 0) {
+            byExamType.put("NONE", withoutType);
+        }
+        totalGrades += withoutType;
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("totalStudents", usersOfRole(UserRole.STUDENT));
+        statistics.put("totalTeachers", usersOfRole(UserRole.TEACHER));
+        statistics.put("totalAdmins", usersOfRole(UserRole.ADMIN));
+        statistics.put("totalSubjects", subjects.sum());
+        statistics.put("totalUsers", active + inactive);
+        statistics.put("activeUsers", active);
+        statistics.put("inactiveUsers", inactive);
+        statistics.put("totalGrades", totalGrades);
+        statistics.put("gradesByExamType", byExamType);
+        statistics.put("gradesLast24h", recentTotal());
+        statistics.put("reconciledAt", reconciledAt);
+        return statistics;
+    }
+
+    /**
+     * Seed the counters at startup; when this fails the first statistics request seeds them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            logger.warn("Could not seed dashboard counters", ex);
+        }
+    }
+
+    /**
+     * Reconcile when the counters were marked stale or the reconcile interval has elapsed
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.check-interval-ms:5000}")
+    public void reconcileIfDue() {
+        if (stale.get() || System.currentTimeMillis() - reconciledAtMs >= reconcileIntervalMs) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Reset every counter from the database. Changes committed while the counts are read may be
+     * counted twice or missed until the next reconciliation.
+     */
+    public synchronized void reconcile() {
+        long start = System.currentTimeMillis();
+        stale.set(false);
+
+        Map<UserRole, Long> active = new EnumMap<>(UserRole.class);
+        Map<UserRole, Long> inactive = new EnumMap<>(UserRole.class);
+        for (UserCount count : userRepository.countByRoleAndActive()) {
+            (Boolean.FALSE.equals(count.getActive()) ? inactive : active).merge(count.getRole(), count.getTotal(), Long::sum);
+        }
+        for (UserRole role : UserRole.values()) {
+            reset(activeUsers.get(role), active.getOrDefault(role, 0L));
+            reset(inactiveUsers.get(role), inactive.getOrDefault(role, 0L));
+        }
+
+        reset(subjects, subjectRepository.count());
+
+        long[] byExamType = new long[gradesByExamType.length];
+        for (ExamTypeCount count : gradeRepository.countByExamType()) {
+            byExamType[count.getExamType() != null ? count.getExamType().ordinal() : ExamType.values().length] = count.getTotal();
+        }
+        for (int i = 0; i < byExamType.length; i++) {
+            reset(gradesByExamType[i], byExamType[i]);
+        }
+
+        long firstMinute = epochMinute(LocalDateTime.now()) - WINDOW_MINUTES + 1;
+        List<GradeMinuteCount> recent = gradeRepository.countCreatedPerMinuteSince(
+                LocalDateTime.ofEpochSecond(firstMinute * 60, 0, ZoneOffset.UTC));
+        synchronized (recentMinutes) {
+            Arrays.fill(recentMinutes, 0);
+            Arrays.fill(recentCounts, 0);
+            for (GradeMinuteCount count : recent) {
+                LocalDateTime minute = LocalDateTime.of(count.getYear(), count.getMonth(), count.getDay(), count.getHour(), count.getMinute());
+                addRecentLocked(epochMinute(minute), count.getTotal());
+            }
+        }
+
+        reconciledAt = LocalDateTime.now();
+        reconciledAtMs = System.currentTimeMillis();
+        logger.debug("Reconciled dashboard counters in {} ms", reconciledAtMs - start);
+    }
+
+    private void addRecent(LocalDateTime createdAt, long delta) {
+        if (createdAt == null) {
+            return;
+        }
+        synchronized (recentMinutes) {
+            addRecentLocked(epochMinute(createdAt), delta);
+        }
+    }
+
+    private void addRecentLocked(long minute, long delta) {
+        if (minute <= epochMinute(LocalDateTime.now()) - WINDOW_MINUTES) {
+            return;
+        }
+        int slot = (int) Math.floorMod(minute, (long) WINDOW_MINUTES);
+        if (recentMinutes[slot] != minute) {
+            if (delta < 0) {
+                // The minute was never counted or has already left the window
+                return;
+            }
+            recentMinutes[slot] = minute;
+            recentCounts[slot] = 0;
+        }
+        recentCounts[slot] = Math.max(0, recentCounts[slot] + delta);
+    }
+
+    private long recentTotal() {
+        long lastMinute = epochMinute(LocalDateTime.now());
+        long total = 0;
+        synchronized (recentMinutes) {
+            for (int slot = 0; slot < WINDOW_MINUTES; slot++) {
+                if (recentMinutes[slot] > lastMinute - WINDOW_MINUTES && recentMinutes[slot] <= lastMinute) {
+                    total += recentCounts[slot];
+                }
+            }
+        }
+        return total;
+    }
+
+    private Map<UserRole, LongAdder> users(Boolean active) {
+        return Boolean.FALSE.equals(active) ? inactiveUsers : activeUsers;
+    }
+
+    private LongAdder grades(ExamType examType) {
+        return gradesByExamType[examType != null ? examType.ordinal() : ExamType.values().length];
+    }
+
+    private long usersOfRole(UserRole role) {
+        return activeUsers.get(role).sum() + inactiveUsers.get(role).sum();
+    }
+
+    private static long sum(Map<UserRole, LongAdder> counters) {
+        return counters.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private static void reset(LongAdder counter, long value) {
+        counter.add(value - counter.sum());
+    }
+
+    /**
+     * Minutes since the epoch of a local date-time; only compared with other local date-times
+     */
+    private static long epochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60L);
+    }
+
+    /**
+     * Run a counter change once the current transaction commits, or right away outside of one
+     */
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.entity.Class;
+import com.projetfulstack.studentgrademanagement.entity.Student;
+import com.projetfulstack.studentgrademanagement.repository.ClassRepository;
+import com.projetfulstack.studentgrademanagement.repository.StudentRepository;
+import com.projetfulstack.studentgrademanagement.repository.SubjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enrollment Service
+ * A student is enrolled in the subjects of its class (class_subjects). Keeps one bitmap of enrolled
+ * student ids per subject, built on first use with one join query and updated after each committed
+ * class membership change, so listing a subject's students costs a lookup by id of its class members.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Service
+public class EnrollmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentService.class);
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Enrolled student ids by subject id; every access holds the monitor of this map
+     */
+    private final Map<Long, BitSet> studentIdsBySubject = new HashMap<>();
+
+    /**
+     * Ids of the students enrolled in a subject, ascending
+     */
+    public List<Long> getStudentIds(Long subjectId) {
+        synchronized (studentIdsBySubject) {
+            BitSet studentIds = studentIdsBySubject.get(subjectId);
+            if (studentIds == null) {
+                studentIds = build(subjectId);
+                studentIdsBySubject.put(subjectId, studentIds);
+            }
+            List<Long> ids = new ArrayList<>(studentIds.cardinality());
+            for (int id = studentIds.nextSetBit(0); id >= 0; id = studentIds.nextSetBit(id + 1)) {
+                ids.add((long) id);
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * Move a student to a class, or out of any class when classId is null
+     */
+    @Transactional
+    public void assignClass(Long studentId, Long classId) {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new RuntimeException("Student not found"));
+        Class studentClass = classId != null
+                ? classRepository.findById(classId).orElseThrow(() -> new RuntimeException("Class not found"))
+                : null;
+        student.setStudentClass(studentClass);
+        eventPublisher.publishEvent(ClassMembershipChangedEvent.of(studentId, classId));
+    }
+
+    /**
+     * Drop a deleted student from every loaded subject
+     */
+    public void removeStudent(Long studentId) {
+        synchronized (studentIdsBySubject) {
+            studentIdsBySubject.values().forEach(studentIds -> studentIds.clear(bit(studentId)));
+        }
+    }
+
+    /**
+     * Drop the bitmap of a subject, e.g. after the subject was deleted or its classes changed
+     */
+    public void evictSubject(Long subjectId) {
+        synchronized (studentIdsBySubject) {
+            studentIdsBySubject.remove(subjectId);
+        }
+    }
+
+    public void clear() {
+        synchronized (studentIdsBySubject) {
+            studentIdsBySubject.clear();
+        }
+    }
+
+    /**
+     * Apply committed class membership changes to the loaded bitmaps
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onClassMembershipChanged(ClassMembershipChangedEvent event) {
+        synchronized (studentIdsBySubject) {
+            if (studentIdsBySubject.isEmpty()) {
+                return;
+            }
+            Map<Long, List<Long>> subjectIdsByClass = new HashMap<>();
+            for (Map.Entry<Long, Long> change : event.getClassIdByStudentId().entrySet()) {
+                int studentBit = bit(change.getKey());
+                studentIdsBySubject.values().forEach(studentIds -> studentIds.clear(studentBit));
+                if (change.getValue() == null) {
+                    continue;
+                }
+                List<Long> subjectIds = subjectIdsByClass.computeIfAbsent(change.getValue(), classRepository::findSubjectIdsById);
+                for (Long subjectId : subjectIds) {
+                    BitSet studentIds = studentIdsBySubject.get(subjectId);
+                    if (studentIds != null) {
+                        studentIds.set(studentBit);
+                    }
+                }
+            }
+        }
+    }
+
+    private BitSet build(Long subjectId) {
+        if (!subjectRepository.existsById(subjectId)) {
+            throw new RuntimeException("Subject not found");
+        }
+        long start = System.currentTimeMillis();
+        BitSet studentIds = new BitSet();
+        for (Long studentId : studentRepository.findIdsBySubjectId(subjectId)) {
+            studentIds.set(bit(studentId));
+        }
+        logger.debug("Built enrollment of subject {} ({} students) in {} ms", subjectId, studentIds.cardinality(), System.currentTimeMillis() - start);
+        return studentIds;
+    }
+
+    private static int bit(Long studentId) {
+        return Math.toIntExact(studentId);
+    }
+}
@@ -0,0 +1,379 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.GradeStatistics;
+import com.projetfulstack.studentgrademanagement.entity.Grade;
+import com.projetfulstack.studentgrademanagement.entity.GradeAggregate;
+import com.projetfulstack.studentgrademanagement.entity.GradeAggregateScope;
+import com.projetfulstack.studentgrademanagement.entity.Subject;
+import com.projetfulstack.studentgrademanagement.repository.GradeAggregateRepository;
+import com.projetfulstack.studentgrademanagement.repository.GradeRepository;
+import com.projetfulstack.studentgrademanagement.repository.StudentRepository;
+import com.projetfulstack.studentgrademanagement.repository.SubjectRepository;
+import com.projetfulstack.studentgrademanagement.repository.TeacherRepository;
+import com.projetfulstack.studentgrademanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Grade Aggregate Service
+ * Maintains per (student, subject), per subject and per student running grade aggregates
+ * inside the transaction that changes the grades, so statistics reads are single-row lookups.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Service
+public class GradeAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeAggregateService.class);
+
+    private static final double TOLERANCE = 1e-6;
+
+    /**
+     * A key can only vanish between the update and the insert when a concurrent delete empties it
+     */
+    private static final int MAX_UPSERT_ATTEMPTS = 5;
+
+    @Autowired
+    private GradeAggregateRepository gradeAggregateRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Record newly inserted grades; deltas are grouped per key so a batch costs one UPDATE per key
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdded(Collection<Grade> grades) {
+        Map<Key, GradeAggregate> deltas = new LinkedHashMap<>();
+        for (Grade grade : grades) {
+            Long studentId = grade.getStudent().getId();
+            Long subjectId = grade.getSubject().getId();
+            for (Key key : Key.of(studentId, subjectId)) {
+                deltas.computeIfAbsent(key, k -> new GradeAggregate(k.scope, k.studentId, k.subjectId))
+                      .add(grade.getGradeValue());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (GradeAggregate delta : deltas.values()) {
+            add(delta, now);
+        }
+    }
+
+    /**
+     * Record a grade that was deleted; must be called after the delete has been flushed
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Long studentId, Long subjectId, double value) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Key key : Key.of(studentId, subjectId)) {
+            gradeAggregateRepository.subtractFromAggregate(key.scope, key.studentId, key.subjectId,
+                    1, value, value * value, now);
+            if (gradeAggregateRepository.deleteIfEmpty(key.scope, key.studentId, key.subjectId) == 0) {
+                refreshIfBoundary(key, value);
+            }
+        }
+    }
+
+    /**
+     * Record a grade value change; must be called after the update has been flushed
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(Long studentId, Long subjectId, double oldValue, double newValue) {
+        if (Double.compare(oldValue, newValue) == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        double sumDelta = newValue - oldValue;
+        double squaresDelta = newValue * newValue - oldValue * oldValue;
+        for (Key key : Key.of(studentId, subjectId)) {
+            gradeAggregateRepository.addToAggregate(key.scope, key.studentId, key.subjectId,
+                    0, sumDelta, squaresDelta, newValue, newValue, now);
+            refreshIfBoundary(key, oldValue);
+        }
+    }
+
+    /**
+     * Delete a student, taking its grades out of the aggregates in the same transaction
+     */
+    @Transactional
+    public void deleteStudent(Long studentId) {
+        removeStudent(studentId);
+        studentRepository.deleteById(studentId);
+    }
+
+    /**
+     * Delete a teacher, taking the grades of its subjects out of the aggregates in the same transaction
+     */
+    @Transactional
+    public void deleteTeacher(Long teacherId) {
+        removeUser(teacherId);
+        teacherRepository.deleteById(teacherId);
+    }
+
+    /**
+     * Delete a user of any role, taking the grades it cascades out of the aggregates in the same transaction
+     */
+    @Transactional
+    public void deleteUser(Long userId) {
+        removeUser(userId);
+        userRepository.deleteById(userId);
+    }
+
+    /**
+     * Delete a subject, taking its grades out of the aggregates in the same transaction
+     */
+    @Transactional
+    public void deleteSubject(Long subjectId) {
+        removeSubject(subjectId);
+        subjectRepository.deleteById(subjectId);
+    }
+
+    /**
+     * Statistics of one key, without histogram; empty statistics when the key has no grade
+     */
+    @Transactional(readOnly = true)
+    public GradeStatistics getStatistics(GradeAggregateScope scope, Long studentId, Long subjectId) {
+        return gradeAggregateRepository.findStatistics(scope,
+                        studentId != null ? studentId : GradeAggregate.NONE,
+                        subjectId != null ? subjectId : GradeAggregate.NONE)
+                .orElseGet(() -> new GradeStatistics(0L, 0.0, 0.0, null, null));
+    }
+
+    /**
+     * Recompute every aggregate from the grades table, report how many stored rows disagreed,
+     * and replace the store unless this is a dry run
+     */
+    @Transactional
+    public Map<String, Object> rebuild(boolean dryRun) {
+        long start = System.currentTimeMillis();
+        if (!dryRun) {
+            lockForRebuild();
+        }
+
+        Map<Key, GradeAggregate> expected = new HashMap<>();
+        for (GradeAggregate row : gradeRepository.computeStudentSubjectAggregates()) {
+            expected.put(new Key(GradeAggregateScope.STUDENT_SUBJECT, row.getStudentId(), row.getSubjectId()), row);
+            for (Key key : new Key[] {
+                    new Key(GradeAggregateScope.SUBJECT, GradeAggregate.NONE, row.getSubjectId()),
+                    new Key(GradeAggregateScope.STUDENT, row.getStudentId(), GradeAggregate.NONE)}) {
+                expected.computeIfAbsent(key, k -> new GradeAggregate(k.scope, k.studentId, k.subjectId)).merge(row);
+            }
+        }
+
+        int mismatched = 0;
+        int extra = 0;
+        Map<Key, GradeAggregate> missing = new HashMap<>(expected);
+        List<GradeAggregate> stored = gradeAggregateRepository.findAll();
+        for (GradeAggregate aggregate : stored) {
+            GradeAggregate reference = missing.remove(new Key(aggregate.getScope(), aggregate.getStudentId(), aggregate.getSubjectId()));
+            if (reference == null) {
+                extra++;
+            } else if (!matches(aggregate, reference)) {
+                mismatched++;
+            }
+        }
+
+        if (!dryRun) {
+            gradeAggregateRepository.deleteAllInBatch();
+            gradeAggregateRepository.saveAll(expected.values());
+        }
+
+        boolean consistent = mismatched == 0 && extra == 0 && missing.isEmpty();
+        if (!consistent) {
+            logger.warn("Grade aggregates were inconsistent: {} mismatched, {} missing, {} extra",
+                    mismatched, missing.size(), extra);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("dryRun", dryRun);
+        report.put("consistent", consistent);
+        report.put("checked", stored.size());
+        report.put("mismatched", mismatched);
+        report.put("missing", missing.size());
+        report.put("extra", extra);
+        report.put("rebuilt", dryRun ? 0 : expected.size());
+        report.put("elapsedMillis", System.currentTimeMillis() - start);
+        return report;
+    }
+
+    /**
+     * Add a delta to its key, inserting the key if needed. Two transactions recording the first grade of a key
+     * both try the insert: the loser's insert does nothing once the winner commits, and it retries the update.
+     */
+    private void add(GradeAggregate delta, LocalDateTime now) {
+        for (int attempt = 0; attempt < MAX_UPSERT_ATTEMPTS; attempt++) {
+            int updated = gradeAggregateRepository.addToAggregate(delta.getScope(), delta.getStudentId(),
+                    delta.getSubjectId(), delta.getCount(), delta.getSum(), delta.getSumOfSquares(),
+                    delta.getMin(), delta.getMax(), now);
+            if (updated > 0) {
+                return;
+            }
+            int inserted = gradeAggregateRepository.insertIfAbsent(delta.getScope().name(), delta.getStudentId(),
+                    delta.getSubjectId(), delta.getCount(), delta.getSum(), delta.getSumOfSquares(),
+                    delta.getMin(), delta.getMax(), now);
+            if (inserted > 0) {
+                return;
+            }
+        }
+        throw new IllegalStateException("Could not record grade aggregate " + delta.getScope() + " "
+                + delta.getStudentId() + "/" + delta.getSubjectId());
+    }
+
+    /**
+     * Take the grades that deleting this user cascades (as a student, or through the subjects of a teacher) out of the aggregates
+     */
+    private void removeUser(Long userId) {
+        removeStudent(userId);
+        for (Subject subject : subjectRepository.findByTeacherId(userId)) {
+            removeSubject(subject.getId());
+        }
+    }
+
+    /**
+     * Drop the aggregates of a student about to be deleted and take its grades out of the subject aggregates
+     */
+    private void removeStudent(Long studentId) {
+        List<GradeAggregate> perSubject = gradeAggregateRepository.findByScopeAndStudentId(GradeAggregateScope.STUDENT_SUBJECT, studentId);
+        gradeAggregateRepository.deleteByStudentId(studentId);
+        for (GradeAggregate aggregate : perSubject) {
+            refresh(new Key(GradeAggregateScope.SUBJECT, GradeAggregate.NONE, aggregate.getSubjectId()), studentId, null);
+        }
+    }
+
+    /**
+     * Drop the aggregates of a subject about to be deleted and take its grades out of the student aggregates
+     */
+    private void removeSubject(Long subjectId) {
+        List<GradeAggregate> perStudent = gradeAggregateRepository.findByScopeAndSubjectId(GradeAggregateScope.STUDENT_SUBJECT, subjectId);
+        gradeAggregateRepository.deleteBySubjectId(subjectId);
+        for (GradeAggregate aggregate : perStudent) {
+            refresh(new Key(GradeAggregateScope.STUDENT, aggregate.getStudentId(), GradeAggregate.NONE), null, subjectId);
+        }
+    }
+
+    /**
+     * Hold off grade writers until the rebuilt aggregates are committed. Taken before the grades are read:
+     * a writer that already changed an aggregate commits first and its grade is counted, a writer that has
+     * not waits and then applies its delta on top of the rebuilt row. The grades table is not locked.
+     */
+    private void lockForRebuild() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equals(database)) {
+            gradeAggregateRepository.lockForRebuild();
+        } else {
+            logger.warn("Rebuilding grade aggregates without a table lock on {}; concurrent grade writes may be lost", database);
+        }
+    }
+
+    /**
+     * Min and max cannot be decremented; recompute the key from the grades table when the
+     * removed value may have been one of them
+     */
+    private void refreshIfBoundary(Key key, double removedValue) {
+        gradeAggregateRepository.findStatistics(key.scope, key.studentId, key.subjectId)
+                .filter(current -> current.getMin() == null || current.getMax() == null
+                        || removedValue <= current.getMin() || removedValue >= current.getMax())
+                .ifPresent(current -> refresh(key, null, null));
+    }
+
+    /**
+     * Overwrite one key with exact values from the grades table, deleting it when no grade is left.
+     * The excluded ids are those of a student or subject whose grades are about to be cascade-deleted.
+     */
+    private void refresh(Key key, Long excludedStudentId, Long excludedSubjectId) {
+        GradeStatistics actual;
+        switch (key.scope) {
+            case STUDENT_SUBJECT:
+                actual = gradeRepository.findStatisticsByStudentAndSubject(key.studentId, key.subjectId);
+                break;
+            case SUBJECT:
+                actual = excludedStudentId != null
+                        ? gradeRepository.findStatisticsBySubjectExcludingStudent(key.subjectId, excludedStudentId)
+                        : gradeRepository.findStatisticsBySubject(key.subjectId);
+                break;
+            default:
+                actual = excludedSubjectId != null
+                        ? gradeRepository.findStatisticsByStudentExcludingSubject(key.studentId, excludedSubjectId)
+                        : gradeRepository.findStatisticsByStudent(key.studentId);
+                break;
+        }
+        gradeAggregateRepository.overwriteAggregate(key.scope, key.studentId, key.subjectId, actual.getCount(),
+                actual.getSum(), actual.getSumOfSquares(), actual.getMin(), actual.getMax(), LocalDateTime.now());
+        gradeAggregateRepository.deleteIfEmpty(key.scope, key.studentId, key.subjectId);
+    }
+
+    private static boolean matches(GradeAggregate stored, GradeAggregate expected) {
+        return Objects.equals(stored.getCount(), expected.getCount())
+                && Math.abs(stored.getSum() - expected.getSum()) < TOLERANCE
+                && Math.abs(stored.getSumOfSquares() - expected.getSumOfSquares()) < TOLERANCE
+                && Objects.equals(stored.getMin(), expected.getMin())
+                && Objects.equals(stored.getMax(), expected.getMax());
+    }
+
+    /**
+     * Aggregate key; ids that do not apply to the scope are GradeAggregate.NONE
+     */
+    private static final class Key {
+        final GradeAggregateScope scope;
+        final Long studentId;
+        final Long subjectId;
+
+        Key(GradeAggregateScope scope, Long studentId, Long subjectId) {
+            this.scope = scope;
+            this.studentId = studentId;
+            this.subjectId = subjectId;
+        }
+
+        static Key[] of(Long studentId, Long subjectId) {
+            return new Key[] {
+                new Key(GradeAggregateScope.STUDENT_SUBJECT, studentId, subjectId),
+                new Key(GradeAggregateScope.SUBJECT, GradeAggregate.NONE, subjectId),
+                new Key(GradeAggregateScope.STUDENT, studentId, GradeAggregate.NONE)
+            };
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return scope == key.scope && studentId.equals(key.studentId) && subjectId.equals(key.subjectId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, studentId, subjectId);
+        }
+    }
+}
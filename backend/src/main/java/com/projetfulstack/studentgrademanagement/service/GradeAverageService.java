@@ -0,0 +1,225 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.ReportCardRow;
+import com.projetfulstack.studentgrademanagement.dto.StudentAverage;
+import com.projetfulstack.studentgrademanagement.dto.SubjectAverage;
+import com.projetfulstack.studentgrademanagement.entity.ExamType;
+import com.projetfulstack.studentgrademanagement.entity.Student;
+import com.projetfulstack.studentgrademanagement.repository.ClassRepository;
+import com.projetfulstack.studentgrademanagement.repository.GradeRepository;
+import com.projetfulstack.studentgrademanagement.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grade Average Service
+ * Computes exam-type weighted subject averages, coefficient-weighted overall averages and
+ * credit-weighted GPAs in a single pass over flattened grade rows, for one student or a whole class
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Service
+public class GradeAverageService {
+
+    /**
+     * Every grade is normalized to this scale before averaging
+     */
+    public static final double SCALE = 20.0;
+
+    private static final String EXAM_TYPE_WEIGHT_PREFIX = "app.averages.exam-type-weights.";
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.averages.passing-grade:10}")
+    private double passingGrade;
+
+    @Value("${app.averages.gpa-scale:4}")
+    private double gpaScale;
+
+    /**
+     * Weight of each exam type, indexed by ExamType ordinal
+     */
+    private double[] examTypeWeights;
+
+    @PostConstruct
+    void loadExamTypeWeights() {
+        ExamType[] types = ExamType.values();
+        double[] weights = new double[types.length];
+        for (ExamType type : types) {
+            double weight = environment.getProperty(EXAM_TYPE_WEIGHT_PREFIX + type.name(), Double.class, 1.0);
+            if (weight < 0 || Double.isNaN(weight)) {
+                throw new IllegalStateException("Invalid weight " + weight + " for exam type " + type);
+            }
+            weights[type.ordinal()] = weight;
+        }
+        examTypeWeights = weights;
+    }
+
+    /**
+     * Averages of one student
+     */
+    @Transactional(readOnly = true)
+    public StudentAverage computeStudent(Long studentId) {
+        List<StudentAverage> averages = compute(gradeRepository.findReportCardRowsByStudentId(studentId));
+        return averages.isEmpty() ? StudentAverage.empty(studentId) : averages.get(0);
+    }
+
+    /**
+     * Averages of one student over the grades given in a class, as computeClass computes them
+     */
+    @Transactional(readOnly = true)
+    public StudentAverage computeStudentInClass(Long studentId, Long classId) {
+        List<StudentAverage> averages = compute(gradeRepository.findReportCardRowsByStudentIdAndClassId(studentId, classId));
+        return averages.isEmpty() ? StudentAverage.empty(studentId) : averages.get(0);
+    }
+
+    /**
+     * Averages of every student of a class, in student order; students without grades get empty averages
+     */
+    @Transactional(readOnly = true)
+    public List<StudentAverage> computeClass(Long classId) {
+        if (!classRepository.existsById(classId)) {
+            throw new RuntimeException("Class not found");
+        }
+
+        Map<Long, StudentAverage> byStudent = new HashMap<>();
+        for (StudentAverage average : compute(gradeRepository.findReportCardRowsByClassId(classId))) {
+            byStudent.put(average.getStudentId(), average);
+        }
+
+        List<Student> students = studentRepository.findByStudentClassId(classId);
+        List<StudentAverage> averages = new ArrayList<>(students.size());
+        for (Student student : students) {
+            StudentAverage average = byStudent.get(student.getId());
+            averages.add(average != null ? average : StudentAverage.empty(student.getId()));
+        }
+        return averages;
+    }
+
+    /**
+     * Compute averages from grade rows that are grouped by student (as the report card queries return them).
+     * Subjects are mapped to dense indexes once, and each student is accumulated into reused primitive
+     * arrays, so the cost is one pass over the rows whatever the number of students.
+     */
+    public List<StudentAverage> compute(List<ReportCardRow> rows) {
+        List<StudentAverage> results = new ArrayList<>();
+        int n = rows.size();
+        if (n == 0) {
+            return results;
+        }
+
+        Map<Long, Integer> subjectIndexes = new HashMap<>();
+        List<ReportCardRow> subjectRows = new ArrayList<>();
+        double[] weightedSum = new double[16];
+        double[] weightSum = new double[16];
+        int[] count = new int[16];
+        int[] touched = new int[16];
+
+        int start = 0;
+        while (start < n) {
+            Long studentId = rows.get(start).getStudentId();
+            int touchedCount = 0;
+            int i = start;
+            for (; i < n && studentId.equals(rows.get(i).getStudentId()); i++) {
+                ReportCardRow row = rows.get(i);
+                Integer index = subjectIndexes.get(row.getSubjectId());
+                if (index == null) {
+                    index = subjectRows.size();
+                    subjectIndexes.put(row.getSubjectId(), index);
+                    subjectRows.add(row);
+                    if (index == count.length) {
+                        int capacity = count.length * 2;
+                        weightedSum = Arrays.copyOf(weightedSum, capacity);
+                        weightSum = Arrays.copyOf(weightSum, capacity);
+                        count = Arrays.copyOf(count, capacity);
+                        touched = Arrays.copyOf(touched, capacity);
+                    }
+                }
+                int s = index;
+                if (count[s] == 0) {
+                    touched[touchedCount++] = s;
+                }
+                double weight = row.getExamType() != null ? examTypeWeights[row.getExamType().ordinal()] : 1.0;
+                weightedSum[s] += normalize(row.getGradeValue(), row.getMaxGrade()) * weight;
+                weightSum[s] += weight;
+                count[s]++;
+            }
+
+            results.add(summarize(studentId, subjectRows, touched, touchedCount, weightedSum, weightSum, count));
+
+            for (int t = 0; t < touchedCount; t++) {
+                int s = touched[t];
+                weightedSum[s] = 0;
+                weightSum[s] = 0;
+                count[s] = 0;
+            }
+            start = i;
+        }
+        return results;
+    }
+
+    private StudentAverage summarize(Long studentId, List<ReportCardRow> subjectRows, int[] touched, int touchedCount,
+                                     double[] weightedSum, double[] weightSum, int[] count) {
+        List<SubjectAverage> subjects = new ArrayList<>(touchedCount);
+        double coefficientSum = 0;
+        double coefficientWeighted = 0;
+        int creditsAttempted = 0;
+        int creditsEarned = 0;
+        double creditWeighted = 0;
+
+        for (int t = 0; t < touchedCount; t++) {
+            int s = touched[t];
+            ReportCardRow subject = subjectRows.get(s);
+            double coefficient = subject.getCoefficient() != null ? subject.getCoefficient() : 1.0;
+            int credits = subject.getCredits() != null ? subject.getCredits() : 0;
+            // A subject whose grades all have a zero exam-type weight has no average and does not count
+            Double average = weightSum[s] > 0 ? weightedSum[s] / weightSum[s] : null;
+
+            subjects.add(new SubjectAverage(subject.getSubjectId(), subject.getSubjectCode(), subject.getSubjectName(),
+                    coefficient, credits, count[s], average));
+
+            if (average != null) {
+                coefficientSum += coefficient;
+                coefficientWeighted += coefficient * average;
+                creditsAttempted += credits;
+                creditWeighted += credits * average;
+                if (average >= passingGrade) {
+                    creditsEarned += credits;
+                }
+            }
+        }
+
+        Double overallAverage = coefficientSum > 0 ? coefficientWeighted / coefficientSum : null;
+        Double gpa = creditsAttempted > 0 ? creditWeighted / creditsAttempted / SCALE * gpaScale : null;
+        return new StudentAverage(studentId, overallAverage, gpa, creditsAttempted, creditsEarned, subjects);
+    }
+
+    /**
+     * Grade value on the /20 scale; a missing or non-positive max grade is taken as 20
+     */
+    private static double normalize(Double gradeValue, Double maxGrade) {
+        double max = maxGrade != null && maxGrade > 0 ? maxGrade : SCALE;
+        return (gradeValue != null ? gradeValue : 0.0) / max * SCALE;
+    }
+}
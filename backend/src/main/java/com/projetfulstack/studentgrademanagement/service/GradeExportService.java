@@ -0,0 +1,113 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.GradeExportRow;
+import com.projetfulstack.studentgrademanagement.repository.GradeRepository;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Grade Export Service
+ * Writes grades to XLSX with a bounded SXSSF row window, reading them from a forward-only stream.
+ * Exports longer than one sheet continue on "Grades 2", "Grades 3"..., each with its own header.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Service
+public class GradeExportService {
+
+    private static final String[] HEADERS = {
+        "Grade ID", "Student ID", "Last Name", "First Name", "Subject Code", "Subject",
+        "Exam Type", "Exam Date", "Grade", "Max Grade", "Teacher", "Comment"
+    };
+
+    /**
+     * Grade rows per sheet: an XLSX sheet holds at most 1,048,576 rows, one of which is the header
+     */
+    private static final int ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Value("${app.grades.export.row-window:100}")
+    private int rowWindow;
+
+    /**
+     * Write every grade (optionally of one academic year) as an XLSX workbook.
+     * Only {@code rowWindow} rows are kept in memory; older rows are flushed to a compressed temp file.
+     */
+    @Transactional(readOnly = true)
+    public void exportGrades(String academicYear, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        try (workbook; Stream<GradeExportRow> rows = gradeRepository.streamExportRows(academicYear)) {
+            CellStyle headerStyle = workbook.createCellStyle();
+            Font headerFont = workbook.createFont();
+            headerFont.setBold(true);
+            headerStyle.setFont(headerFont);
+
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
+
+            int sheetCount = 1;
+            SXSSFSheet sheet = createSheet(workbook, "Grades", headerStyle);
+            int rowIndex = 1;
+            Iterator<GradeExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                GradeExportRow grade = iterator.next();
+                if (rowIndex > ROWS_PER_SHEET) {
+                    sheet = createSheet(workbook, "Grades " + ++sheetCount, headerStyle);
+                    rowIndex = 1;
+                }
+                Row row = sheet.createRow(rowIndex++);
+                row.createCell(0).setCellValue(grade.getGradeId());
+                row.createCell(1).setCellValue(grade.getStudentNumber());
+                row.createCell(2).setCellValue(grade.getStudentLastName());
+                row.createCell(3).setCellValue(grade.getStudentFirstName());
+                row.createCell(4).setCellValue(grade.getSubjectCode());
+                row.createCell(5).setCellValue(grade.getSubjectName());
+                row.createCell(6).setCellValue(grade.getExamType() != null ? grade.getExamType().name() : "");
+                if (grade.getExamDate() != null) {
+                    row.createCell(7).setCellValue(grade.getExamDate());
+                    row.getCell(7).setCellStyle(dateStyle);
+                }
+                row.createCell(8).setCellValue(grade.getGradeValue());
+                row.createCell(9).setCellValue(grade.getMaxGrade());
+                row.createCell(10).setCellValue(grade.getTeacherEmployeeId());
+                if (grade.getComment() != null) {
+                    row.createCell(11).setCellValue(grade.getComment());
+                }
+            }
+
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    /**
+     * New sheet starting with the header row
+     */
+    private static SXSSFSheet createSheet(SXSSFWorkbook workbook, String name, CellStyle headerStyle) {
+        SXSSFSheet sheet = workbook.createSheet(name);
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < HEADERS.length; i++) {
+            header.createCell(i).setCellValue(HEADERS[i]);
+            header.getCell(i).setCellStyle(headerStyle);
+        }
+        return sheet;
+    }
+}
@@ -0,0 +1,350 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.BatchResult;
+import com.projetfulstack.studentgrademanagement.dto.GradeRequest;
+import com.projetfulstack.studentgrademanagement.dto.ImportJob;
+import com.projetfulstack.studentgrademanagement.entity.ExamType;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grade Import Service
+ * Streams XLSX (POI event model) and CSV grade sheets into the grades table in fixed-size chunks.
+ *
+ * Expected columns, in order: studentId, subjectId, gradeValue, maxGrade, examType, examDate, comment.
+ * A first row whose studentId cell is not a number is treated as a header and skipped.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Service
+public class GradeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeImportService.class);
+
+    private static final int COLUMN_COUNT = 7;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    @Qualifier("gradeImportExecutor")
+    private TaskExecutor gradeImportExecutor;
+
+    @Value("${app.grades.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.grades.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${app.grades.import.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Copy the upload to a temporary file and import it in the background
+     *
+     * @throws org.springframework.core.task.TaskRejectedException when the import queue is full
+     */
+    public ImportJob submit(MultipartFile file, Long teacherId) throws IOException {
+        String fileName = Optional.ofNullable(file.getOriginalFilename()).orElse("");
+        String lowerName = fileName.toLowerCase(Locale.ROOT);
+        boolean xlsx = lowerName.endsWith(".xlsx");
+        if (!xlsx && !lowerName.endsWith(".csv")) {
+            throw new IllegalArgumentException("Only .xlsx and .csv files are supported");
+        }
+
+        evictExpiredJobs();
+
+        Path tempFile = Files.createTempFile("grade-import-", xlsx ? ".xlsx" : ".csv");
+        file.transferTo(tempFile);
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), teacherId, fileName, maxReportedErrors);
+        jobs.put(job.getJobId(), job);
+        try {
+            gradeImportExecutor.execute(() -> run(job, tempFile, xlsx));
+        } catch (RuntimeException ex) {
+            jobs.remove(job.getJobId());
+            Files.deleteIfExists(tempFile);
+            throw ex;
+        }
+        return job;
+    }
+
+    /**
+     * Find an import job by id
+     */
+    public Optional<ImportJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void run(ImportJob job, Path file, boolean xlsx) {
+        job.setStatus(ImportJob.Status.RUNNING);
+        ChunkWriter writer = new ChunkWriter(job);
+        try {
+            if (xlsx) {
+                readXlsx(file, writer);
+            } else {
+                readCsv(file, writer);
+            }
+            writer.flush();
+            job.finish(ImportJob.Status.COMPLETED, null);
+        } catch (Exception ex) {
+            logger.error("Grade import {} failed", job.getJobId(), ex);
+            job.finish(ImportJob.Status.FAILED, ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                logger.warn("Could not delete import file {}", file);
+            }
+        }
+    }
+
+    /**
+     * Read the first sheet with the SAX-based XSSF reader; only one row is held in memory at a time
+     */
+    private void readXlsx(Path file, ChunkWriter writer) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IllegalArgumentException("Workbook contains no sheet");
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, null, strings, new SheetRowHandler(writer), new IsoDataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        }
+    }
+
+    /**
+     * Read a CSV file line by line
+     */
+    private void readCsv(Path file, ChunkWriter writer) throws IOException {
+        CsvLines.read(file, COLUMN_COUNT, writer::accept);
+    }
+
+    private void evictExpiredJobs() {
+        LocalDateTime limit = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(limit));
+    }
+
+    /**
+     * Buffers parsed rows and writes them through GradeService, one transaction per chunk
+     */
+    private class ChunkWriter {
+
+        private final ImportJob job;
+        private final List<GradeRequest> requests = new ArrayList<>();
+        private final List<Long> rowNumbers = new ArrayList<>();
+        private boolean firstRow = true;
+
+        ChunkWriter(ImportJob job) {
+            this.job = job;
+        }
+
+        void accept(long rowNumber, String[] cells) {
+            if (Arrays.stream(cells).allMatch(cell -> cell == null || cell.isBlank())) {
+                return;
+            }
+            boolean header = firstRow && !isLong(cells[0]);
+            firstRow = false;
+            if (header) {
+                return;
+            }
+
+            try {
+                requests.add(toRequest(cells));
+                rowNumbers.add(rowNumber);
+            } catch (IllegalArgumentException ex) {
+                job.rowRejected(rowNumber, ex.getMessage());
+            }
+
+            if (requests.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (requests.isEmpty()) {
+                return;
+            }
+            List<BatchResult> results = gradeService.createGrades(requests, job.getOwnerId());
+            for (BatchResult result : results) {
+                if (BatchResult.CREATED.equals(result.getStatus())) {
+                    job.rowImported();
+                } else {
+                    job.rowRejected(rowNumbers.get(result.getIndex()), result.getError());
+                }
+            }
+            requests.clear();
+            rowNumbers.clear();
+        }
+    }
+
+    /**
+     * Collects the cells of one sheet row and hands them to the chunk writer
+     */
+    private static class SheetRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ChunkWriter writer;
+        private String[] cells = new String[COLUMN_COUNT];
+        private int nextColumn;
+
+        SheetRowHandler(ChunkWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells = new String[COLUMN_COUNT];
+            nextColumn = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            writer.accept(rowNum + 1L, cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            nextColumn = column + 1;
+            if (column < COLUMN_COUNT) {
+                cells[column] = formattedValue;
+            }
+        }
+    }
+
+    /**
+     * Formats date cells as ISO-8601 and plain numbers without locale grouping or trailing zeros
+     */
+    private static class IsoDataFormatter extends DataFormatter {
+
+        IsoDataFormatter() {
+            super(Locale.ROOT);
+        }
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).toString();
+            }
+            return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+        }
+    }
+
+    private static GradeRequest toRequest(String[] cells) {
+        GradeRequest request = new GradeRequest();
+        request.setStudentId(parseLong(cells[0], "student ID"));
+        request.setSubjectId(parseLong(cells[1], "subject ID"));
+        request.setGradeValue(parseDouble(cells[2], "grade value"));
+        Double maxGrade = parseDouble(cells[3], "max grade");
+        request.setMaxGrade(maxGrade != null ? maxGrade : 20.0);
+        request.setExamType(parseExamType(cells[4]));
+        request.setExamDate(parseDate(cells[5]));
+        request.setComment(isBlank(cells[6]) ? null : cells[6].trim());
+        return request;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static boolean isLong(String value) {
+        try {
+            return !isBlank(value) && parseLong(value, "") != null;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private static Long parseLong(String value, String field) {
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim()).longValueExact();
+        } catch (NumberFormatException | ArithmeticException ex) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private static Double parseDouble(String value, String field) {
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.trim().replace(',', '.'));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private static ExamType parseExamType(String value) {
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return ExamType.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid exam type: " + value);
+        }
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        if (isBlank(value)) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            return trimmed.length() <= 10 ? LocalDate.parse(trimmed).atStartOfDay() : LocalDateTime.parse(trimmed.replace(' ', 'T'));
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid exam date: " + value);
+        }
+    }
+}
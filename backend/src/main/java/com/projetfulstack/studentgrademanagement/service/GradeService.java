@@ -0,0 +1,298 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.BatchResult;
+import com.projetfulstack.studentgrademanagement.dto.GradeRequest;
+import com.projetfulstack.studentgrademanagement.entity.ExamType;
+import com.projetfulstack.studentgrademanagement.entity.Grade;
+import com.projetfulstack.studentgrademanagement.entity.Student;
+import com.projetfulstack.studentgrademanagement.entity.Subject;
+import com.projetfulstack.studentgrademanagement.entity.Teacher;
+import com.projetfulstack.studentgrademanagement.repository.GradeRepository;
+import com.projetfulstack.studentgrademanagement.repository.StudentRepository;
+import com.projetfulstack.studentgrademanagement.repository.SubjectRepository;
+import com.projetfulstack.studentgrademanagement.repository.TeacherRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Grade Service
+ * Grade creation, update and deletion; every change keeps the grade aggregates in step
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Service
+public class GradeService {
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private GradeAggregateService gradeAggregateService;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    /**
+     * Create one grade for a teacher
+     */
+    @Transactional
+    public Grade createGrade(GradeRequest request, Long teacherId) {
+        Teacher teacher = teacherRepository.findById(teacherId)
+                .orElseThrow(() -> new RuntimeException("Teacher not found"));
+
+        Student student = studentRepository.findById(request.getStudentId())
+                .orElseThrow(() -> new RuntimeException("Student not found"));
+
+        Subject subject = subjectRepository.findById(request.getSubjectId())
+                .orElseThrow(() -> new RuntimeException("Subject not found"));
+
+        Grade grade = new Grade();
+        grade.setGradeValue(request.getGradeValue());
+        grade.setMaxGrade(request.getMaxGrade());
+        grade.setExamType(request.getExamType());
+        grade.setExamDate(request.getExamDate() != null ? request.getExamDate() : LocalDateTime.now());
+        grade.setComment(request.getComment());
+        grade.setStudent(student);
+        grade.setSubject(subject);
+        grade.setTeacher(teacher);
+        grade.setStudentClass(student.getStudentClass());
+
+        Grade savedGrade = gradeRepository.save(grade);
+        gradeAggregateService.recordAdded(List.of(savedGrade));
+        dashboardCounterService.recordGradesCreated(List.of(savedGrade));
+        eventPublisher.publishEvent(GradesChangedEvent.of(student.getId(), subject.getId()));
+        return savedGrade;
+    }
+
+    /**
+     * Update a grade owned by the teacher (any grade for an admin)
+     *
+     * @param expectedVersion version the client last read, or null to update whatever the current version is
+     * @throws ObjectOptimisticLockingFailureException when the grade is no longer at the expected version, or is
+     *                                                 updated by another transaction before this one flushes
+     */
+    @Transactional
+    public Grade updateGrade(Long gradeId, GradeRequest request, Long teacherId, boolean admin, Long expectedVersion) {
+        Grade grade = gradeRepository.findById(gradeId)
+                .orElseThrow(() -> new RuntimeException("Grade not found"));
+
+        if (!grade.getTeacher().getId().equals(teacherId) && !admin) {
+            throw new RuntimeException("Unauthorized to update this grade");
+        }
+        checkVersion(grade, expectedVersion);
+
+        double oldValue = grade.getGradeValue();
+        ExamType oldExamType = grade.getExamType();
+        grade.setGradeValue(request.getGradeValue());
+        grade.setMaxGrade(request.getMaxGrade());
+        grade.setExamType(request.getExamType());
+        grade.setExamDate(request.getExamDate());
+        grade.setComment(request.getComment());
+
+        Grade updatedGrade = gradeRepository.saveAndFlush(grade);
+        gradeAggregateService.recordUpdated(grade.getStudent().getId(), grade.getSubject().getId(),
+                oldValue, updatedGrade.getGradeValue());
+        dashboardCounterService.recordGradeUpdated(oldExamType, updatedGrade.getExamType());
+        eventPublisher.publishEvent(GradesChangedEvent.of(grade.getStudent().getId(), grade.getSubject().getId()));
+        return updatedGrade;
+    }
+
+    /**
+     * Delete a grade owned by the teacher (any grade for an admin)
+     *
+     * @param expectedVersion version the client last read, or null to delete whatever the current version is
+     * @throws ObjectOptimisticLockingFailureException when the grade is no longer at the expected version
+     */
+    @Transactional
+    public void deleteGrade(Long gradeId, Long teacherId, boolean admin, Long expectedVersion) {
+        Grade grade = gradeRepository.findById(gradeId)
+                .orElseThrow(() -> new RuntimeException("Grade not found"));
+
+        if (!grade.getTeacher().getId().equals(teacherId) && !admin) {
+            throw new RuntimeException("Unauthorized to delete this grade");
+        }
+        checkVersion(grade, expectedVersion);
+
+        Long studentId = grade.getStudent().getId();
+        Long subjectId = grade.getSubject().getId();
+        double value = grade.getGradeValue();
+
+        gradeRepository.delete(grade);
+        gradeRepository.flush();
+        gradeAggregateService.recordRemoved(studentId, subjectId, value);
+        dashboardCounterService.recordGradeDeleted(grade.getExamType(), grade.getCreatedAt());
+        eventPublisher.publishEvent(GradesChangedEvent.of(studentId, subjectId));
+    }
+
+    /**
+     * Create many grades for one teacher.
+     * Students and subjects are resolved with one IN query each; rows are flushed
+     * every {@code batchSize} entities so Hibernate sends them as JDBC batches.
+     * Invalid rows are reported and skipped, valid rows are inserted.
+     */
+    @Transactional
+    public List<BatchResult> createGrades(List<GradeRequest> requests, Long teacherId) {
+        Teacher teacher = teacherRepository.findById(teacherId)
+                .orElseThrow(() -> new RuntimeException("Teacher not found"));
+
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> subjectIds = new HashSet<>();
+        for (GradeRequest request : requests) {
+            if (request == null) {
+                continue;
+            }
+            if (request.getStudentId() != null) {
+                studentIds.add(request.getStudentId());
+            }
+            if (request.getSubjectId() != null) {
+                subjectIds.add(request.getSubjectId());
+            }
+        }
+
+        Map<Long, Student> students = studentRepository.findAllById(studentIds).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        Map<Long, Subject> subjects = subjectRepository.findAllById(subjectIds).stream()
+                .collect(Collectors.toMap(Subject::getId, Function.identity()));
+
+        List<BatchResult> results = new ArrayList<>(requests.size());
+        List<Grade> created = new ArrayList<>();
+        List<Grade> pending = new ArrayList<>(batchSize);
+        List<Integer> pendingIndexes = new ArrayList<>(batchSize);
+
+        for (int i = 0; i < requests.size(); i++) {
+            GradeRequest request = requests.get(i);
+            String error = validate(request, students, subjects);
+            if (error != null) {
+                results.add(BatchResult.rejected(i, error));
+                continue;
+            }
+
+            Grade grade = new Grade();
+            grade.setGradeValue(request.getGradeValue());
+            grade.setMaxGrade(request.getMaxGrade());
+            grade.setExamType(request.getExamType());
+            grade.setExamDate(request.getExamDate() != null ? request.getExamDate() : LocalDateTime.now());
+            grade.setComment(request.getComment());
+            Student student = students.get(request.getStudentId());
+            grade.setStudent(student);
+            grade.setSubject(subjects.get(request.getSubjectId()));
+            grade.setTeacher(teacher);
+            grade.setStudentClass(student.getStudentClass());
+
+            entityManager.persist(grade);
+            created.add(grade);
+            pending.add(grade);
+            pendingIndexes.add(i);
+            results.add(null);
+
+            if (pending.size() >= batchSize) {
+                flushBatch(pending, pendingIndexes, results);
+            }
+        }
+        flushBatch(pending, pendingIndexes, results);
+        gradeAggregateService.recordAdded(created);
+        dashboardCounterService.recordGradesCreated(created);
+        if (!created.isEmpty()) {
+            Map<Long, Set<Long>> changes = new HashMap<>();
+            for (Grade grade : created) {
+                changes.computeIfAbsent(grade.getStudent().getId(), id -> new HashSet<>()).add(grade.getSubject().getId());
+            }
+            eventPublisher.publishEvent(new GradesChangedEvent(changes));
+        }
+
+        return results;
+    }
+
+    /**
+     * Reject the change when the caller's expected version is not the grade's current one
+     */
+    private static void checkVersion(Grade grade, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(grade.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Grade.class, grade.getId());
+        }
+    }
+
+    /**
+     * Flush pending inserts as one JDBC batch and record their generated ids
+     */
+    private void flushBatch(List<Grade> pending, List<Integer> pendingIndexes, List<BatchResult> results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        for (int j = 0; j < pending.size(); j++) {
+            int index = pendingIndexes.get(j);
+            results.set(index, BatchResult.created(index, pending.get(j).getId()));
+            entityManager.detach(pending.get(j));
+        }
+        pending.clear();
+        pendingIndexes.clear();
+    }
+
+    /**
+     * Validate one row against GradeRequest constraints and the resolved references
+     *
+     * @return an error message, or null when the row is valid
+     */
+    private String validate(GradeRequest request, Map<Long, Student> students, Map<Long, Subject> subjects) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<GradeRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .filter(Objects::nonNull)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!students.containsKey(request.getStudentId())) {
+            return "Student not found";
+        }
+        if (!subjects.containsKey(request.getSubjectId())) {
+            return "Subject not found";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Grades Changed Event
+ * Published by GradeService when grades are created, updated or deleted; lists the subjects touched per student
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class GradesChangedEvent {
+
+    private final Map<Long, Set<Long>> subjectIdsByStudentId;
+
+    public GradesChangedEvent(Map<Long, Set<Long>> subjectIdsByStudentId) {
+        this.subjectIdsByStudentId = Collections.unmodifiableMap(subjectIdsByStudentId);
+    }
+
+    public static GradesChangedEvent of(Long studentId, Long subjectId) {
+        return new GradesChangedEvent(Map.of(studentId, Set.of(subjectId)));
+    }
+
+    public Map<Long, Set<Long>> getSubjectIdsByStudentId() {
+        return subjectIdsByStudentId;
+    }
+}
@@ -0,0 +1,282 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.RankingEntry;
+import com.projetfulstack.studentgrademanagement.dto.StudentAverage;
+import com.projetfulstack.studentgrademanagement.dto.SubjectAverage;
+import com.projetfulstack.studentgrademanagement.repository.GradeRepository;
+import com.projetfulstack.studentgrademanagement.repository.StudentRepository;
+import com.projetfulstack.studentgrademanagement.repository.SubjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ranking Service
+ * Keeps one sorted score index per class (overall weighted average) and per subject (subject average).
+ * Indexes are built on first use and updated after each committed grade change.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Service
+public class RankingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankingService.class);
+
+    @Autowired
+    private GradeAverageService gradeAverageService;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    /**
+     * Above this many students in one change, the touched indexes are dropped and rebuilt on next use
+     */
+    @Value("${app.rankings.incremental-limit:100}")
+    private int incrementalLimit;
+
+    private final Map<Long, ScoreIndex> classIndexes = new ConcurrentHashMap<>();
+    private final Map<Long, ScoreIndex> subjectIndexes = new ConcurrentHashMap<>();
+    private final Map<Long, Long> classIdByStudentId = new ConcurrentHashMap<>();
+
+    /**
+     * Builds and updates are serialized so a change committed during a build is not lost
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * Sequence of the last registered change of each student with a change in progress, guarded by writeLock
+     */
+    private final Map<Long, Long> latestChangeByStudentId = new HashMap<>();
+
+    /**
+     * Subjects changed by the changes in progress of each student, guarded by writeLock
+     */
+    private final Map<Long, Set<Long>> pendingSubjectIdsByStudentId = new HashMap<>();
+
+    private long changeSequence;
+
+    /**
+     * Best students of a class
+     */
+    public List<RankingEntry> getClassTop(Long classId, int top) {
+        return classIndex(classId).top(top);
+    }
+
+    /**
+     * Rank of a student in a class, or null when the student has no grade
+     */
+    public RankingEntry getClassRank(Long classId, Long studentId) {
+        return classIndex(classId).rankOf(studentId);
+    }
+
+    /**
+     * Best students of a subject
+     */
+    public List<RankingEntry> getSubjectTop(Long subjectId, int top) {
+        return subjectIndex(subjectId).top(top);
+    }
+
+    /**
+     * Rank of a student in a subject, or null when the student has no grade in it
+     */
+    public RankingEntry getSubjectRank(Long subjectId, Long studentId) {
+        return subjectIndex(subjectId).rankOf(studentId);
+    }
+
+    /**
+     * Drop every index, e.g. after students or subjects were deleted
+     */
+    public void clear() {
+        synchronized (writeLock) {
+            classIndexes.clear();
+            subjectIndexes.clear();
+            classIdByStudentId.clear();
+        }
+    }
+
+    /**
+     * Apply committed grade changes to the loaded indexes. Averages are computed outside the write lock,
+     * which is only held to register the changes and to apply the results. When changes of one student
+     * overlap, only the last registered one is applied, to every index touched by any of them: its average
+     * was computed after all of them were committed.
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onGradesChanged(GradesChangedEvent event) {
+        Map<Long, Set<Long>> changes = event.getSubjectIdsByStudentId();
+        if (changes.size() > incrementalLimit) {
+            synchronized (writeLock) {
+                for (Map.Entry<Long, Set<Long>> change : changes.entrySet()) {
+                    Long classId = classIdByStudentId.get(change.getKey());
+                    if (classId != null) {
+                        classIndexes.remove(classId);
+                    }
+                    change.getValue().forEach(subjectIndexes::remove);
+                }
+            }
+            return;
+        }
+
+        Map<Long, Long> classIds = new HashMap<>();
+        for (Long studentId : changes.keySet()) {
+            classIds.put(studentId, classIdOf(studentId));
+        }
+
+        Map<Long, Long> sequences = new HashMap<>();
+        Set<Long> classesToCompute = new HashSet<>();
+        Set<Long> subjectsToCompute = new HashSet<>();
+        synchronized (writeLock) {
+            for (Map.Entry<Long, Set<Long>> change : changes.entrySet()) {
+                Long studentId = change.getKey();
+                long sequence = ++changeSequence;
+                sequences.put(studentId, sequence);
+                latestChangeByStudentId.put(studentId, sequence);
+                Set<Long> subjectIds = pendingSubjectIdsByStudentId.computeIfAbsent(studentId, id -> new HashSet<>());
+                subjectIds.addAll(change.getValue());
+
+                Long classId = classIds.get(studentId);
+                if (classId != null && classIndexes.containsKey(classId)) {
+                    classesToCompute.add(studentId);
+                }
+                if (subjectIds.stream().anyMatch(subjectIndexes::containsKey)) {
+                    subjectsToCompute.add(studentId);
+                }
+            }
+        }
+
+        // Class ranks only count the grades given in the class, subject ranks every grade of the subject
+        Map<Long, StudentAverage> classAverages = new HashMap<>();
+        for (Long studentId : classesToCompute) {
+            classAverages.put(studentId, gradeAverageService.computeStudentInClass(studentId, classIds.get(studentId)));
+        }
+        Map<Long, StudentAverage> averages = new HashMap<>();
+        for (Long studentId : subjectsToCompute) {
+            averages.put(studentId, gradeAverageService.computeStudent(studentId));
+        }
+
+        synchronized (writeLock) {
+            for (Map.Entry<Long, Long> registered : sequences.entrySet()) {
+                Long studentId = registered.getKey();
+                if (!registered.getValue().equals(latestChangeByStudentId.get(studentId))) {
+                    // A later change of this student was registered and applies these subjects too
+                    continue;
+                }
+                latestChangeByStudentId.remove(studentId);
+                Set<Long> subjectIds = pendingSubjectIdsByStudentId.remove(studentId);
+
+                Long classId = classIds.get(studentId);
+                ScoreIndex classIndex = classId != null ? classIndexes.get(classId) : null;
+                StudentAverage classAverage = classAverages.get(studentId);
+                if (classIndex != null && classAverage != null) {
+                    update(classIndex, studentId, classAverage.getOverallAverage());
+                }
+                StudentAverage average = averages.get(studentId);
+                if (average == null) {
+                    continue;
+                }
+                for (Long subjectId : subjectIds) {
+                    ScoreIndex subjectIndex = subjectIndexes.get(subjectId);
+                    if (subjectIndex != null) {
+                        update(subjectIndex, studentId, subjectAverage(average, subjectId));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Class of a student, looked up when the student joined a class after its index was built
+     */
+    private Long classIdOf(Long studentId) {
+        Long classId = classIdByStudentId.get(studentId);
+        if (classId == null && !classIndexes.isEmpty()) {
+            classId = studentRepository.findClassIdById(studentId).orElse(null);
+            if (classId != null) {
+                classIdByStudentId.put(studentId, classId);
+            }
+        }
+        return classId;
+    }
+
+    private ScoreIndex classIndex(Long classId) {
+        ScoreIndex index = classIndexes.get(classId);
+        if (index != null) {
+            return index;
+        }
+        synchronized (writeLock) {
+            index = classIndexes.get(classId);
+            if (index == null) {
+                long start = System.currentTimeMillis();
+                List<StudentAverage> averages = gradeAverageService.computeClass(classId);
+                index = new ScoreIndex(averages.size());
+                for (StudentAverage average : averages) {
+                    classIdByStudentId.put(average.getStudentId(), classId);
+                    update(index, average.getStudentId(), average.getOverallAverage());
+                }
+                classIndexes.put(classId, index);
+                logger.debug("Built ranking of class {} ({} students) in {} ms", classId, index.size(), System.currentTimeMillis() - start);
+            }
+            return index;
+        }
+    }
+
+    private ScoreIndex subjectIndex(Long subjectId) {
+        ScoreIndex index = subjectIndexes.get(subjectId);
+        if (index != null) {
+            return index;
+        }
+        synchronized (writeLock) {
+            index = subjectIndexes.get(subjectId);
+            if (index == null) {
+                if (!subjectRepository.existsById(subjectId)) {
+                    throw new RuntimeException("Subject not found");
+                }
+                long start = System.currentTimeMillis();
+                List<StudentAverage> averages = gradeAverageService.compute(gradeRepository.findReportCardRowsBySubjectId(subjectId));
+                index = new ScoreIndex(averages.size());
+                for (StudentAverage average : averages) {
+                    update(index, average.getStudentId(), subjectAverage(average, subjectId));
+                }
+                subjectIndexes.put(subjectId, index);
+                logger.debug("Built ranking of subject {} ({} students) in {} ms", subjectId, index.size(), System.currentTimeMillis() - start);
+            }
+            return index;
+        }
+    }
+
+    private static void update(ScoreIndex index, Long studentId, Double score) {
+        if (score != null) {
+            index.put(studentId, score);
+        } else {
+            index.remove(studentId);
+        }
+    }
+
+    private static Double subjectAverage(StudentAverage average, Long subjectId) {
+        for (SubjectAverage subject : average.getSubjects()) {
+            if (subject.getSubjectId().equals(subjectId)) {
+                return subject.getAverage();
+            }
+        }
+        return null;
+    }
+}
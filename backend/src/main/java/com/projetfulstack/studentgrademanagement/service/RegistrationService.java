@@ -0,0 +1,334 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.BatchResult;
+import com.projetfulstack.studentgrademanagement.dto.StudentRegisterRequest;
+import com.projetfulstack.studentgrademanagement.dto.TakenRegistrationKey;
+import com.projetfulstack.studentgrademanagement.dto.TeacherRegisterRequest;
+import com.projetfulstack.studentgrademanagement.entity.Class;
+import com.projetfulstack.studentgrademanagement.entity.Student;
+import com.projetfulstack.studentgrademanagement.entity.Teacher;
+import com.projetfulstack.studentgrademanagement.entity.User;
+import com.projetfulstack.studentgrademanagement.entity.UserRole;
+import com.projetfulstack.studentgrademanagement.repository.ClassRepository;
+import com.projetfulstack.studentgrademanagement.repository.StudentRepository;
+import com.projetfulstack.studentgrademanagement.repository.TeacherRepository;
+import com.projetfulstack.studentgrademanagement.repository.UserRepository;
+import com.projetfulstack.studentgrademanagement.security.BoundedPasswordEncoder;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registration Service
+ * Registers many students or teachers at once: each batch is checked against existing accounts with
+ * one query, hashed on the password executor and inserted in one transaction
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Service
+public class RegistrationService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Value("${app.registration.bulk.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * Register students, enrolling them in their class when classId is set.
+     * Invalid or conflicting rows are reported and skipped, valid rows are created; results are in request order.
+     */
+    public List<BatchResult> registerStudents(List<StudentRegisterRequest> requests) {
+        Set<Long> classIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(StudentRegisterRequest::getClassId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Class> classes = classRepository.findAllById(classIds).stream()
+                .collect(Collectors.toMap(Class::getId, Function.identity()));
+
+        return register(requests, new Registration<>(
+                "Student ID",
+                StudentRegisterRequest::getEmail,
+                StudentRegisterRequest::getStudentId,
+                StudentRegisterRequest::getPassword,
+                userRepository::findTakenStudentRegistrationKeys,
+                request -> request.getClassId() != null && !classes.containsKey(request.getClassId()) ? "Class not found" : null,
+                (request, encodedPassword) -> toStudent(request, encodedPassword, classes.get(request.getClassId())),
+                studentRepository,
+                this::publishEnrollments));
+    }
+
+    /**
+     * Register teachers; invalid or conflicting rows are reported and skipped, valid rows are created.
+     * Results are in request order.
+     */
+    public List<BatchResult> registerTeachers(List<TeacherRegisterRequest> requests) {
+        return register(requests, new Registration<>(
+                "Employee ID",
+                TeacherRegisterRequest::getEmail,
+                TeacherRegisterRequest::getEmployeeId,
+                TeacherRegisterRequest::getPassword,
+                userRepository::findTakenTeacherRegistrationKeys,
+                request -> null,
+                RegistrationService::toTeacher,
+                teacherRepository,
+                teachers -> { }));
+    }
+
+    private <R, U extends User> List<BatchResult> register(List<R> requests, Registration<R, U> registration) {
+        BatchResult[] results = new BatchResult[requests.size()];
+        Set<String> requestedEmails = new HashSet<>();
+        Set<String> requestedKeys = new HashSet<>();
+
+        for (int start = 0; start < requests.size(); start += batchSize) {
+            int end = Math.min(start + batchSize, requests.size());
+            registerBatch(requests, start, end, registration, requestedEmails, requestedKeys, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    private <R, U extends User> void registerBatch(List<R> requests, int start, int end, Registration<R, U> registration,
+                                                   Set<String> requestedEmails, Set<String> requestedKeys,
+                                                   BatchResult[] results) {
+        // Validation and duplicates within the request
+        List<Integer> candidates = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            R request = requests.get(i);
+            String error = validate(request);
+            if (error == null) {
+                error = registration.check.apply(request);
+            }
+            if (error == null && !requestedEmails.add(registration.email.apply(request))) {
+                error = "Email is duplicated in the request";
+            }
+            if (error == null && !requestedKeys.add(registration.key.apply(request))) {
+                error = registration.keyLabel + " is duplicated in the request";
+            }
+            if (error != null) {
+                results[i] = BatchResult.rejected(i, error);
+            } else {
+                candidates.add(i);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Existing accounts, in one query for the whole batch
+        Set<String> emails = new HashSet<>();
+        Set<String> keys = new HashSet<>();
+        for (int i : candidates) {
+            emails.add(registration.email.apply(requests.get(i)));
+            keys.add(registration.key.apply(requests.get(i)));
+        }
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenKeys = new HashSet<>();
+        for (TakenRegistrationKey taken : registration.findTaken.apply(emails, keys)) {
+            if (TakenRegistrationKey.EMAIL.equals(taken.getKind())) {
+                takenEmails.add(taken.getTakenKey());
+            } else {
+                takenKeys.add(taken.getTakenKey());
+            }
+        }
+
+        List<Integer> accepted = new ArrayList<>(candidates.size());
+        List<String> passwords = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            R request = requests.get(i);
+            if (takenEmails.contains(registration.email.apply(request))) {
+                results[i] = BatchResult.rejected(i, "Email is already in use");
+            } else if (takenKeys.contains(registration.key.apply(request))) {
+                results[i] = BatchResult.rejected(i, registration.keyLabel + " is already in use");
+            } else {
+                accepted.add(i);
+                passwords.add(registration.password.apply(request));
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<String> encodedPasswords = passwordEncoder.encodeAll(passwords);
+        List<U> users = new ArrayList<>(accepted.size());
+        for (int j = 0; j < accepted.size(); j++) {
+            users.add(registration.toUser.apply(requests.get(accepted.get(j)), encodedPasswords.get(j)));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                registration.repository.saveAllAndFlush(users);
+                registration.saved.accept(users);
+                dashboardCounterService.recordUsersCreated(users);
+            });
+            for (int j = 0; j < accepted.size(); j++) {
+                int index = accepted.get(j);
+                results[index] = BatchResult.created(index, users.get(j).getId());
+            }
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent registration took one of the keys; retry row by row to isolate it
+            for (int j = 0; j < accepted.size(); j++) {
+                int index = accepted.get(j);
+                U user = registration.toUser.apply(requests.get(index), encodedPasswords.get(j));
+                results[index] = registerOne(index, user, registration);
+            }
+        }
+    }
+
+    private <R, U extends User> BatchResult registerOne(int index, U user, Registration<R, U> registration) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                registration.repository.saveAndFlush(user);
+                registration.saved.accept(List.of(user));
+                dashboardCounterService.recordUserCreated(user);
+            });
+            return BatchResult.created(index, user.getId());
+        } catch (DataIntegrityViolationException ex) {
+            return BatchResult.rejected(index, "Registration conflicts with an existing account");
+        }
+    }
+
+    /**
+     * Keep the enrollment index in step once the new students are committed
+     */
+    private void publishEnrollments(List<Student> students) {
+        Map<Long, Long> classIdByStudentId = new HashMap<>();
+        for (Student student : students) {
+            if (student.getStudentClass() != null) {
+                classIdByStudentId.put(student.getId(), student.getStudentClass().getId());
+            }
+        }
+        if (!classIdByStudentId.isEmpty()) {
+            eventPublisher.publishEvent(new ClassMembershipChangedEvent(classIdByStudentId));
+        }
+    }
+
+    private static Student toStudent(StudentRegisterRequest request, String encodedPassword, Class studentClass) {
+        Student student = new Student();
+        student.setFirstName(request.getFirstName());
+        student.setLastName(request.getLastName());
+        student.setEmail(request.getEmail());
+        student.setPassword(encodedPassword);
+        student.setRole(UserRole.STUDENT);
+        student.setStudentId(request.getStudentId());
+        student.setAddress(request.getAddress());
+        student.setPhoneNumber(request.getPhoneNumber());
+        student.setDateOfBirth(request.getDateOfBirth());
+        student.setStudentClass(studentClass);
+        return student;
+    }
+
+    private static Teacher toTeacher(TeacherRegisterRequest request, String encodedPassword) {
+        Teacher teacher = new Teacher();
+        teacher.setFirstName(request.getFirstName());
+        teacher.setLastName(request.getLastName());
+        teacher.setEmail(request.getEmail());
+        teacher.setPassword(encodedPassword);
+        teacher.setRole(UserRole.TEACHER);
+        teacher.setEmployeeId(request.getEmployeeId());
+        teacher.setAddress(request.getAddress());
+        teacher.setPhoneNumber(request.getPhoneNumber());
+        teacher.setDateOfBirth(request.getDateOfBirth());
+        teacher.setDepartment(request.getDepartment());
+        teacher.setSpecialization(request.getSpecialization());
+        return teacher;
+    }
+
+    /**
+     * Validate one row against its request constraints
+     *
+     * @return an error message, or null when the row is valid
+     */
+    private String validate(Object request) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .filter(Objects::nonNull)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return null;
+    }
+
+    /**
+     * How one kind of account is checked, built and saved
+     */
+    private static final class Registration<R, U extends User> {
+        private final String keyLabel;
+        private final Function<R, String> email;
+        private final Function<R, String> key;
+        private final Function<R, String> password;
+        private final BiFunction<Collection<String>, Collection<String>, List<TakenRegistrationKey>> findTaken;
+        private final Function<R, String> check;
+        private final BiFunction<R, String, U> toUser;
+        private final JpaRepository<U, Long> repository;
+        /**
+         * Runs inside the insert transaction, once the users have their ids
+         */
+        private final Consumer<List<U>> saved;
+
+        private Registration(String keyLabel, Function<R, String> email, Function<R, String> key, Function<R, String> password,
+                             BiFunction<Collection<String>, Collection<String>, List<TakenRegistrationKey>> findTaken,
+                             Function<R, String> check, BiFunction<R, String, U> toUser,
+                             JpaRepository<U, Long> repository, Consumer<List<U>> saved) {
+            this.keyLabel = keyLabel;
+            this.email = email;
+            this.key = key;
+            this.password = password;
+            this.findTaken = findTaken;
+            this.check = check;
+            this.toUser = toUser;
+            this.repository = repository;
+            this.saved = saved;
+        }
+    }
+}
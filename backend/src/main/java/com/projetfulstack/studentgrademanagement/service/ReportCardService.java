@@ -0,0 +1,281 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.ReportCardRun;
+import com.projetfulstack.studentgrademanagement.dto.StudentAverage;
+import com.projetfulstack.studentgrademanagement.dto.SubjectAverage;
+import com.projetfulstack.studentgrademanagement.entity.Class;
+import com.projetfulstack.studentgrademanagement.entity.Student;
+import com.projetfulstack.studentgrademanagement.repository.ClassRepository;
+import com.projetfulstack.studentgrademanagement.repository.GradeRepository;
+import com.projetfulstack.studentgrademanagement.repository.StudentRepository;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Report Card Service
+ * Renders one PDF report card per student of a class on a bounded worker pool and streams them as a ZIP
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Service
+public class ReportCardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportCardService.class);
+
+    private static final float MARGIN = 50;
+    private static final float LINE_HEIGHT = 18;
+    private static final float[] COLUMNS = {MARGIN, 300, 360, 420, 490};
+
+    /**
+     * PDFBox shares the Standard 14 font metrics process-wide; the font objects themselves keep
+     * unsynchronized glyph caches, so each worker thread builds its pair once and reuses it.
+     */
+    private static final ThreadLocal<PDType1Font[]> FONTS = ThreadLocal.withInitial(() -> new PDType1Font[] {
+        new PDType1Font(Standard14Fonts.FontName.HELVETICA),
+        new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD)
+    });
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private GradeAverageService gradeAverageService;
+
+    @Autowired
+    @Qualifier("reportCardExecutor")
+    private ThreadPoolTaskExecutor reportCardExecutor;
+
+    @Value("${app.report-cards.max-in-flight:16}")
+    private int maxInFlight;
+
+    private volatile ReportCardRun lastRun;
+
+    /**
+     * Write the report cards of every student of a class to a ZIP stream
+     */
+    public ReportCardRun writeClassReportCards(Long classId, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+
+        Class schoolClass = classRepository.findById(classId)
+                .orElseThrow(() -> new RuntimeException("Class not found"));
+        ClassHeader header = new ClassHeader(schoolClass.getName(), schoolClass.getAcademicYear(), schoolClass.getSemester());
+
+        // Two queries for the whole class: its students, then all of their grades, averaged in one pass
+        List<StudentCard> students = studentRepository.findByStudentClassId(classId).stream()
+                .map(StudentCard::new)
+                .collect(Collectors.toList());
+        Map<Long, StudentAverage> averagesByStudent = gradeAverageService.compute(gradeRepository.findReportCardRowsByClassId(classId))
+                .stream()
+                .collect(Collectors.toMap(StudentAverage::getStudentId, Function.identity()));
+
+        CompletionService<RenderedCard> completion = new ExecutorCompletionService<>(reportCardExecutor);
+        Iterator<StudentCard> pending = students.iterator();
+        int inFlight = 0;
+        int documents = 0;
+        int pages = 0;
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        try {
+            while (pending.hasNext() || inFlight > 0) {
+                // Keep at most maxInFlight rendered documents waiting in memory
+                while (pending.hasNext() && inFlight < maxInFlight) {
+                    StudentCard student = pending.next();
+                    StudentAverage averages = averagesByStudent.getOrDefault(student.id, StudentAverage.empty(student.id));
+                    completion.submit(() -> render(header, student, averages));
+                    inFlight++;
+                }
+
+                RenderedCard card = completion.take().get();
+                inFlight--;
+                zip.putNextEntry(new ZipEntry(card.fileName));
+                zip.write(card.content);
+                zip.closeEntry();
+                documents++;
+                pages += card.pages;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Report card generation interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IOException("Report card generation failed", ex.getCause());
+        }
+        zip.finish();
+
+        ReportCardRun run = new ReportCardRun(classId, documents, pages, (System.nanoTime() - start) / 1_000_000);
+        lastRun = run;
+        logger.info("Generated {} report cards ({} pages) for class {} in {} ms ({} pages/sec)",
+                documents, pages, classId, run.getElapsedMillis(), String.format("%.1f", run.getPagesPerSecond()));
+        return run;
+    }
+
+    /**
+     * Throughput of the most recent run, if any
+     */
+    public Optional<ReportCardRun> getLastRun() {
+        return Optional.ofNullable(lastRun);
+    }
+
+    private RenderedCard render(ClassHeader header, StudentCard student, StudentAverage averages) throws IOException {
+        PDType1Font[] fonts = FONTS.get();
+        PDType1Font regular = fonts[0];
+        PDType1Font bold = fonts[1];
+
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            PDPageContentStream content = new PDPageContentStream(document, page);
+            float y = page.getMediaBox().getHeight() - MARGIN;
+
+            y = text(content, bold, 16, MARGIN, y, "Report Card");
+            y = text(content, regular, 11, MARGIN, y, header.name + " - " + header.academicYear + " - Semester " + header.semester);
+            y = text(content, regular, 11, MARGIN, y, student.lastName + " " + student.firstName + " (" + student.studentNumber + ")");
+            y -= LINE_HEIGHT;
+
+            y = tableHeader(content, bold, y);
+            for (SubjectAverage line : averages.getSubjects()) {
+                if (y < MARGIN + LINE_HEIGHT) {
+                    content.close();
+                    page = new PDPage(PDRectangle.A4);
+                    document.addPage(page);
+                    content = new PDPageContentStream(document, page);
+                    y = tableHeader(content, bold, page.getMediaBox().getHeight() - MARGIN);
+                }
+                cell(content, regular, COLUMNS[0], y, line.getSubjectName() + " (" + line.getSubjectCode() + ")");
+                cell(content, regular, COLUMNS[1], y, format(line.getCoefficient()));
+                cell(content, regular, COLUMNS[2], y, String.valueOf(line.getGradeCount()));
+                cell(content, regular, COLUMNS[3], y, format(line.getAverage()));
+                cell(content, regular, COLUMNS[4], y, format(line.getWeightedAverage()));
+                y -= LINE_HEIGHT;
+            }
+
+            y -= LINE_HEIGHT;
+            String overall = averages.getOverallAverage() != null ? format(averages.getOverallAverage()) + " / 20" : "-";
+            y = text(content, bold, 12, MARGIN, y, "Overall average: " + overall);
+            y = text(content, regular, 11, MARGIN, y, "GPA: " + format(averages.getGpa())
+                    + "   Credits earned: " + averages.getCreditsEarned() + " / " + averages.getCreditsAttempted());
+            text(content, regular, 9, MARGIN, y, "Generated on " + LocalDate.now());
+            content.close();
+
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(16 * 1024);
+            document.save(buffer);
+            String fileName = (student.studentNumber + "_" + student.lastName).replaceAll("[^A-Za-z0-9_-]", "_") + ".pdf";
+            return new RenderedCard(fileName, buffer.toByteArray(), document.getNumberOfPages());
+        }
+    }
+
+    private static float tableHeader(PDPageContentStream content, PDType1Font bold, float y) throws IOException {
+        cell(content, bold, COLUMNS[0], y, "Subject");
+        cell(content, bold, COLUMNS[1], y, "Coef.");
+        cell(content, bold, COLUMNS[2], y, "Grades");
+        cell(content, bold, COLUMNS[3], y, "Average");
+        cell(content, bold, COLUMNS[4], y, "Weighted");
+        return y - LINE_HEIGHT;
+    }
+
+    private static float text(PDPageContentStream content, PDType1Font font, float size, float x, float y, String value) throws IOException {
+        content.beginText();
+        content.setFont(font, size);
+        content.newLineAtOffset(x, y);
+        content.showText(printable(value));
+        content.endText();
+        return y - LINE_HEIGHT;
+    }
+
+    private static void cell(PDPageContentStream content, PDType1Font font, float x, float y, String value) throws IOException {
+        text(content, font, 10, x, y, value);
+    }
+
+    /**
+     * Standard 14 fonts use WinAnsi encoding; replace anything outside Latin-1 and control characters
+     */
+    private static String printable(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            builder.append((c >= 0x20 && c < 0x7F) || (c >= 0xA0 && c <= 0xFF) ? c : '?');
+        }
+        return builder.toString();
+    }
+
+    private static String format(Double value) {
+        return value != null ? String.format("%.2f", value) : "-";
+    }
+
+    private static final class ClassHeader {
+        final String name;
+        final String academicYear;
+        final Integer semester;
+
+        ClassHeader(String name, String academicYear, Integer semester) {
+            this.name = name;
+            this.academicYear = academicYear;
+            this.semester = semester;
+        }
+    }
+
+    /**
+     * Detached copy of the student fields a report card needs, safe to hand to worker threads
+     */
+    private static final class StudentCard {
+        final Long id;
+        final String studentNumber;
+        final String firstName;
+        final String lastName;
+
+        StudentCard(Student student) {
+            this.id = student.getId();
+            this.studentNumber = student.getStudentId();
+            this.firstName = student.getFirstName();
+            this.lastName = student.getLastName();
+        }
+    }
+
+    private static final class RenderedCard {
+        final String fileName;
+        final byte[] content;
+        final int pages;
+
+        RenderedCard(String fileName, byte[] content, int pages) {
+            this.fileName = fileName;
+            this.content = content;
+            this.pages = pages;
+        }
+    }
+}
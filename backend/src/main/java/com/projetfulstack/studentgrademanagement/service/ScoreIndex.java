@@ -0,0 +1,168 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.RankingEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Score Index
+ * Parallel primitive arrays of scores (descending) and student ids (ascending within equal scores).
+ * Rank lookups are binary searches; an update is a binary search plus one array shift.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class ScoreIndex {
+
+    private double[] scores;
+    private long[] studentIds;
+    private int size;
+    private final Map<Long, Double> scoreByStudent = new HashMap<>();
+
+    public ScoreIndex() {
+        this(16);
+    }
+
+    public ScoreIndex(int capacity) {
+        this.scores = new double[Math.max(capacity, 1)];
+        this.studentIds = new long[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Insert a student or move it to its new score
+     */
+    public synchronized void put(long studentId, double score) {
+        Double previous = scoreByStudent.get(studentId);
+        if (previous != null) {
+            if (Double.compare(previous, score) == 0) {
+                return;
+            }
+            removeAt(positionOf(studentId, previous));
+        }
+        if (size == scores.length) {
+            scores = Arrays.copyOf(scores, size * 2);
+            studentIds = Arrays.copyOf(studentIds, size * 2);
+        }
+        int position = insertionPoint(studentId, score);
+        System.arraycopy(scores, position, scores, position + 1, size - position);
+        System.arraycopy(studentIds, position, studentIds, position + 1, size - position);
+        scores[position] = score;
+        studentIds[position] = studentId;
+        size++;
+        scoreByStudent.put(studentId, score);
+    }
+
+    /**
+     * Remove a student; no-op when it is not ranked
+     */
+    public synchronized void remove(long studentId) {
+        Double previous = scoreByStudent.remove(studentId);
+        if (previous != null) {
+            removeAt(positionOf(studentId, previous));
+        }
+    }
+
+    /**
+     * Rank and percentile of a student, or null when it is not ranked
+     */
+    public synchronized RankingEntry rankOf(long studentId) {
+        Double score = scoreByStudent.get(studentId);
+        return score != null ? entry(studentId, score) : null;
+    }
+
+    /**
+     * The best n students, best first
+     */
+    public synchronized List<RankingEntry> top(int n) {
+        int limit = Math.min(Math.max(n, 0), size);
+        List<RankingEntry> entries = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            entries.add(entry(studentIds[i], scores[i]));
+        }
+        return entries;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Competition ranking: students above + 1; percentile counts ties as half below
+     */
+    private RankingEntry entry(long studentId, double score) {
+        int above = firstNotGreater(score);
+        int end = firstLower(score);
+        int below = size - end;
+        double percentile = (below + 0.5 * (end - above)) * 100.0 / size;
+        return new RankingEntry(studentId, above + 1, score, percentile, size);
+    }
+
+    private void removeAt(int position) {
+        System.arraycopy(scores, position + 1, scores, position, size - position - 1);
+        System.arraycopy(studentIds, position + 1, studentIds, position, size - position - 1);
+        size--;
+    }
+
+    private int positionOf(long studentId, double score) {
+        int position = insertionPoint(studentId, score);
+        if (position >= size || studentIds[position] != studentId) {
+            throw new IllegalStateException("Score index is out of sync for student " + studentId);
+        }
+        return position;
+    }
+
+    /**
+     * Position of (score, studentId) in the descending score / ascending id order
+     */
+    private int insertionPoint(long studentId, double score) {
+        int low = firstNotGreater(score);
+        int high = firstLower(score);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (studentIds[mid] < studentId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First index whose score is not greater than the given score
+     */
+    private int firstNotGreater(double score) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(scores[mid], score) > 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First index whose score is lower than the given score
+     */
+    private int firstLower(double score) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(scores[mid], score) >= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,187 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.StudentSummary;
+import com.projetfulstack.studentgrademanagement.dto.SubjectSummary;
+import com.projetfulstack.studentgrademanagement.dto.TeacherSummary;
+import com.projetfulstack.studentgrademanagement.dto.UserSummary;
+import com.projetfulstack.studentgrademanagement.repository.StudentRepository;
+import com.projetfulstack.studentgrademanagement.repository.SubjectRepository;
+import com.projetfulstack.studentgrademanagement.repository.TeacherRepository;
+import com.projetfulstack.studentgrademanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Search Service
+ * Search box lookups over users, students, teachers and subjects. On PostgreSQL the pg_trgm extension
+ * and GIN trigram indexes on the search texts are created at startup, and matches (substring or
+ * similar words) are ranked by word similarity. Elsewhere, e.g. on H2 in tests or when pg_trgm
+ * cannot be installed, substring matches are returned by name.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@Service
+public class SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+
+    /**
+     * Trigram indexes, created concurrently so startup does not block writes on existing tables
+     */
+    private static final List<String> TRIGRAM_INDEXES = List.of(
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_search_trgm ON users USING gin ((" + UserRepository.SEARCH_TEXT + ") gin_trgm_ops)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_students_student_id_trgm ON students USING gin (lower(student_id) gin_trgm_ops)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_teachers_employee_id_trgm ON teachers USING gin (lower(employee_id) gin_trgm_ops)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_subjects_search_trgm ON subjects USING gin ((" + SubjectRepository.SEARCH_TEXT + ") gin_trgm_ops)");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.search.trigram-enabled:true}")
+    private boolean trigramConfigured;
+
+    @Value("${app.search.min-length:3}")
+    private int minLength;
+
+    @Value("${app.search.max-limit:100}")
+    private int maxLimit;
+
+    /**
+     * Set once the extension and indexes are in place
+     */
+    private volatile boolean trigramEnabled;
+
+    /**
+     * Install pg_trgm and the trigram indexes on PostgreSQL
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createTrigramIndexes() {
+        if (!trigramConfigured) {
+            return;
+        }
+        try {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equals(database)) {
+                logger.info("Search uses substring matching on {}", database);
+                return;
+            }
+            long start = System.currentTimeMillis();
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            TRIGRAM_INDEXES.forEach(jdbcTemplate::execute);
+            trigramEnabled = true;
+            logger.info("Trigram search indexes ready in {} ms", System.currentTimeMillis() - start);
+        } catch (DataAccessException ex) {
+            logger.warn("Trigram search unavailable, falling back to substring matching", ex);
+        }
+    }
+
+    public boolean isTrigramEnabled() {
+        return trigramEnabled;
+    }
+
+    /**
+     * Users whose name or email matches a query, best match first
+     *
+     * @throws IllegalArgumentException when the query is blank; the limit is capped at app.search.max-limit
+     */
+    public List<UserSummary> searchUsers(String query, int limit) {
+        return search(query, limit, userRepository::searchIdsBySimilarity, userRepository::searchSummariesContaining,
+                userRepository::findSummariesByIdIn, UserSummary::getId);
+    }
+
+    /**
+     * Students whose name, email or student ID matches a query, best match first
+     */
+    public List<StudentSummary> searchStudents(String query, int limit) {
+        return search(query, limit, studentRepository::searchIdsBySimilarity, studentRepository::searchSummariesContaining,
+                studentRepository::findSummariesByIdIn, StudentSummary::getId);
+    }
+
+    /**
+     * Teachers whose name, email or employee ID matches a query, best match first
+     */
+    public List<TeacherSummary> searchTeachers(String query, int limit) {
+        return search(query, limit, teacherRepository::searchIdsBySimilarity, teacherRepository::searchSummariesContaining,
+                teacherRepository::findSummariesByIdIn, TeacherSummary::getId);
+    }
+
+    /**
+     * Subjects whose name or code matches a query, best match first
+     */
+    public List<SubjectSummary> searchSubjects(String query, int limit) {
+        return search(query, limit, subjectRepository::searchIdsBySimilarity, subjectRepository::searchSummariesContaining,
+                subjectRepository::findSummariesByIdIn, SubjectSummary::getId);
+    }
+
+    /**
+     * With trigrams, rank the matching ids with one query, then load their summaries with a second one and
+     * restore the rank order; without, or for queries shorter than app.search.min-length, load the summaries
+     * of the substring matches with one query
+     */
+    private <T> List<T> search(String query, int limit, TrigramSearch trigramSearch, BiFunction<String, Pageable, List<T>> containsSearch,
+                               Function<Collection<Long>, List<T>> summaries, Function<T, Long> id) {
+        String normalized = query != null ? query.trim().toLowerCase(Locale.ROOT) : "";
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        limit = Math.max(1, Math.min(limit, maxLimit));
+        String pattern = "%" + escapeLike(normalized) + "%";
+        // Queries shorter than a trigram have nothing to rank by, so they are matched as substrings
+        if (!trigramEnabled || normalized.length() < minLength) {
+            return containsSearch.apply(pattern, PageRequest.of(0, limit));
+        }
+
+        List<Long> ids = trigramSearch.find(normalized, pattern, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        List<T> results = summaries.apply(ids);
+        results.sort((a, b) -> Integer.compare(rank.get(id.apply(a)), rank.get(id.apply(b))));
+        return results;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @FunctionalInterface
+    private interface TrigramSearch {
+        List<Long> find(String query, String pattern, int limit);
+    }
+}
@@ -0,0 +1,153 @@
+package com.projetfulstack.studentgrademanagement.benchmark;
+
+import com.projetfulstack.studentgrademanagement.service.AutocompleteIndex;
+import com.projetfulstack.studentgrademanagement.service.AutocompleteIndex.Entry;
+import com.projetfulstack.studentgrademanagement.service.AutocompleteIndex.Kind;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the autocomplete index over 100k entries
+ * Measures lookups (one letter, a word prefix, two words, the inner part of a code) against a scan of
+ * every entry, and the build time; the heap retained by the entries and their index is printed at setup.
+ * Run with: mvn -Pbenchmark test -Dtest=AutocompleteIndexBenchmark
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutocompleteIndexBenchmark {
+
+    private static final int ENTRIES = 100_000;
+
+    private static final int LIMIT = 10;
+
+    private static final Set<Kind> ALL_KINDS = EnumSet.allOf(Kind.class);
+
+    private static final String[] FIRST_NAMES = {"Jean", "Marie", "Paul", "Élodie", "Samuel", "Aline", "Brice", "Chantal",
+            "Didier", "Estelle", "Franck", "Grâce", "Hervé", "Inès", "Joël", "Laure"};
+
+    private static final String[] LAST_NAMES = {"Nkodo", "Mbarga", "Essomba", "Abessolo", "Zangoula", "Kwedi", "Fouda",
+            "Owona", "Ngono", "Atangana", "Ebogo", "Manga", "Onana", "Tchoupo", "Bella", "Ndzana"};
+
+    private List<Entry> entries;
+
+    private AutocompleteIndex index;
+
+    /**
+     * Builds the index around full collections and prints the heap retained by the entries and the index
+     */
+    @Setup
+    public void setup() {
+        long before = usedHeapAfterGc();
+        entries = entries(ENTRIES);
+        index = AutocompleteIndex.build(entries);
+        long retained = usedHeapAfterGc() - before;
+        System.out.printf(Locale.ROOT, "Retained heap for %d entries: %.1f MB (%d bytes per entry)%n",
+                ENTRIES, retained / 1e6, retained / ENTRIES);
+    }
+
+    @Benchmark
+    public List<AutocompleteIndex.Match> oneLetter() {
+        return index.search("n", LIMIT, ALL_KINDS, (kind, id) -> true);
+    }
+
+    @Benchmark
+    public List<AutocompleteIndex.Match> wordPrefix() {
+        return index.search("mbar", LIMIT, ALL_KINDS, (kind, id) -> true);
+    }
+
+    @Benchmark
+    public List<AutocompleteIndex.Match> twoWords() {
+        return index.search("jean nko", LIMIT, ALL_KINDS, (kind, id) -> true);
+    }
+
+    @Benchmark
+    public List<AutocompleteIndex.Match> codeInfix() {
+        return index.search("4567", LIMIT, ALL_KINDS, (kind, id) -> true);
+    }
+
+    /**
+     * Baseline: match every entry, then keep the best ones
+     */
+    @Benchmark
+    public List<AutocompleteIndex.Match> scanAllEntries() {
+        List<AutocompleteIndex.Match> matches = new ArrayList<>();
+        for (Entry entry : entries) {
+            AutocompleteIndex.Match match = AutocompleteIndex.match(entry, "mbar");
+            if (match != null) {
+                matches.add(match);
+            }
+        }
+        matches.sort(AutocompleteIndex.order());
+        return matches.subList(0, Math.min(LIMIT, matches.size()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public AutocompleteIndex build() {
+        return AutocompleteIndex.build(entries);
+    }
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(AutocompleteIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * Students, teachers and subjects in the proportions of a school: 90% students, 5% teachers, 5% subjects
+     */
+    private static List<Entry> entries(int count) {
+        Random random = new Random(42);
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            if (i % 20 == 0) {
+                entries.add(new Entry(Kind.TEACHER, i, name, String.format(Locale.ROOT, "EMP-%05d", i)));
+            } else if (i % 20 == 1) {
+                entries.add(new Entry(Kind.SUBJECT, i, "Module " + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + i,
+                        String.format(Locale.ROOT, "MOD%05d", i)));
+            } else {
+                entries.add(new Entry(Kind.STUDENT, i, name, String.format(Locale.ROOT, "STU-%06d", i)));
+            }
+        }
+        return entries;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
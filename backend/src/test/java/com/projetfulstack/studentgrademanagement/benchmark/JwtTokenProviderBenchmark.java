@@ -0,0 +1,102 @@
+package com.projetfulstack.studentgrademanagement.benchmark;
+
+import com.projetfulstack.studentgrademanagement.entity.UserRole;
+import com.projetfulstack.studentgrademanagement.security.JwtTokenProvider;
+import com.projetfulstack.studentgrademanagement.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of JWT verification per request
+ * Compares the former path (signing key and parser rebuilt, token parsed twice) with the shared
+ * parser and the verified-token cache of JwtTokenProvider.
+ * Run with: mvn -Pbenchmark test -Dtest=JwtTokenProviderBenchmark
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "mySecretKey123456789012345678901234567890";
+
+    private JwtTokenProvider uncachedProvider;
+
+    private JwtTokenProvider cachedProvider;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        uncachedProvider = provider(0);
+        cachedProvider = provider(10000);
+
+        UserPrincipal principal = UserPrincipal.create(42L, "student@school.edu", "Jean", "Nkodo", UserRole.STUDENT, 0);
+        token = cachedProvider.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    /**
+     * Former filter path: validateToken, then getUsernameFromToken, each rebuilding key and parser
+     */
+    @Benchmark
+    public String rebuiltParserParsedTwice() {
+        Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseSignedClaims(token);
+        return Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+                .parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    /**
+     * Shared key and parser, one verification
+     */
+    @Benchmark
+    public Claims sharedParser() {
+        return uncachedProvider.parseClaims(token);
+    }
+
+    /**
+     * Shared parser with the token already in the verified-token cache
+     */
+    @Benchmark
+    public Claims cachedClaims() {
+        return cachedProvider.parseClaims(token);
+    }
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JwtTokenProviderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private static JwtTokenProvider provider(int cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 86400000);
+        ReflectionTestUtils.setField(provider, "verifiedTokenCacheSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+}
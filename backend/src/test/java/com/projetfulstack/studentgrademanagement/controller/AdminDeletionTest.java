@@ -0,0 +1,147 @@
+package com.projetfulstack.studentgrademanagement.controller;
+
+import com.projetfulstack.studentgrademanagement.entity.Class;
+import com.projetfulstack.studentgrademanagement.entity.Student;
+import com.projetfulstack.studentgrademanagement.entity.Subject;
+import com.projetfulstack.studentgrademanagement.entity.Teacher;
+import com.projetfulstack.studentgrademanagement.entity.User;
+import com.projetfulstack.studentgrademanagement.entity.UserRole;
+import com.projetfulstack.studentgrademanagement.security.UserPrincipal;
+import com.projetfulstack.studentgrademanagement.service.EnrollmentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de la suppression d'utilisateurs
+ * Deleting a student or a teacher, through its own endpoint or as a user, leaves no trace in the
+ * loaded enrollment bitmaps: deleted students are not enrolled anymore, and the subjects deleted with
+ * their teacher are not found anymore.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+@Transactional
+public class AdminDeletionTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private MockMvc mockMvc;
+
+    private Teacher teacher;
+
+    private Subject subject;
+
+    private Student student;
+
+    private Student classmate;
+
+    private User admin;
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+
+        teacher = new Teacher("Paul", "Mbarga", "deletion.teacher@school.edu", "Password123#", "EMP-DEL");
+        teacher.setHireDate(LocalDate.of(2015, 9, 1));
+        entityManager.persist(teacher);
+
+        subject = new Subject("Algorithmique", "DEL301", "Algorithmes et structures", 2.0, 4);
+        subject.setTeacher(teacher);
+        entityManager.persist(subject);
+
+        Class studentClass = new Class("L3 Info", "2024-2025", 1);
+        studentClass.setSubjects(List.of(subject));
+        entityManager.persist(studentClass);
+
+        student = new Student("Jean", "Nkodo", "deletion.student@school.edu", "Password123#", "STU-DEL-1");
+        student.setEnrollmentDate(LocalDate.of(2022, 9, 1));
+        student.setStudentClass(studentClass);
+        entityManager.persist(student);
+
+        classmate = new Student("Marie", "Essomba", "deletion.classmate@school.edu", "Password123#", "STU-DEL-2");
+        classmate.setEnrollmentDate(LocalDate.of(2022, 9, 1));
+        classmate.setStudentClass(studentClass);
+        entityManager.persist(classmate);
+
+        admin = new User("Admin", "System", "deletion.admin@school.edu", "Password123#", UserRole.ADMIN);
+        entityManager.persist(admin);
+
+        entityManager.flush();
+        entityManager.clear();
+        enrollmentService.clear();
+    }
+
+    @AfterEach
+    public void clearEnrollments() {
+        // The bitmaps outlive the rolled back test transaction
+        enrollmentService.clear();
+    }
+
+    @Test
+    public void deleteUser_DropsTheStudentFromLoadedSubjects() throws Exception {
+        assertEquals(List.of(student.getId(), classmate.getId()), enrollmentService.getStudentIds(subject.getId()));
+
+        mockMvc.perform(delete("/admin/users/" + student.getId()).with(as(admin)))
+                .andExpect(status().isOk());
+
+        assertEquals(List.of(classmate.getId()), enrollmentService.getStudentIds(subject.getId()));
+    }
+
+    @Test
+    public void deleteTeacher_ForgetsTheSubjectsDeletedWithIt() throws Exception {
+        assertEquals(2, enrollmentService.getStudentIds(subject.getId()).size());
+
+        mockMvc.perform(delete("/admin/teachers/" + teacher.getId()).with(as(admin)))
+                .andExpect(status().isOk());
+
+        assertThrows(RuntimeException.class, () -> enrollmentService.getStudentIds(subject.getId()));
+    }
+
+    @Test
+    public void deleteUser_ForgetsTheSubjectsOfADeletedTeacher() throws Exception {
+        assertEquals(2, enrollmentService.getStudentIds(subject.getId()).size());
+
+        mockMvc.perform(delete("/admin/users/" + teacher.getId()).with(as(admin)))
+                .andExpect(status().isOk());
+
+        assertThrows(RuntimeException.class, () -> enrollmentService.getStudentIds(subject.getId()));
+    }
+
+    private static RequestPostProcessor as(User user) {
+        return SecurityMockMvcRequestPostProcessors.user(UserPrincipal.create(user));
+    }
+}
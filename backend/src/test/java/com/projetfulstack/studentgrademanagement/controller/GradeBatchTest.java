@@ -0,0 +1,165 @@
+package com.projetfulstack.studentgrademanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projetfulstack.studentgrademanagement.dto.BatchResult;
+import com.projetfulstack.studentgrademanagement.dto.GradeRequest;
+import com.projetfulstack.studentgrademanagement.entity.ExamType;
+import com.projetfulstack.studentgrademanagement.entity.Grade;
+import com.projetfulstack.studentgrademanagement.entity.Student;
+import com.projetfulstack.studentgrademanagement.entity.Subject;
+import com.projetfulstack.studentgrademanagement.entity.Teacher;
+import com.projetfulstack.studentgrademanagement.security.UserPrincipal;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de l'ajout de notes en lot
+ * Valid rows of POST /teacher/grades/batch are inserted across several JDBC batches and report the id
+ * of their grade; invalid rows are reported in place and do not stop the others.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+@Transactional
+public class GradeBatchTest {
+
+    /**
+     * More than two JDBC batches of 50
+     */
+    private static final int ROWS = 120;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private MockMvc mockMvc;
+
+    private Teacher teacher;
+
+    private Student student;
+
+    private Subject subject;
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+
+        teacher = new Teacher("Paul", "Mbarga", "batch.teacher@school.edu", "Password123#", "EMP-BATCH");
+        teacher.setHireDate(LocalDate.of(2015, 9, 1));
+        entityManager.persist(teacher);
+
+        subject = new Subject("Algorithmique", "BATCH301", "Algorithmes et structures", 2.0, 4);
+        entityManager.persist(subject);
+
+        student = new Student("Jean", "Nkodo", "batch.student@school.edu", "Password123#", "STU-BATCH");
+        student.setEnrollmentDate(LocalDate.of(2022, 9, 1));
+        entityManager.persist(student);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void partialFailures_ReportEachRowAndCreateTheValidOnes() throws Exception {
+        List<GradeRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            requests.add(new GradeRequest(student.getId(), subject.getId(), (double) (i % 21), 20.0, ExamType.QUIZ));
+        }
+        requests.set(3, new GradeRequest(student.getId(), subject.getId(), 25.0, 20.0, ExamType.QUIZ));
+        requests.set(49, new GradeRequest(-1L, subject.getId(), 12.0, 20.0, ExamType.QUIZ));
+        requests.set(50, new GradeRequest(student.getId(), -1L, 12.0, 20.0, ExamType.QUIZ));
+        requests.set(101, null);
+        requests.set(ROWS - 1, new GradeRequest(null, subject.getId(), 12.0, 20.0, ExamType.QUIZ));
+
+        String body = mockMvc.perform(post("/teacher/grades/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests))
+                        .with(as(teacher)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(ROWS))
+                .andExpect(jsonPath("$.created").value(ROWS - 5))
+                .andExpect(jsonPath("$.rejected").value(5))
+                .andExpect(jsonPath("$.results[3].error").value("Grade must be at most 20.0"))
+                .andExpect(jsonPath("$.results[49].error").value("Student not found"))
+                .andExpect(jsonPath("$.results[50].error").value("Subject not found"))
+                .andExpect(jsonPath("$.results[101].error").value("Row is empty"))
+                .andExpect(jsonPath("$.results[119].error").value("Student ID is required"))
+                .andReturn().getResponse().getContentAsString();
+
+        entityManager.clear();
+        JsonNode results = objectMapper.readTree(body).get("results");
+        Set<Long> createdIds = new HashSet<>();
+        for (int i = 0; i < ROWS; i++) {
+            JsonNode result = results.get(i);
+            assertEquals(i, result.get("index").asInt());
+            if (BatchResult.REJECTED.equals(result.get("status").asText())) {
+                assertTrue(result.get("id").isNull(), "Rejected row " + i + " has an id");
+                continue;
+            }
+            assertEquals(BatchResult.CREATED, result.get("status").asText());
+            long gradeId = result.get("id").asLong();
+            assertTrue(createdIds.add(gradeId), "Grade id " + gradeId + " reported twice");
+
+            // The reported id is the grade of that row
+            Grade grade = entityManager.find(Grade.class, gradeId);
+            assertNotNull(grade, "Grade " + gradeId + " of row " + i + " was not inserted");
+            assertEquals(requests.get(i).getGradeValue(), grade.getGradeValue());
+        }
+        assertEquals(ROWS - 5, createdIds.size());
+
+        Long stored = entityManager.createQuery("SELECT COUNT(g) FROM Grade g WHERE g.student.id = :studentId", Long.class)
+                .setParameter("studentId", student.getId())
+                .getSingleResult();
+        assertEquals(ROWS - 5, stored);
+    }
+
+    @Test
+    public void emptyBatch_IsRejected() throws Exception {
+        mockMvc.perform(post("/teacher/grades/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+                        .with(as(teacher)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static RequestPostProcessor as(Teacher teacher) {
+        return SecurityMockMvcRequestPostProcessors.user(UserPrincipal.create(teacher));
+    }
+}
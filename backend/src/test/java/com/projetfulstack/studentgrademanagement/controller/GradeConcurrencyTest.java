@@ -0,0 +1,298 @@
+package com.projetfulstack.studentgrademanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projetfulstack.studentgrademanagement.dto.GradeRequest;
+import com.projetfulstack.studentgrademanagement.entity.ExamType;
+import com.projetfulstack.studentgrademanagement.entity.Grade;
+import com.projetfulstack.studentgrademanagement.entity.GradeAggregateScope;
+import com.projetfulstack.studentgrademanagement.entity.Student;
+import com.projetfulstack.studentgrademanagement.entity.Subject;
+import com.projetfulstack.studentgrademanagement.entity.Teacher;
+import com.projetfulstack.studentgrademanagement.repository.GradeAggregateRepository;
+import com.projetfulstack.studentgrademanagement.repository.GradeRepository;
+import com.projetfulstack.studentgrademanagement.repository.StudentRepository;
+import com.projetfulstack.studentgrademanagement.repository.SubjectRepository;
+import com.projetfulstack.studentgrademanagement.repository.TeacherRepository;
+import com.projetfulstack.studentgrademanagement.security.UserPrincipal;
+import com.projetfulstack.studentgrademanagement.service.GradeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests des modifications concurrentes de notes
+ * Grade edits carry the version read as an ETag in If-Match; a stale edit gets 412 with the current
+ * grade instead of overwriting it. Data is committed (no test transaction) so that requests run in
+ * their own transactions, and removed after each test.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+public class GradeConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    private static final int INCREMENTS_PER_THREAD = 5;
+
+    private static final double STEP = 0.25;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private GradeAggregateRepository gradeAggregateRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private MockMvc mockMvc;
+
+    private Teacher teacher;
+
+    private Student student;
+
+    private Subject subject;
+
+    private Subject otherSubject;
+
+    private Long gradeId;
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+
+        teacher = new Teacher("Paul", "Mbarga", "concurrency.teacher@school.edu", "Password123#", "EMP-CONC");
+        teacher.setHireDate(LocalDate.of(2015, 9, 1));
+        teacher = teacherRepository.save(teacher);
+
+        subject = subjectRepository.save(new Subject("Algorithmique", "CONC301", "Algorithmes et structures", 2.0, 4));
+        otherSubject = subjectRepository.save(new Subject("Compilation", "CONC302", "Analyse et génération de code", 2.0, 4));
+
+        student = new Student("Jean", "Nkodo", "concurrency.student@school.edu", "Password123#", "STU-CONC");
+        student.setEnrollmentDate(LocalDate.of(2022, 9, 1));
+        student = studentRepository.save(student);
+
+        gradeId = gradeService.createGrade(request(0.0), teacher.getId()).getId();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            gradeRepository.findById(gradeId).ifPresent(gradeRepository::delete);
+            gradeRepository.deleteAll(gradeRepository.findBySubjectId(otherSubject.getId()));
+            gradeAggregateRepository.deleteByStudentId(student.getId());
+            gradeAggregateRepository.deleteBySubjectId(subject.getId());
+            gradeAggregateRepository.deleteBySubjectId(otherSubject.getId());
+        });
+        subjectRepository.deleteById(subject.getId());
+        subjectRepository.deleteById(otherSubject.getId());
+        studentRepository.deleteById(student.getId());
+        teacherRepository.deleteById(teacher.getId());
+    }
+
+    @Test
+    public void concurrentIncrements_LoseNoUpdate() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> editors = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                editors.add(executor.submit(incrementer(start)));
+            }
+            start.countDown();
+            for (Future<Void> editor : editors) {
+                editor.get(60, TimeUnit.SECONDS);
+            }
+
+            int increments = THREADS * INCREMENTS_PER_THREAD;
+            mockMvc.perform(get("/teacher/grades/" + gradeId).with(as(teacher)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + increments + "\""))
+                    .andExpect(jsonPath("$.gradeValue").value(increments * STEP))
+                    .andExpect(jsonPath("$.version").value(increments));
+
+            // Rejected edits were rolled back, so the maintained aggregate saw each increment once
+            double aggregateSum = gradeAggregateRepository
+                    .findByScopeAndStudentIdAndSubjectId(GradeAggregateScope.STUDENT_SUBJECT, student.getId(), subject.getId())
+                    .orElseThrow().getSum();
+            assertEquals(increments * STEP, aggregateSum, 1e-9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void concurrentFirstGrades_AllReachTheAggregate() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+        try {
+            // Every writer finds no aggregate for (student, otherSubject) and races to insert it
+            for (int t = 0; t < THREADS; t++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    gradeService.createGrade(new GradeRequest(student.getId(), otherSubject.getId(), 10.0, 20.0, ExamType.QUIZ), teacher.getId());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+
+            assertEquals(THREADS, gradeRepository.findBySubjectId(otherSubject.getId()).size());
+            assertEquals(THREADS, gradeAggregateRepository
+                    .findByScopeAndStudentIdAndSubjectId(GradeAggregateScope.STUDENT_SUBJECT, student.getId(), otherSubject.getId())
+                    .orElseThrow().getCount());
+            assertEquals(THREADS, gradeAggregateRepository
+                    .findByScopeAndStudentIdAndSubjectId(GradeAggregateScope.SUBJECT, 0L, otherSubject.getId())
+                    .orElseThrow().getCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void staleIfMatch_Returns412WithCurrentGrade() throws Exception {
+        mockMvc.perform(get("/teacher/grades/" + gradeId).with(as(teacher)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        mockMvc.perform(update(12.0, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.gradeValue").value(12.0));
+
+        // A second editor still holding version 0
+        mockMvc.perform(update(15.0, "\"0\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.gradeValue").value(12.0));
+
+        // Weak ETags never match
+        mockMvc.perform(update(15.0, "W/\"1\""))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/teacher/grades/" + gradeId).header(HttpHeaders.IF_MATCH, "\"0\"").with(as(teacher)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.gradeValue").value(12.0));
+
+        mockMvc.perform(delete("/teacher/grades/" + gradeId).header(HttpHeaders.IF_MATCH, "\"1\"").with(as(teacher)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void newGrade_IsPersistedNotMerged() {
+        // A new grade has no version yet, so save() persists it and returns the same instance
+        Grade grade = new Grade(10.0, 20.0, ExamType.QUIZ, student, otherSubject, teacher);
+        Grade saved = transactionTemplate.execute(status -> gradeRepository.save(grade));
+
+        assertSame(grade, saved);
+        assertEquals(0L, saved.getVersion());
+    }
+
+    /**
+     * Adds STEP to the grade INCREMENTS_PER_THREAD times, each time reading the grade and sending the
+     * new value with If-Match, and on 412 retrying from the current grade sent back
+     */
+    private Callable<Void> incrementer(CountDownLatch start) {
+        return () -> {
+            start.await();
+            for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                MvcResult current = mockMvc.perform(get("/teacher/grades/" + gradeId).with(as(teacher)))
+                        .andExpect(status().isOk())
+                        .andReturn();
+                for (int attempt = 0; ; attempt++) {
+                    if (attempt > 1000) {
+                        fail("Grade update kept conflicting");
+                    }
+                    double value = gradeValue(current) + STEP;
+                    current = mockMvc.perform(update(value, current.getResponse().getHeader(HttpHeaders.ETAG))).andReturn();
+                    if (current.getResponse().getStatus() == 200) {
+                        break;
+                    }
+                    assertEquals(412, current.getResponse().getStatus());
+                }
+            }
+            return null;
+        };
+    }
+
+    private RequestBuilder update(double value, String ifMatch) throws Exception {
+        return put("/teacher/grades/" + gradeId)
+                .header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request(value)))
+                .with(as(teacher));
+    }
+
+    private GradeRequest request(double value) {
+        return new GradeRequest(student.getId(), subject.getId(), value, 20.0, ExamType.QUIZ);
+    }
+
+    private double gradeValue(MvcResult result) throws Exception {
+        JsonNode grade = objectMapper.readTree(result.getResponse().getContentAsString());
+        return grade.get("gradeValue").asDouble();
+    }
+
+    private static RequestPostProcessor as(Teacher teacher) {
+        return SecurityMockMvcRequestPostProcessors.user(UserPrincipal.create(teacher));
+    }
+}
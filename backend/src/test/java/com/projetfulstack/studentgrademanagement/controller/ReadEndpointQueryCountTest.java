@@ -0,0 +1,382 @@
+package com.projetfulstack.studentgrademanagement.controller;
+
+import com.projetfulstack.studentgrademanagement.entity.Class;
+import com.projetfulstack.studentgrademanagement.entity.ExamType;
+import com.projetfulstack.studentgrademanagement.entity.Grade;
+import com.projetfulstack.studentgrademanagement.entity.GradeAggregate;
+import com.projetfulstack.studentgrademanagement.entity.GradeAggregateScope;
+import com.projetfulstack.studentgrademanagement.entity.Student;
+import com.projetfulstack.studentgrademanagement.entity.Subject;
+import com.projetfulstack.studentgrademanagement.entity.Teacher;
+import com.projetfulstack.studentgrademanagement.entity.User;
+import com.projetfulstack.studentgrademanagement.entity.UserRole;
+import com.projetfulstack.studentgrademanagement.security.UserPrincipal;
+import com.projetfulstack.studentgrademanagement.service.AutocompleteService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests du nombre de requêtes SQL des endpoints de lecture
+ * Each read endpoint is served from DTO projections and must not trigger lazy loading
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+@Transactional
+public class ReadEndpointQueryCountTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+
+    private Teacher teacher;
+
+    private Student student;
+
+    private Subject subject;
+
+    private User admin;
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        teacher = new Teacher("Paul", "Mbarga", "paul.mbarga@school.edu", "Password123#", "EMP-1");
+        teacher.setHireDate(LocalDate.of(2015, 9, 1));
+        entityManager.persist(teacher);
+
+        subject = new Subject("Algorithmique", "INF301", "Algorithmes et structures", 2.0, 4);
+        subject.setTeacher(teacher);
+        entityManager.persist(subject);
+
+        Class studentClass = new Class("L3 Info", "2024-2025", 1);
+        studentClass.setClassTeacher(teacher);
+        studentClass.setSubjects(List.of(subject));
+        studentClass.setStartDate(LocalDate.of(2024, 9, 1));
+        studentClass.setEndDate(LocalDate.of(2025, 1, 31));
+        entityManager.persist(studentClass);
+
+        // Not enrolled in any subject
+        Student outsider = new Student("Outsider", "Essomba", "outsider@school.edu", "Password123#", "STU-X");
+        outsider.setEnrollmentDate(LocalDate.of(2022, 9, 1));
+        entityManager.persist(outsider);
+
+        for (int i = 0; i < 3; i++) {
+            Student other = new Student("Student" + i, "Nkodo" + i, "student" + i + "@school.edu", "Password123#", "STU-" + i);
+            other.setEnrollmentDate(LocalDate.of(2022, 9, 1));
+            other.setStudentClass(studentClass);
+            entityManager.persist(other);
+            student = other;
+        }
+
+        // The final exam falls after the end of the first semester
+        LocalDateTime[] examDates = {LocalDateTime.of(2024, 10, 1, 9, 0), LocalDateTime.of(2025, 1, 31, 14, 0), LocalDateTime.of(2025, 3, 10, 9, 0)};
+        ExamType[] examTypes = {ExamType.QUIZ, ExamType.MIDTERM, ExamType.FINAL};
+        for (int i = 0; i < examTypes.length; i++) {
+            Grade grade = new Grade(14.0, 20.0, examTypes[i], student, subject, teacher);
+            grade.setExamDate(examDates[i]);
+            entityManager.persist(grade);
+        }
+
+        // Aggregates normally maintained by GradeService
+        GradeAggregate studentAggregate = new GradeAggregate(GradeAggregateScope.STUDENT, student.getId(), GradeAggregate.NONE);
+        GradeAggregate subjectAggregate = new GradeAggregate(GradeAggregateScope.STUDENT_SUBJECT, student.getId(), subject.getId());
+        for (int i = 0; i < examTypes.length; i++) {
+            studentAggregate.add(14.0);
+            subjectAggregate.add(14.0);
+        }
+        entityManager.persist(studentAggregate);
+        entityManager.persist(subjectAggregate);
+
+        admin = new User("Admin", "System", "admin@school.edu", "Password123#", UserRole.ADMIN);
+        entityManager.persist(admin);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void studentEndpoints_RunOneQueryEach() throws Exception {
+        assertQueries(1, "/student/profile", student);
+        assertQueries(1, "/student/grades", student);
+        assertQueries(1, "/student/grades/subject/" + subject.getId(), student);
+        // Aggregates, then the latest grades
+        assertQueries(2, "/student/grades/statistics", student);
+        assertQueries(1, "/student/grades/semester/1", student);
+        assertQueries(1, "/student/all", teacher);
+        assertQueries(1, "/student/" + student.getId(), teacher);
+        assertQueries(1, "/student/search?query=Nkodo", teacher);
+    }
+
+    @Test
+    public void teacherEndpoints_RunOneQueryEach() throws Exception {
+        assertQueries(1, "/teacher/profile", teacher);
+        assertQueries(1, "/teacher/subjects", teacher);
+        assertQueries(1, "/teacher/classes", teacher);
+        // Once the enrollment index of the subject is built, only the enrolled students are loaded
+        mockMvc.perform(get("/teacher/subjects/" + subject.getId() + "/students").with(as(teacher)));
+        assertQueries(1, "/teacher/subjects/" + subject.getId() + "/students", teacher);
+    }
+
+    @Test
+    public void adminEndpoints_RunOneQueryEach() throws Exception {
+        assertQueries(1, "/admin/students", admin);
+        assertQueries(1, "/admin/students?sort=name", admin);
+        assertQueries(1, "/admin/teachers", admin);
+        assertQueries(1, "/admin/users", admin);
+        assertQueries(1, "/admin/subjects", admin);
+        assertQueries(1, "/admin/students/" + student.getId(), admin);
+        assertQueries(1, "/admin/teachers/" + teacher.getId(), admin);
+    }
+
+    @Test
+    public void studentGrades_ExposeFlatFieldsOnly() throws Exception {
+        mockMvc.perform(get("/student/grades").with(as(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].subjectCode").value("INF301"))
+                .andExpect(jsonPath("$[0].student").doesNotExist())
+                .andExpect(jsonPath("$[0].subject").doesNotExist());
+
+        mockMvc.perform(get("/student/profile").with(as(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.className").value("L3 Info"))
+                .andExpect(jsonPath("$.password").doesNotExist())
+                .andExpect(jsonPath("$.grades").doesNotExist());
+    }
+
+    @Test
+    public void subjectStudents_OnlyEnrolledStudents() throws Exception {
+        mockMvc.perform(get("/teacher/subjects/" + subject.getId() + "/students").with(as(teacher)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[?(@.studentId == 'STU-X')]").isEmpty());
+    }
+
+    @Test
+    public void subjectHistogram_PutsGradesOnTheTwentyPointScale() throws Exception {
+        // 5/10 is 10/20
+        Grade outOfTen = new Grade(5.0, 10.0, ExamType.QUIZ, entityManager.getReference(Student.class, student.getId()),
+                entityManager.getReference(Subject.class, subject.getId()), entityManager.getReference(Teacher.class, teacher.getId()));
+        entityManager.persist(outOfTen);
+        // A maxGrade that is not positive counts as 20, as for averages, instead of dividing by zero
+        Grade noScale = new Grade(5.0, 0.0, ExamType.QUIZ, entityManager.getReference(Student.class, student.getId()),
+                entityManager.getReference(Subject.class, subject.getId()), entityManager.getReference(Teacher.class, teacher.getId()));
+        entityManager.persist(noScale);
+        entityManager.flush();
+
+        mockMvc.perform(get("/teacher/subjects/" + subject.getId() + "/statistics?histogram=true").with(as(teacher)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalGrades").value(5))
+                .andExpect(jsonPath("$.histogram['4-6']").value(1))
+                .andExpect(jsonPath("$.histogram['10-12']").value(1))
+                .andExpect(jsonPath("$.histogram['14-16']").value(3));
+    }
+
+    @Test
+    public void search_ShortQueriesMatchSubstrings() throws Exception {
+        mockMvc.perform(get("/student/search?query=nk").with(as(teacher)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+
+        mockMvc.perform(get("/student/search?query= ").with(as(teacher)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void gradeStatistics_ScopedToStudentWithLatestLimit() throws Exception {
+        mockMvc.perform(get("/student/grades/statistics?latest=2").with(as(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalGrades").value(3))
+                .andExpect(jsonPath("$.overallAverage").value(14.0))
+                .andExpect(jsonPath("$.subjects.length()").value(1))
+                .andExpect(jsonPath("$.subjects[0].subjectCode").value("INF301"))
+                .andExpect(jsonPath("$.subjects[0].gradeCount").value(3))
+                .andExpect(jsonPath("$.latestGrades.length()").value(2))
+                .andExpect(jsonPath("$.latestGrades[0].examType").value("FINAL"));
+    }
+
+    @Test
+    public void semesterGrades_LegacyGradesUseTheStudentsClass() throws Exception {
+        // Grades recorded without their class fall back to the student's class, semester 1 of 2024-2025
+        mockMvc.perform(get("/student/grades/semester/1").with(as(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].examType").value("FINAL"));
+
+        mockMvc.perform(get("/student/grades/semester/1?academicYear=2024-2025").with(as(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+
+        mockMvc.perform(get("/student/grades/semester/1?academicYear=2023-2024").with(as(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(get("/student/grades/semester/2").with(as(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    public void semesterGrades_StudentWhoMovedClassKeepsEarlierSemesters() throws Exception {
+        Student moved = entityManager.find(Student.class, student.getId());
+        Class firstClass = moved.getStudentClass();
+        entityManager.createQuery("UPDATE Grade g SET g.studentClass = :studentClass WHERE g.student.id = :studentId")
+                .setParameter("studentClass", firstClass)
+                .setParameter("studentId", moved.getId())
+                .executeUpdate();
+
+        Class secondClass = new Class("L3 Info S2", "2024-2025", 2);
+        secondClass.setSubjects(List.of(entityManager.getReference(Subject.class, subject.getId())));
+        entityManager.persist(secondClass);
+        moved.setStudentClass(secondClass);
+        Grade grade = new Grade(16.0, 20.0, ExamType.QUIZ, moved, entityManager.getReference(Subject.class, subject.getId()),
+                entityManager.getReference(Teacher.class, teacher.getId()));
+        grade.setExamDate(LocalDateTime.of(2025, 3, 20, 9, 0));
+        grade.setStudentClass(secondClass);
+        entityManager.persist(grade);
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(get("/student/grades/semester/1?academicYear=2024-2025").with(as(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+
+        mockMvc.perform(get("/student/grades/semester/2").with(as(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].gradeValue").value(16.0));
+    }
+
+    @Test
+    public void classAverages_OnlyGradesGivenInTheClass() throws Exception {
+        // A low grade the student was given the year before, in another class
+        Student current = entityManager.find(Student.class, student.getId());
+        Class previousClass = new Class("L2 Info", "2023-2024", 1);
+        entityManager.persist(previousClass);
+        Grade grade = new Grade(4.0, 20.0, ExamType.FINAL, current, entityManager.getReference(Subject.class, subject.getId()),
+                entityManager.getReference(Teacher.class, teacher.getId()));
+        grade.setExamDate(LocalDateTime.of(2024, 1, 15, 9, 0));
+        grade.setStudentClass(previousClass);
+        entityManager.persist(grade);
+        entityManager.flush();
+        Long classId = current.getStudentClass().getId();
+        entityManager.clear();
+
+        mockMvc.perform(get("/teacher/classes/" + classId + "/averages").with(as(teacher)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[?(@.studentId == " + student.getId() + ")].overallAverage").value(14.0));
+    }
+
+    @Test
+    public void searchEndpoints_MatchSubstringsWithOneQuery() throws Exception {
+        assertQueries(1, "/admin/search/users?q=school", admin);
+        assertQueries(1, "/admin/search/students?q=stu-", admin);
+        assertQueries(1, "/admin/search/teachers?q=mbarga", admin);
+        assertQueries(1, "/admin/search/subjects?q=inf3", admin);
+
+        mockMvc.perform(get("/admin/search/students?q=STU-1").with(as(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].studentId").value("STU-1"));
+
+        mockMvc.perform(get("/admin/search/users?q=school&limit=2").with(as(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        // LIKE wildcards in the query are matched literally
+        mockMvc.perform(get("/admin/search/users?q=%25%25%25").with(as(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        // Too short for trigrams, matched as a substring
+        assertQueries(1, "/admin/search/students?q=nk", admin);
+        mockMvc.perform(get("/admin/search/students?q=nk").with(as(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    public void autocompleteEndpoints_RunNoQuery() throws Exception {
+        // The test data is never committed, so index it from this transaction
+        autocompleteService.rebuild();
+
+        assertQueries(0, "/student/autocomplete?query=nko", teacher);
+        assertQueries(0, "/admin/autocomplete?q=inf", admin);
+
+        mockMvc.perform(get("/student/autocomplete?query=nko&limit=2").with(as(teacher)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Student0 Nkodo0"))
+                .andExpect(jsonPath("$[1].name").value("Student1 Nkodo1"));
+
+        mockMvc.perform(get("/admin/autocomplete?q=paul mb&types=TEACHER").with(as(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].code").value("EMP-1"));
+
+        // Inner part of a code
+        mockMvc.perform(get("/admin/autocomplete?q=301").with(as(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].kind").value("SUBJECT"));
+
+        mockMvc.perform(get("/student/autocomplete?query= ").with(as(teacher)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void assertQueries(long expected, String url, User user) throws Exception {
+        entityManager.clear();
+        statistics.clear();
+        mockMvc.perform(get(url).with(as(user)))
+                .andExpect(status().isOk());
+        assertEquals(expected, statistics.getPrepareStatementCount(), "SQL statements for GET " + url);
+    }
+
+    private static RequestPostProcessor as(User user) {
+        return SecurityMockMvcRequestPostProcessors.user(UserPrincipal.create(user));
+    }
+}
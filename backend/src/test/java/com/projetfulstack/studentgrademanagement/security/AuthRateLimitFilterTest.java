@@ -0,0 +1,90 @@
+package com.projetfulstack.studentgrademanagement.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests du filtre de limitation de l'authentification
+ * The body read to find the email is replayed to the rest of the chain, through blocking reads and
+ * through a read listener
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class AuthRateLimitFilterTest {
+
+    private static final String BODY = "{\"email\":\"Jean.Nkodo@school.edu\",\"password\":\"Password123#\"}";
+
+    @Test
+    public void body_IsReplayedToTheChain() throws Exception {
+        ServletInputStream input = filteredInput();
+
+        assertEquals(BODY, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        assertTrue(input.isFinished());
+    }
+
+    @Test
+    public void readListener_ReadsTheWholeBody() throws Exception {
+        ServletInputStream input = filteredInput();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data");
+                byte[] buffer = new byte[8];
+                while (input.isReady() && !input.isFinished()) {
+                    read.write(buffer, 0, input.read(buffer));
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("end");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertEquals(List.of("data", "end"), events);
+        assertEquals(BODY, read.toString(StandardCharsets.UTF_8));
+    }
+
+    private static ServletInputStream filteredInput() throws Exception {
+        AuthRateLimiter rateLimiter = mock(AuthRateLimiter.class);
+        when(rateLimiter.isEnabled()).thenReturn(true);
+        when(rateLimiter.tryAcquire(any(), any())).thenReturn(0L);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setContentType("application/json");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        new AuthRateLimitFilter(rateLimiter, new ObjectMapper()).doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest(), "The request did not reach the chain");
+        return chain.getRequest().getInputStream();
+    }
+}
@@ -0,0 +1,106 @@
+package com.projetfulstack.studentgrademanagement.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests du seau de jetons
+ * Time is passed in explicitly, so bursts, refills and waits are exact
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void fullBucket_AllowsBurstOfCapacity() {
+        TokenBucket bucket = new TokenBucket(3, SECOND, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(SECOND, bucket.tryConsume(0));
+        // A rejected attempt takes nothing
+        assertEquals(SECOND, bucket.tryConsume(0));
+    }
+
+    @Test
+    public void emptyBucket_RefillsOneTokenPerPeriod() {
+        TokenBucket bucket = new TokenBucket(2, SECOND, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertEquals(SECOND / 4, bucket.tryConsume(3 * SECOND / 4));
+        assertEquals(0, bucket.tryConsume(SECOND));
+        assertEquals(SECOND, bucket.tryConsume(SECOND));
+
+        // Credit never exceeds the capacity, however long the bucket stays unused
+        assertFalse(bucket.isIdle(2 * SECOND));
+        assertTrue(bucket.isIdle(3 * SECOND));
+        long later = 100 * SECOND;
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(SECOND, bucket.tryConsume(later));
+    }
+
+    @Test
+    public void retryAfter_RoundsTheWaitUpToWholeSeconds() {
+        TokenBucket bucket = new TokenBucket(1, 5 * SECOND / 2, 0);
+        bucket.tryConsume(0);
+
+        assertEquals(3, AuthRateLimitFilter.retryAfterSeconds(bucket.tryConsume(0)));
+        assertEquals(1, AuthRateLimitFilter.retryAfterSeconds(bucket.tryConsume(5 * SECOND / 2 - 1)));
+        assertEquals(1, AuthRateLimitFilter.retryAfterSeconds(SECOND));
+        assertEquals(2, AuthRateLimitFilter.retryAfterSeconds(SECOND + 1));
+    }
+
+    @Test
+    public void concurrentConsumers_NeverTakeMoreThanCapacity() throws Exception {
+        int capacity = 1000;
+        int threads = 8;
+        int attemptsPerThread = 10_000;
+        TokenBucket bucket = new TokenBucket(capacity, SECOND, 0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> consumers = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                consumers.add(executor.submit(() -> {
+                    start.await();
+                    int taken = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (bucket.tryConsume(0) == 0) {
+                            taken++;
+                        }
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+            int taken = 0;
+            for (Future<Integer> consumer : consumers) {
+                taken += consumer.get(30, TimeUnit.SECONDS);
+            }
+
+            // Every token went to exactly one consumer, and the lost races were retried
+            assertEquals(capacity, taken);
+            assertEquals(SECOND, bucket.tryConsume(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
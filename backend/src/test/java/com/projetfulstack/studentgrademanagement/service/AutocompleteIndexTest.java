@@ -0,0 +1,103 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.service.AutocompleteIndex.Entry;
+import com.projetfulstack.studentgrademanagement.service.AutocompleteIndex.Kind;
+import com.projetfulstack.studentgrademanagement.service.AutocompleteIndex.Match;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests de l'index d'autocomplétion
+ * Prefix matches in term then name order, the other query words as filters, inner parts of codes
+ * through trigrams after the prefix matches, and the kind and entry filters
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class AutocompleteIndexTest {
+
+    private static final Set<Kind> ALL_KINDS = EnumSet.allOf(Kind.class);
+
+    private static final AutocompleteIndex.EntryFilter ALL_ENTRIES = (kind, id) -> true;
+
+    private final AutocompleteIndex index = AutocompleteIndex.build(List.of(
+            new Entry(Kind.STUDENT, 1, "Marie Curie", "STU-0001"),
+            new Entry(Kind.STUDENT, 2, "Martin Dupont", "STU-0002"),
+            new Entry(Kind.TEACHER, 3, "Jean Martin", "EMP-00003"),
+            new Entry(Kind.SUBJECT, 4, "Mathématiques", "MATH101"),
+            new Entry(Kind.STUDENT, 5, "Marc Martin", "STU-0005"),
+            new Entry(Kind.SUBJECT, 6, "Physique", "PHYS-MAT2"),
+            new Entry(Kind.STUDENT, 7, "Jean-Paul Essomba", "STU-0007")));
+
+    @Test
+    public void prefix_OrdersByMatchedTermThenName() {
+        // "marc", then "marie", then "martin" for Jean, Marc (already listed) and Martin by name
+        assertEquals(List.of(5L, 1L, 3L, 2L), ids(index.search("mar", 10, ALL_KINDS, ALL_ENTRIES)));
+        assertEquals(List.of(5L, 1L), ids(index.search("mar", 2, ALL_KINDS, ALL_ENTRIES)));
+        // Case, accents and the parts of compound names
+        assertEquals(List.of(4L), ids(index.search("MATHE", 10, ALL_KINDS, ALL_ENTRIES)));
+        assertEquals(List.of(7L), ids(index.search("paul", 10, ALL_KINDS, ALL_ENTRIES)));
+        assertEquals(List.of(7L), ids(index.search("jean-p", 10, ALL_KINDS, ALL_ENTRIES)));
+        assertEquals(List.of(), ids(index.search("   ", 10, ALL_KINDS, ALL_ENTRIES)));
+        assertEquals(List.of(), ids(index.search("mar", 0, ALL_KINDS, ALL_ENTRIES)));
+    }
+
+    @Test
+    public void otherWords_MustStartAWordOfTheEntry() {
+        assertEquals(List.of(2L), ids(index.search("mar dup", 10, ALL_KINDS, ALL_ENTRIES)));
+        assertEquals(List.of(3L, 7L), ids(index.search("jean", 10, ALL_KINDS, ALL_ENTRIES)));
+        assertEquals(List.of(3L), ids(index.search("jean ma", 10, ALL_KINDS, ALL_ENTRIES)));
+        assertEquals(List.of(3L), ids(index.search("martin jean", 10, ALL_KINDS, ALL_ENTRIES)));
+        // A code counts as a word
+        assertEquals(List.of(2L), ids(index.search("mar stu-0002", 10, ALL_KINDS, ALL_ENTRIES)));
+        assertEquals(List.of(), ids(index.search("mar zola", 10, ALL_KINDS, ALL_ENTRIES)));
+    }
+
+    @Test
+    public void codeInfix_FollowsPrefixMatches() {
+        // Inner parts of codes are not words; their trigrams find them
+        assertEquals(List.of(2L), ids(index.search("0002", 10, ALL_KINDS, ALL_ENTRIES)));
+        assertEquals(List.of(4L), ids(index.search("h10", 10, ALL_KINDS, ALL_ENTRIES)));
+        // Infix matches are ordered by code
+        assertEquals(List.of(3L, 1L, 2L, 5L, 7L), ids(index.search("000", 10, ALL_KINDS, ALL_ENTRIES)));
+        // "mathématiques" and "math101" start with "mat", "phys-mat2" only contains it
+        List<Match> matches = index.search("mat", 10, ALL_KINDS, ALL_ENTRIES);
+        assertEquals(List.of(4L, 6L), ids(matches));
+        assertEquals(AutocompleteIndex.PREFIX_MATCH, matches.get(0).getMatchKind());
+        assertEquals(AutocompleteIndex.INFIX_MATCH, matches.get(1).getMatchKind());
+        // Trigrams need at least three characters, and every trigram of the query must be in the code
+        assertEquals(List.of(), ids(index.search("00", 10, ALL_KINDS, ALL_ENTRIES)));
+        assertEquals(List.of(), ids(index.search("0003x", 10, ALL_KINDS, ALL_ENTRIES)));
+    }
+
+    @Test
+    public void filters_HideKindsAndEntries() {
+        assertEquals(List.of(3L), ids(index.search("martin", 10, EnumSet.of(Kind.TEACHER), ALL_ENTRIES)));
+        assertEquals(List.of(1L, 3L, 2L), ids(index.search("mar", 10, ALL_KINDS, (kind, id) -> id != 5)));
+        // A hidden entry does not take a place in the limit
+        assertEquals(List.of(1L, 3L), ids(index.search("mar", 2, ALL_KINDS, (kind, id) -> id != 5)));
+        assertEquals(List.of(6L), ids(index.search("mat", 10, ALL_KINDS, (kind, id) -> kind != Kind.SUBJECT || id != 4)));
+    }
+
+    @Test
+    public void match_RanksAnEntryLikeTheIndex() {
+        Entry entry = new Entry(Kind.STUDENT, 8, "Marius Kamga", "STU-0008");
+
+        Match prefix = AutocompleteIndex.match(entry, "ma ka");
+        assertEquals(AutocompleteIndex.PREFIX_MATCH, prefix.getMatchKind());
+        assertEquals("marius", prefix.getTerm());
+        assertEquals(AutocompleteIndex.INFIX_MATCH, AutocompleteIndex.match(entry, "0008").getMatchKind());
+        assertNull(AutocompleteIndex.match(entry, "ma zola"));
+        assertNull(AutocompleteIndex.match(entry, "00"));
+    }
+
+    private static List<Long> ids(List<Match> matches) {
+        return matches.stream().map(match -> match.getEntry().getId()).toList();
+    }
+}
@@ -0,0 +1,152 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.entity.Student;
+import com.projetfulstack.studentgrademanagement.entity.Subject;
+import com.projetfulstack.studentgrademanagement.service.AutocompleteIndex.Entry;
+import com.projetfulstack.studentgrademanagement.service.AutocompleteIndex.Kind;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests du service d'autocomplétion
+ * Committed changes are listed from the pending map, in place of the indexed entries they replace or
+ * delete, until compaction folds them into the index; changes committed while the index is being
+ * compacted stay pending. The listeners are called directly, without a database.
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class AutocompleteServiceTest {
+
+    private static final Set<Kind> ALL_KINDS = EnumSet.allOf(Kind.class);
+
+    private AutocompleteService service;
+
+    @BeforeEach
+    public void setup() {
+        service = new AutocompleteService();
+        ReflectionTestUtils.setField(service, "maxLimit", 50);
+        ReflectionTestUtils.setField(service, "index", AutocompleteIndex.build(List.of(
+                new Entry(Kind.STUDENT, 1, "Marie Curie", "STU-0001"),
+                new Entry(Kind.STUDENT, 2, "Martin Dupont", "STU-0002"),
+                new Entry(Kind.SUBJECT, 1, "Mathématiques", "MATH101"))));
+    }
+
+    @Test
+    public void pendingChanges_ReplaceTheirIndexedEntries() {
+        // Student 1 renamed, student 3 added; subject 1 keeps its entry although it shares the id
+        service.onPostInsert(insert(student(1L, "Marie", "Sklodowska", "STU-0001")));
+        service.onPostInsert(insert(student(3L, "Marc", "Owona", "STU-0003")));
+
+        assertEquals(List.of(), names(service.suggest("curie", 10, ALL_KINDS)));
+        assertEquals(List.of("Marie Sklodowska"), names(service.suggest("sklo", 10, ALL_KINDS)));
+        assertEquals(List.of("Marc Owona", "Marie Sklodowska", "Martin Dupont", "Mathématiques"),
+                names(service.suggest("ma", 10, ALL_KINDS)));
+        assertEquals(List.of("Marc Owona", "Marie Sklodowska"), names(service.suggest("ma", 2, ALL_KINDS)));
+        assertEquals(List.of("Mathématiques"), names(service.suggest("ma", 10, EnumSet.of(Kind.SUBJECT))));
+    }
+
+    @Test
+    public void deletedEntries_AreHidden() {
+        service.onPostDelete(delete(subject(1L, "Mathématiques", "MATH101")));
+        service.onPostDelete(delete(student(2L, "Martin", "Dupont", "STU-0002")));
+
+        assertEquals(List.of("Marie Curie"), names(service.suggest("ma", 10, ALL_KINDS)));
+        assertEquals(List.of(), names(service.suggest("h10", 10, ALL_KINDS)));
+
+        service.compact();
+        assertEquals(List.of("Marie Curie"), names(service.suggest("ma", 10, ALL_KINDS)));
+        assertEquals(1, service.getStatistics().get("indexedEntries"));
+        assertEquals(0, service.getStatistics().get("pendingChanges"));
+    }
+
+    @Test
+    public void compact_FoldsPendingChangesIntoTheIndex() {
+        service.onPostInsert(insert(student(1L, "Marie", "Sklodowska", "STU-0001")));
+        service.onPostInsert(insert(student(3L, "Marc", "Owona", "STU-0003")));
+        List<String> before = names(service.suggest("ma", 10, ALL_KINDS));
+
+        service.compact();
+
+        assertEquals(before, names(service.suggest("ma", 10, ALL_KINDS)));
+        assertEquals(List.of(), names(service.suggest("curie", 10, ALL_KINDS)));
+        assertEquals(4, service.getStatistics().get("indexedEntries"));
+        assertEquals(0, service.getStatistics().get("pendingChanges"));
+    }
+
+    @Test
+    public void compact_KeepsChangesCommittedDuringTheBuild() throws Exception {
+        // A large index, so that renames keep arriving while it is rebuilt
+        List<Entry> entries = new ArrayList<>();
+        for (long id = 1; id <= 20_000; id++) {
+            entries.add(new Entry(Kind.STUDENT, id, "Student " + id, String.format("STU-%05d", id)));
+        }
+        ReflectionTestUtils.setField(service, "index", AutocompleteIndex.build(entries));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (int round = 0; round < 10; round++) {
+                AtomicBoolean renaming = new AtomicBoolean(true);
+                Future<?> compactor = executor.submit(() -> {
+                    while (renaming.get()) {
+                        service.compact();
+                    }
+                });
+                String lastName = null;
+                for (int i = 0; i < 2_000; i++) {
+                    lastName = "Renamed R" + round + "x" + i;
+                    service.onPostInsert(insert(student(1L, "Renamed", "R" + round + "x" + i, "STU-00001")));
+                }
+                renaming.set(false);
+                compactor.get(30, TimeUnit.SECONDS);
+
+                // The last rename is either still pending or in the index, never replaced by an older one
+                assertEquals(List.of(lastName), names(service.suggest("renamed", 10, ALL_KINDS)), "Round " + round);
+                service.compact();
+                assertEquals(List.of(lastName), names(service.suggest("renamed", 10, ALL_KINDS)), "Round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Student student(Long id, String firstName, String lastName, String studentId) {
+        Student student = new Student(firstName, lastName, studentId.toLowerCase() + "@school.edu", "Password123#", studentId);
+        student.setId(id);
+        return student;
+    }
+
+    private static Subject subject(Long id, String name, String code) {
+        Subject subject = new Subject(name, code, name, 1.0, 3);
+        subject.setId(id);
+        return subject;
+    }
+
+    private static PostInsertEvent insert(Object entity) {
+        return new PostInsertEvent(entity, null, null, null, null);
+    }
+
+    private static PostDeleteEvent delete(Object entity) {
+        Object id = entity instanceof Student student ? student.getId() : ((Subject) entity).getId();
+        return new PostDeleteEvent(entity, id, null, null, null);
+    }
+
+    private static List<String> names(List<Entry> entries) {
+        return entries.stream().map(Entry::getName).toList();
+    }
+}
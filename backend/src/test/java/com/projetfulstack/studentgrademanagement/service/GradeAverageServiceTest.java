@@ -0,0 +1,167 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.ReportCardRow;
+import com.projetfulstack.studentgrademanagement.dto.StudentAverage;
+import com.projetfulstack.studentgrademanagement.dto.SubjectAverage;
+import com.projetfulstack.studentgrademanagement.entity.ExamType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests du calcul des moyennes
+ * Exam-type weighting, subjects without weight, normalization to /20, passing credits and GPA, and
+ * students computed one after the other in the same reused arrays
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class GradeAverageServiceTest {
+
+    private static final double DELTA = 1e-9;
+
+    private GradeAverageService service;
+
+    @BeforeEach
+    public void setup() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.averages.exam-type-weights.FINAL", "3")
+                .withProperty("app.averages.exam-type-weights.ORAL", "0");
+        service = new GradeAverageService();
+        ReflectionTestUtils.setField(service, "environment", environment);
+        ReflectionTestUtils.setField(service, "passingGrade", 10.0);
+        ReflectionTestUtils.setField(service, "gpaScale", 4.0);
+        service.loadExamTypeWeights();
+    }
+
+    @Test
+    public void examTypes_WeightTheSubjectAverage() {
+        List<StudentAverage> averages = service.compute(List.of(
+                row(1, 10, 10.0, 20.0, ExamType.QUIZ),
+                row(1, 10, 16.0, 20.0, ExamType.FINAL),
+                // Grades without an exam type weigh 1
+                row(1, 11, 8.0, 20.0, null),
+                row(1, 11, 12.0, 20.0, ExamType.MIDTERM)));
+
+        assertEquals(1, averages.size());
+        SubjectAverage first = subject(averages.get(0), 10);
+        assertEquals(2, first.getGradeCount());
+        assertEquals((10.0 + 16.0 * 3) / 4, first.getAverage(), DELTA);
+        assertEquals(10.0, subject(averages.get(0), 11).getAverage(), DELTA);
+    }
+
+    @Test
+    public void zeroWeightSubject_HasNoAverageAndDoesNotCount() {
+        StudentAverage average = service.compute(List.of(
+                row(1, 10, 4.0, 20.0, ExamType.ORAL),
+                row(1, 10, 2.0, 20.0, ExamType.ORAL),
+                row(1, 11, 14.0, 20.0, ExamType.FINAL))).get(0);
+
+        SubjectAverage oral = subject(average, 10);
+        assertEquals(2, oral.getGradeCount());
+        assertNull(oral.getAverage());
+        // Only the graded subject makes the overall average and the credits
+        assertEquals(14.0, average.getOverallAverage(), DELTA);
+        assertEquals(3, average.getCreditsAttempted());
+        assertEquals(3, average.getCreditsEarned());
+
+        StudentAverage onlyOral = service.compute(List.of(row(2, 10, 18.0, 20.0, ExamType.ORAL))).get(0);
+        assertNull(onlyOral.getOverallAverage());
+        assertNull(onlyOral.getGpa());
+        assertEquals(0, onlyOral.getCreditsAttempted());
+    }
+
+    @Test
+    public void grades_AreNormalizedToTwenty() {
+        StudentAverage average = service.compute(List.of(
+                row(1, 10, 5.0, 10.0, ExamType.QUIZ),
+                row(1, 11, 75.0, 100.0, ExamType.QUIZ),
+                // A missing or non-positive max grade is taken as 20
+                row(1, 12, 12.0, 0.0, ExamType.QUIZ),
+                row(1, 13, 16.0, null, ExamType.QUIZ),
+                // A missing value counts as 0
+                row(1, 14, null, 20.0, ExamType.QUIZ))).get(0);
+
+        assertEquals(10.0, subject(average, 10).getAverage(), DELTA);
+        assertEquals(15.0, subject(average, 11).getAverage(), DELTA);
+        assertEquals(12.0, subject(average, 12).getAverage(), DELTA);
+        assertEquals(16.0, subject(average, 13).getAverage(), DELTA);
+        assertEquals(0.0, subject(average, 14).getAverage(), DELTA);
+    }
+
+    @Test
+    public void credits_AreEarnedFromThePassingGrade() {
+        StudentAverage average = service.compute(List.of(
+                row(1, 10, 12.0, 20.0, ExamType.QUIZ, 2.0, 4),
+                row(1, 11, 8.0, 20.0, ExamType.QUIZ, 1.0, 2),
+                // Exactly the passing grade passes
+                row(1, 12, 10.0, 20.0, ExamType.QUIZ, 1.0, 3),
+                // Missing coefficient and credits are 1 and 0
+                row(1, 13, 20.0, 20.0, ExamType.QUIZ, null, null))).get(0);
+
+        assertEquals((12.0 * 2 + 8.0 + 10.0 + 20.0) / 5, average.getOverallAverage(), DELTA);
+        assertEquals(9, average.getCreditsAttempted());
+        assertEquals(7, average.getCreditsEarned());
+        assertEquals((12.0 * 4 + 8.0 * 2 + 10.0 * 3) / 9 / 20 * 4, average.getGpa(), DELTA);
+        assertEquals(1.0, subject(average, 13).getCoefficient(), DELTA);
+        assertEquals(0, subject(average, 13).getCredits());
+    }
+
+    @Test
+    public void students_DoNotLeakIntoEachOtherThroughReusedArrays() {
+        List<ReportCardRow> rows = new ArrayList<>();
+        // More subjects than the initial capacity, so the arrays grow while the first student is accumulated
+        for (long subjectId = 1; subjectId <= 40; subjectId++) {
+            rows.add(row(1, subjectId, 20.0, 20.0, ExamType.QUIZ));
+        }
+        rows.add(row(2, 40, 6.0, 20.0, ExamType.QUIZ));
+        rows.add(row(2, 3, 8.0, 20.0, ExamType.FINAL));
+        rows.add(row(3, 41, 14.0, 20.0, ExamType.QUIZ));
+        rows.add(row(3, 40, 2.0, 20.0, ExamType.QUIZ));
+
+        List<StudentAverage> averages = service.compute(rows);
+
+        assertEquals(List.of(1L, 2L, 3L), averages.stream().map(StudentAverage::getStudentId).toList());
+        assertEquals(40, averages.get(0).getSubjects().size());
+        assertEquals(20.0, averages.get(0).getOverallAverage(), DELTA);
+
+        StudentAverage second = averages.get(1);
+        assertEquals(List.of(40L, 3L), second.getSubjects().stream().map(SubjectAverage::getSubjectId).toList());
+        assertEquals(1, subject(second, 40).getGradeCount());
+        assertEquals(6.0, subject(second, 40).getAverage(), DELTA);
+        assertEquals(8.0, subject(second, 3).getAverage(), DELTA);
+
+        StudentAverage third = averages.get(2);
+        assertEquals(2, third.getSubjects().size());
+        assertEquals(1, subject(third, 40).getGradeCount());
+        assertEquals(2.0, subject(third, 40).getAverage(), DELTA);
+        assertEquals(8.0, third.getOverallAverage(), DELTA);
+
+        assertTrue(service.compute(List.of()).isEmpty());
+    }
+
+    private static SubjectAverage subject(StudentAverage average, long subjectId) {
+        return average.getSubjects().stream()
+                .filter(s -> s.getSubjectId() == subjectId)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No average for subject " + subjectId));
+    }
+
+    private static ReportCardRow row(long studentId, long subjectId, Double value, Double max, ExamType type) {
+        return row(studentId, subjectId, value, max, type, 1.0, 3);
+    }
+
+    private static ReportCardRow row(long studentId, long subjectId, Double value, Double max, ExamType type,
+                                     Double coefficient, Integer credits) {
+        return new ReportCardRow(studentId, subjectId, "SUB" + subjectId, "Subject " + subjectId, coefficient,
+                credits, value, max, type);
+    }
+}
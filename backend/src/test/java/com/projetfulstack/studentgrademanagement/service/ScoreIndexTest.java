@@ -0,0 +1,122 @@
+package com.projetfulstack.studentgrademanagement.service;
+
+import com.projetfulstack.studentgrademanagement.dto.RankingEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests de l'index des scores
+ * Competition ranks with ties, moves of a student to a new score, removals, and a random sequence of
+ * updates checked against a sort of every score
+ *
+ * @author ProjetFullStack
+ * @version 1.0.0
+ */
+public class ScoreIndexTest {
+
+    @Test
+    public void ties_ShareRankAndSplitPercentile() {
+        ScoreIndex index = new ScoreIndex();
+        index.put(4, 12.0);
+        index.put(2, 15.0);
+        index.put(3, 12.0);
+        index.put(1, 10.0);
+
+        assertRank(index.rankOf(2), 1, 15.0, 87.5);
+        // Tied students share the rank after the ones above; half of the tie counts as below
+        assertRank(index.rankOf(3), 2, 12.0, 50.0);
+        assertRank(index.rankOf(4), 2, 12.0, 50.0);
+        assertRank(index.rankOf(1), 4, 10.0, 12.5);
+        // Ties are listed by student id
+        assertEquals(List.of(2L, 3L, 4L, 1L), ids(index.top(10)));
+    }
+
+    @Test
+    public void update_MovesStudentToItsNewScore() {
+        ScoreIndex index = new ScoreIndex(1);
+        for (long id = 1; id <= 5; id++) {
+            index.put(id, 10.0 + id);
+        }
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), ids(index.top(5)));
+
+        index.put(1, 20.0);
+        index.put(5, 12.0);
+        assertEquals(5, index.size());
+        assertEquals(List.of(1L, 4L, 3L, 2L, 5L), ids(index.top(5)));
+        assertRank(index.rankOf(1), 1, 20.0, 90.0);
+        // 5 now ties with 2 at 12.0
+        assertRank(index.rankOf(5), 4, 12.0, 20.0);
+
+        // Same score again is a no-op
+        index.put(1, 20.0);
+        assertEquals(List.of(1L, 4L, 3L, 2L, 5L), ids(index.top(5)));
+    }
+
+    @Test
+    public void remove_DropsStudentAndRenumbers() {
+        ScoreIndex index = new ScoreIndex();
+        index.put(1, 18.0);
+        index.put(2, 14.0);
+        index.put(3, 14.0);
+        index.put(4, 9.0);
+
+        index.remove(1);
+        index.remove(3);
+        index.remove(42);
+
+        assertEquals(2, index.size());
+        assertNull(index.rankOf(1));
+        assertNull(index.rankOf(3));
+        assertRank(index.rankOf(2), 1, 14.0, 75.0);
+        assertRank(index.rankOf(4), 2, 9.0, 25.0);
+        assertEquals(List.of(2L, 4L), ids(index.top(10)));
+        assertEquals(List.of(), ids(index.top(0)));
+    }
+
+    @Test
+    public void randomUpdates_MatchSortedScores() {
+        Random random = new Random(7);
+        ScoreIndex index = new ScoreIndex(4);
+        Map<Long, Double> expected = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            long id = random.nextInt(200);
+            if (random.nextInt(5) == 0) {
+                index.remove(id);
+                expected.remove(id);
+            } else {
+                // Coarse scores, so that ties are common
+                double score = random.nextInt(41) / 2.0;
+                index.put(id, score);
+                expected.put(id, score);
+            }
+        }
+
+        List<Map.Entry<Long, Double>> sorted = new ArrayList<>(expected.entrySet());
+        sorted.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()));
+        assertEquals(sorted.size(), index.size());
+        assertEquals(sorted.stream().map(Map.Entry::getKey).toList(), ids(index.top(sorted.size())));
+        for (Map.Entry<Long, Double> entry : sorted) {
+            long above = expected.values().stream().filter(score -> score > entry.getValue()).count();
+            assertEquals(above + 1, index.rankOf(entry.getKey()).getRank());
+        }
+    }
+
+    private static void assertRank(RankingEntry entry, int rank, double score, double percentile) {
+        assertEquals(rank, entry.getRank());
+        assertEquals(score, entry.getScore());
+        assertEquals(percentile, entry.getPercentile(), 1e-9);
+    }
+
+    private static List<Long> ids(List<RankingEntry> entries) {
+        return entries.stream().map(RankingEntry::getStudentId).toList();
+    }
+}